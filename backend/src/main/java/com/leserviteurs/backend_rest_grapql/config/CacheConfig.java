@@ -0,0 +1,79 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+import com.leserviteurs.backend_rest_grapql.search.SearchFilters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caches des lectures de personnes (Caffeine : éviction W-TinyLFU bornée en taille).
+ *
+ * - personnes : PersonneDTO par id, devant findById
+ * - personneSearch : résultats de search() par filtres normalisés, durée de vie courte
+ *
+ * Les statistiques (hits, misses, évictions) sont publiées par Actuator :
+ * GET /actuator/metrics/cache.gets?tag=name:personnes&tag=result:hit
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PERSONNES = "personnes";
+    public static final String PERSONNE_SEARCH = "personneSearch";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.personne.max-size:10000}") long personneMaxSize,
+            @Value("${app.cache.personne.ttl:10m}") Duration personneTtl,
+            @Value("${app.cache.search.max-size:1000}") long searchMaxSize,
+            @Value("${app.cache.search.ttl:30s}") Duration searchTtl) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PERSONNES, Caffeine.newBuilder()
+                .maximumSize(personneMaxSize)
+                .expireAfterWrite(personneTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PERSONNE_SEARCH, Caffeine.newBuilder()
+                .maximumSize(searchMaxSize)
+                .expireAfterWrite(searchTtl)
+                .recordStats()
+                .build());
+
+        // Les mises à jour et invalidations n'ont lieu qu'après le commit :
+        // une lecture concurrente ne peut pas remettre en cache une valeur non validée
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Clé du cache de recherche : filtres normalisés (casse, espaces, format du téléphone),
+     * marqués pour la recherche fuzzy (classement différent), suivis des champs demandés quand
+     * la recherche n'en lit qu'une partie, puis de la limite s'il y en a une
+     *
+     * Arguments : (nom, prenom, telephone), (..., fields) ou (..., fuzzy, fields, limit)
+     */
+    @Bean
+    public KeyGenerator personneSearchKeyGenerator() {
+        return (target, method, params) -> {
+            String key = SearchFilters.cacheKey((String) params[0], (String) params[1], (String) params[2]);
+            if (params.length > 4 && Boolean.TRUE.equals(params[3])) {
+                key += "|fuzzy";
+            }
+            Object fields = params.length > 4 ? params[4] : params.length > 3 ? params[3] : PersonneField.ALL;
+            if (!PersonneField.ALL.equals(fields)) {
+                key += "|" + fields;
+            }
+            return params.length > 5 ? key + "|max=" + params[5] : key;
+        };
+    }
+}
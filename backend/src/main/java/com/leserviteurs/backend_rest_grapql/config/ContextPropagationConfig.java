@@ -0,0 +1,43 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import com.leserviteurs.backend_rest_grapql.logging.RequestDebugTurboFilter;
+
+import io.micrometer.context.ContextRegistry;
+
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.web.context.request.RequestAttributesThreadLocalAccessor;
+
+/**
+ * Contexte de la requête HTTP propagé aux threads qui la traitent en partie
+ * (data fetchers GraphQL, threads virtuels, export en flux), via le ContextRegistry de Micrometer :
+ *
+ * - la requête HTTP elle-même (RequestContextHolder) : RequestLog, transport et
+ *   nombre de requêtes SQL des métriques
+ * - le marquage debug de la requête (clé MDC de RequestDebugTurboFilter)
+ *
+ * Spring GraphQL applique le registre lui-même ; pour les tâches de l'exécuteur applicationTaskExecutor
+ * (réponses asynchrones de Spring MVC, dont StreamingResponseBody), c'est le TaskDecorator ci-dessous.
+ *
+ * Indépendant du journal des requêtes : reste actif avec app.request-log.enabled=false.
+ */
+@Configuration
+public class ContextPropagationConfig {
+
+    public ContextPropagationConfig() {
+        ContextRegistry registry = ContextRegistry.getInstance();
+        registry.registerThreadLocalAccessor(new RequestAttributesThreadLocalAccessor());
+        registry.registerThreadLocalAccessor(RequestDebugTurboFilter.MDC_KEY,
+                () -> MDC.get(RequestDebugTurboFilter.MDC_KEY),
+                value -> MDC.put(RequestDebugTurboFilter.MDC_KEY, value),
+                () -> MDC.remove(RequestDebugTurboFilter.MDC_KEY));
+    }
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
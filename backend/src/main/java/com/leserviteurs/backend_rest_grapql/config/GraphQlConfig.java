@@ -0,0 +1,48 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import com.leserviteurs.backend_rest_grapql.graphql.GraphQlDocumentCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Moteur GraphQL : documents analysés et validés en cache, requêtes persistées (APQ).
+ *
+ * Statistiques des caches de documents sur /actuator/metrics/cache.gets,
+ * tag cache:graphqlDocuments ou cache:graphqlPersistedQueries (cache.manager:graphql)
+ */
+@Configuration
+public class GraphQlConfig {
+
+    @Bean
+    public GraphQlDocumentCache graphQlDocumentCache(
+            @Value("${app.graphql.document-cache.max-size:500}") long maxDocuments,
+            @Value("${app.graphql.persisted-queries.max-size:1000}") long maxPersistedQueries,
+            MeterRegistry meterRegistry) {
+        GraphQlDocumentCache documentCache = new GraphQlDocumentCache(maxDocuments, maxPersistedQueries);
+        monitor(meterRegistry, documentCache.getDocuments(), "graphqlDocuments");
+        monitor(meterRegistry, documentCache.getPersistedQueries(), "graphqlPersistedQueries");
+        return documentCache;
+    }
+
+    /**
+     * Mêmes clés de tags que les caches de Spring (cache, cache.manager, name, voir CacheMetricsRegistrar) :
+     * Prometheus refuse deux séries d'un même nom aux clés différentes
+     */
+    private static void monitor(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name, Tags.of("cache.manager", "graphql", "name", name));
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer graphQlDocumentCacheCustomizer(GraphQlDocumentCache documentCache) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentCache));
+    }
+}
@@ -0,0 +1,45 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.leserviteurs.backend_rest_grapql.service.PersonneDataGenerator;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+/**
+ * Jeu de données de test de charge préparé au démarrage, sans passer par l'API :
+ * java -jar backend.jar --app.generator.rows=2000000 [--app.generator.reset=true]
+ * Sans app.generator.rows (0 par défaut), ne fait rien.
+ */
+@Component
+public class PersonneDataGeneratorRunner implements ApplicationRunner {
+
+    private final PersonneDataGenerator personneDataGenerator;
+    private final PersonneService personneService;
+    private final int rows;
+    private final boolean reset;
+
+    public PersonneDataGeneratorRunner(
+            PersonneDataGenerator personneDataGenerator,
+            PersonneService personneService,
+            @Value("${app.generator.rows:0}") int rows,
+            @Value("${app.generator.reset:false}") boolean reset) {
+        this.personneDataGenerator = personneDataGenerator;
+        this.personneService = personneService;
+        this.rows = rows;
+        this.reset = reset;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rows <= 0) {
+            return;
+        }
+        if (reset) {
+            personneService.resetTable();
+        }
+        personneDataGenerator.generate(rows);
+    }
+}
@@ -0,0 +1,41 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+
+/**
+ * Alignement de la séquence personne_seq sur les ids existants au démarrage.
+ * Les lignes créées du temps de l'AUTO_INCREMENT (ou insérées à la main) ont des ids
+ * que la séquence ne connaît pas : sans ce rattrapage, le premier bloc réservé
+ * par Hibernate pourrait réutiliser un id déjà pris.
+ *
+ * Optimiseur pooled : la valeur v lue dans la séquence couvre les ids [v - 49, v].
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class PersonneSequenceInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM personne", Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Personne.SEQUENCE, Long.class);
+
+        if (next - Personne.ID_ALLOCATION_SIZE + 1 > maxId) {
+            return;
+        }
+
+        long restart = maxId + Personne.ID_ALLOCATION_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE " + Personne.SEQUENCE + " RESTART WITH " + restart);
+        log.info("Séquence {} alignée sur l'id maximal {} (prochain bloc : {} à {})",
+                Personne.SEQUENCE, maxId, maxId + 1, restart);
+    }
+}
@@ -0,0 +1,60 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneSearchRow;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rattrapage des colonnes nom_phonetic et prenom_phonetic au démarrage.
+ * Les clés sont calculées en Java (PhoneticKey) : les lignes créées avant l'ajout des colonnes
+ * sont lues par lots de BATCH_SIZE (keyset sur id) et mises à jour en lots JDBC.
+ * Les démarrages suivants ne trouvent plus aucune ligne à traiter.
+ * Après une modification des règles de PhoneticKey, remettre les colonnes à NULL pour tout recalculer.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class PhoneticKeyBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final PersonneRepository personneRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long afterId = 0;
+        int updated = 0;
+        List<PersonneSearchRow> rows;
+        do {
+            rows = personneRepository.findRowsWithoutPhoneticKeysAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> keys = new ArrayList<>(rows.size());
+            for (PersonneSearchRow row : rows) {
+                keys.add(new Object[] { PhoneticKey.of(row.getNom()), PhoneticKey.of(row.getPrenom()), row.getId() });
+            }
+            jdbcTemplate.batchUpdate("UPDATE personne SET nom_phonetic = ?, prenom_phonetic = ? WHERE id = ?", keys);
+
+            updated += rows.size();
+            afterId = rows.get(rows.size() - 1).getId();
+        } while (rows.size() == BATCH_SIZE);
+
+        if (updated > 0) {
+            log.info("Clés phonétiques renseignées pour {} personne(s) existante(s)", updated);
+        }
+    }
+}
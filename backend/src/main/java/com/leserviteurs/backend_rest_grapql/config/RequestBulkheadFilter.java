@@ -0,0 +1,171 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leserviteurs.backend_rest_grapql.exception.ErrorResponse;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limite le nombre de requêtes API (REST et GraphQL) traitées en même temps.
+ *
+ * Avec les threads virtuels, plus rien ne borne la concurrence (en threads plateforme,
+ * c'était le pool de Tomcat) : des milliers de requêtes attendraient une connexion du pool
+ * Hikari et finiraient en erreur après connection-timeout. Au-delà de max-concurrent, une requête
+ * attend son tour dans une file équitable (un thread virtuel en attente ne coûte presque rien),
+ * puis reçoit 503 si aucune place ne se libère avant max-wait.
+ * Une réponse asynchrone (GraphQL, export en flux) garde sa place jusqu'à la fin de la réponse,
+ * pas seulement jusqu'au retour du premier dispatch.
+ * Le flux SSE des modifications (GET /api/personnes/changes) n'est pas limité : ouvert par onglet
+ * pendant sse-timeout, il occuperait une place sans solliciter la base.
+ *
+ * Activé par app.bulkhead.enabled=true (profil virtual).
+ */
+@Component
+@ConditionalOnProperty(name = "app.bulkhead.enabled", havingValue = "true")
+@Slf4j
+public class RequestBulkheadFilter extends OncePerRequestFilter {
+
+    private static final String CHANGES_PATH = "/api/personnes/changes";
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final ObjectMapper objectMapper;
+
+    public RequestBulkheadFilter(
+            @Value("${app.bulkhead.max-concurrent:1000}") int maxConcurrent,
+            @Value("${app.bulkhead.max-wait:2s}") Duration maxWait,
+            ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.objectMapper = objectMapper;
+        log.info("Bulkhead des requêtes API : {} en parallèle, attente maximale {}", maxConcurrent, maxWait);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/") && !path.equals("/graphql")) {
+            return true;
+        }
+        return path.equals(CHANGES_PATH) || isEventStream(request);
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    // Les redispatchs d'une réponse asynchrone (GraphQL, export en flux) passent aussi par le filtre :
+    // ils gardent la place prise par le premier passage
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+        PermitRelease release = new PermitRelease();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Réponse terminée plus tard sur un autre thread : la place est rendue à la fin de la réponse
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        log.warn("Bulkhead saturé ({} requêtes en cours) : requête refusée", maxConcurrent);
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Serveur surchargé, réessayez dans quelques instants")
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Rend la place une seule fois, à la fin de la réponse (onComplete suit aussi un timeout ou une erreur)
+     */
+    private final class PermitRelease implements AsyncListener, Runnable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        // Nouveau cycle asynchrone pendant un redispatch : les écouteurs doivent se réinscrire
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
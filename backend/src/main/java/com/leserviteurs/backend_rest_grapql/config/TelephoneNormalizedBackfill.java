@@ -0,0 +1,38 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+
+/**
+ * Rattrapage unique de la colonne telephone_normalized au démarrage.
+ * Les lignes créées avant l'ajout de la colonne ont telephone_normalized à NULL :
+ * elles sont remplies en une seule requête UPDATE. Les démarrages suivants
+ * ne trouvent plus aucune ligne à traiter.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class TelephoneNormalizedBackfill implements ApplicationRunner {
+
+    private final PersonneRepository personneRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int updated = personneRepository.backfillTelephoneNormalized();
+            if (updated > 0) {
+                log.info("telephone_normalized renseigné pour {} personne(s) existante(s)", updated);
+            }
+        } catch (DataIntegrityViolationException ex) {
+            // Des doublons de téléphone existent déjà en base : ils doivent être corrigés à la main
+            log.error("Rattrapage de telephone_normalized impossible, doublons de téléphone en base : {}",
+                    ex.getMostSpecificCause().getMessage());
+        }
+    }
+}
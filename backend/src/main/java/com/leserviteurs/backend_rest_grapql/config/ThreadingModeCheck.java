@@ -0,0 +1,38 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indique au démarrage le mode d'exécution des requêtes.
+ * spring.threads.virtual.enabled n'a d'effet qu'à partir de Java 21 : sur une JVM plus
+ * ancienne, Spring Boot l'ignore sans rien dire et l'application reste en threads plateforme.
+ */
+@Component
+@Slf4j
+public class ThreadingModeCheck {
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    private final boolean virtualThreadsEnabled;
+
+    public ThreadingModeCheck(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsEnabled) {
+            log.info("Requêtes exécutées sur le pool de threads plateforme de Tomcat");
+        } else if (javaVersion >= VIRTUAL_THREADS_JAVA_VERSION) {
+            log.info("Requêtes REST et GraphQL exécutées sur des threads virtuels (Java {})", javaVersion);
+        } else {
+            log.warn("spring.threads.virtual.enabled=true ignoré : Java {} (Java {} requis), "
+                    + "requêtes exécutées sur des threads plateforme", javaVersion, VIRTUAL_THREADS_JAVA_VERSION);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.leserviteurs.backend_rest_grapql.controller;
+
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangeFeed;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Flux SSE des modifications (GET /api/personnes/changes), branché sur PersonneChangeFeed.
+ *
+ * Un événement par modification : "event: CREATED|UPDATED|DELETED|RESET", "data: {type, id, personne}".
+ * Un abonné trop lent reçoit un dernier événement "event: OVERFLOW" (liste à recharger), puis le flux
+ * est fermé.
+ * La connexion est fermée après timeout (EventSource se reconnecte seul) ; en attendant,
+ * un commentaire est envoyé à l'ouverture puis toutes les heartbeat pour que les proxys ne la coupent pas.
+ * Un client parti (échec d'écriture) ferme simplement le flux.
+ */
+@Component
+class PersonneChangeStream {
+
+    // Marqueur de l'événement de maintien de la connexion (jamais publié par PersonneChangeFeed)
+    private static final PersonneChangedEvent HEARTBEAT = new PersonneChangedEvent(null, null, null);
+    private static final String OVERFLOW = "OVERFLOW";
+
+    private final PersonneChangeFeed personneChangeFeed;
+    private final Duration timeout;
+    private final Duration heartbeat;
+
+    PersonneChangeStream(PersonneChangeFeed personneChangeFeed,
+            @Value("${app.changes.sse-timeout:30m}") Duration timeout,
+            @Value("${app.changes.sse-heartbeat:30s}") Duration heartbeat) {
+        this.personneChangeFeed = personneChangeFeed;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+    }
+
+    SseEmitter open() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        // Envoyé dès l'ouverture : sans lui, la réponse (et EventSource.onopen) attendrait le premier heartbeat
+        send(emitter, HEARTBEAT);
+
+        Disposable subscription = personneChangeFeed.changes()
+                .mergeWith(Flux.interval(heartbeat, heartbeat).map(tick -> HEARTBEAT))
+                .subscribe(
+                        event -> send(emitter, event),
+                        error -> end(emitter, error),
+                        emitter::complete);
+
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    /**
+     * Fin du flux en erreur. Client parti (échec d'écriture) : fermer sans rien lui envoyer.
+     * Sinon (abonné trop lent) : le signaler au client plutôt que de terminer la réponse,
+     * déjà commencée, en erreur
+     */
+    static void end(SseEmitter emitter, Throwable error) {
+        if (Exceptions.unwrap(error) instanceof IOException) {
+            emitter.complete();
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(OVERFLOW).data(error.getMessage()));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            // Client déjà parti
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private static void send(SseEmitter emitter, PersonneChangedEvent event) {
+        try {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .name(event.getType().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException ex) {
+            // Client parti : fin de l'abonnement, sans OVERFLOW (voir end)
+            throw Exceptions.propagate(ex);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.leserviteurs.backend_rest_grapql.controller;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.exception.PreconditionFailedException;
+import com.leserviteurs.backend_rest_grapql.service.PersonneServiceImpl;
+
+/**
+ * ETag d'une personne : sa version entre guillemets ("3").
+ */
+final class PersonneETags {
+
+    private PersonneETags() {
+    }
+
+    static String of(PersonneDTO personne) {
+        return "\"" + personne.getVersion() + "\"";
+    }
+
+    /**
+     * Version attendue d'après l'en-tête If-Match
+     * @return null si l'en-tête est absent ou vaut * (pas de condition)
+     * @throws PreconditionFailedException pour un ETag qui ne peut correspondre à aucune version
+     *         (faible W/..., liste d'ETags ou valeur inconnue)
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            try {
+                return Long.valueOf(etag.substring(1, etag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // ETag d'une autre ressource : ne correspond à aucune version
+            }
+        }
+        throw new PreconditionFailedException(PersonneServiceImpl.PERSONNE_MODIFIEE);
+    }
+}
@@ -0,0 +1,42 @@
+package com.leserviteurs.backend_rest_grapql.controller;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.leserviteurs.backend_rest_grapql.dto.GenerationReportDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneDataGenerator;
+
+/**
+ * Génération de données de test de charge par l'API.
+ *
+ * Jusqu'à app.generator.max-rows lignes insérées pendant la requête, sans authentification :
+ * absent tant que app.generator.endpoint-enabled n'est pas à true (environnements de test de charge).
+ * Au démarrage, voir aussi PersonneDataGeneratorRunner.
+ */
+@RestController
+@RequestMapping("/api/personnes")
+@ConditionalOnProperty(name = "app.generator.endpoint-enabled", havingValue = "true")
+@Slf4j
+@AllArgsConstructor
+public class PersonneGeneratorController {
+
+    private final PersonneDataGenerator personneDataGenerator;
+
+    /**
+     * Générer des personnes synthétiques
+     * POST /api/personnes/generate?rows=1000000
+     *
+     * @return 200 OK avec le nombre de lignes, la plage d'ids et la durée
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<GenerationReportDTO> generatePersonnes(@RequestParam int rows) {
+        log.warn("Requête de génération de {} personne(s)", rows);
+        return ResponseEntity.ok(personneDataGenerator.generate(rows));
+    }
+}
@@ -1,15 +1,49 @@
 package com.leserviteurs.backend_rest_grapql.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.leserviteurs.backend_rest_grapql.dto.DuplicateScanDTO;
+import com.leserviteurs.backend_rest_grapql.dto.ExportFormat;
+import com.leserviteurs.backend_rest_grapql.dto.ImportReportDTO;
 import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneOrder;
+import com.leserviteurs.backend_rest_grapql.dto.PersonnePageDTO;
+import com.leserviteurs.backend_rest_grapql.dto.SuggestField;
+import com.leserviteurs.backend_rest_grapql.dto.SuggestionDTO;
+import com.leserviteurs.backend_rest_grapql.exception.ResourceNotFoundException;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+import com.leserviteurs.backend_rest_grapql.search.SuggestIndex;
+import com.leserviteurs.backend_rest_grapql.service.DuplicateDetectionService;
+import com.leserviteurs.backend_rest_grapql.service.PersonneChangeCounter;
+import com.leserviteurs.backend_rest_grapql.service.PersonneExportService;
+import com.leserviteurs.backend_rest_grapql.service.PersonneImportService;
 import com.leserviteurs.backend_rest_grapql.service.PersonneService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/personnes")
 @Slf4j
@@ -17,6 +51,138 @@ import com.leserviteurs.backend_rest_grapql.service.PersonneService;
 public class PersonneRestController {
 
     private final PersonneService personneService;
+    private final PersonneExportService personneExportService;
+    private final PersonneImportService personneImportService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final PersonneChangeCounter personneChangeCounter;
+    private final PersonneChangeStream personneChangeStream;
+    private final SuggestIndex suggestIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * READ - Lister les personnes page par page (pagination keyset)
+     * GET /api/personnes?size=20&after={nextCursor}&nom=&prenom=&telephone=&orderBy=ID|NOM_PRENOM
+     * 
+     * @param size    Taille de la page (20 par défaut, 100 au maximum)
+     * @param after   Curseur nextCursor de la page précédente (absent pour la première page)
+     * @param orderBy Ordre de tri : ID (défaut) ou NOM_PRENOM
+     * @return 200 OK avec la page et le curseur de la page suivante,
+     *         304 Not Modified si la table n'a pas changé depuis l'ETag envoyé (If-None-Match)
+     */
+    @GetMapping
+    public ResponseEntity<PersonnePageDTO> listPersonnes(
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String nom,
+            @RequestParam(required = false) String prenom,
+            @RequestParam(required = false) String telephone,
+            @RequestParam(defaultValue = "ID") PersonneOrder orderBy,
+            WebRequest request) {
+
+        log.debug("REST API - Requête GET pour lister les personnes - taille: {}, tri: {}", size, orderBy);
+
+        // ETag lu avant la requête en base (voir PersonneChangeCounter)
+        String etag = personneChangeCounter.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        PersonnePageDTO page = personneService.findPage(nom, prenom, telephone, orderBy, size, after);
+
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    /**
+     * READ - Saisie semi-automatique
+     * GET /api/personnes/suggest?prefix=dio&field=NOM|PRENOM|TELEPHONE&limit=10
+     * 
+     * Valeurs distinctes commençant par le préfixe, avec leur nombre de personnes,
+     * les plus fréquentes d'abord. Servies par l'index en mémoire (SuggestIndex), sans requête en base.
+     * 
+     * @param limit Nombre de complétions (10 par défaut, app.suggest.max-limit au maximum)
+     * @return 200 OK avec les complétions (liste vide tant que l'index est en construction)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam SuggestField field,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestIndex.suggest(prefix, field, limit));
+    }
+
+    /**
+     * READ - Récupérer une personne par son ID
+     * GET /api/personnes/{id}
+     * 
+     * La personne est servie par le cache ; l'ETag est sa version.
+     * 
+     * @param id L'identifiant de la personne
+     * @return 200 OK avec la personne,
+     *         304 Not Modified (sans corps) si elle n'a pas changé depuis l'ETag envoyé (If-None-Match)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PersonneDTO> getPersonne(@PathVariable Long id, WebRequest request) {
+        log.debug("REST API - Requête GET pour la personne ID : {}", id);
+
+        PersonneDTO personne = personneService.findById(id);
+
+        String etag = PersonneETags.of(personne);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(personne);
+    }
+
+    /**
+     * EXPORT - Exporter tout l'annuaire en flux
+     * GET /api/personnes/export?format=ndjson|csv
+     * 
+     * Les lignes sont écrites au fil de la lecture en base : la table n'est jamais
+     * chargée entièrement en mémoire.
+     * 
+     * @param format ndjson (défaut) ou csv
+     * @return 200 OK avec le fichier en pièce jointe,
+     *         304 Not Modified si la table n'a pas changé depuis l'ETag envoyé (If-None-Match)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPersonnes(
+            @RequestParam(defaultValue = "ndjson") String format,
+            WebRequest request) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        log.debug("REST API - Requête GET pour exporter les personnes au format {}", exportFormat);
+
+        String etag = personneChangeCounter.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        StreamingResponseBody body = outputStream -> personneExportService.export(exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"personnes." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * CHANGES - Suivre les modifications en direct (Server-Sent Events)
+     * GET /api/personnes/changes
+     * 
+     * Un événement par création, modification ou suppression validée, avec la personne
+     * ou l'id supprimé : le client met à jour sa liste sans la relire.
+     * Équivalent REST de la subscription GraphQL personneChanged.
+     * 
+     * @return 200 OK, flux text/event-stream
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        log.debug("REST API - Abonnement SSE aux modifications");
+        return personneChangeStream.open();
+    }
 
     /**
      * CREATE - Créer une nouvelle personne
@@ -27,35 +193,129 @@ public class PersonneRestController {
      */
     @PostMapping
     public ResponseEntity<PersonneDTO> createPersonne(@Valid @RequestBody PersonneDTO personneDTO) {
-        log.info("REST API - Requête POST pour créer une personne : {}", personneDTO);
+        log.debug("REST API - Requête POST pour créer une personne");
 
         PersonneDTO createdPersonne = personneService.create(personneDTO);
 
-        log.info("REST API - Personne créée avec succès, ID : {}", createdPersonne.getId());
+        log.debug("REST API - Personne créée avec succès, ID : {}", createdPersonne.getId());
+
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(PersonneETags.of(createdPersonne)).body(createdPersonne);
+    }
+
+    /**
+     * IMPORT - Créer des personnes en masse
+     * POST /api/personnes/bulk
+     * 
+     * Corps : tableau JSON de personnes (Content-Type: application/json)
+     * ou CSV avec en-tête nom,prenom,dateNaissance,adresse,telephone (Content-Type: text/csv).
+     * Les lignes valides sont créées, les autres sont rejetées avec leur motif.
+     * 
+     * @return 200 OK avec le rapport ligne par ligne
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReportDTO> importPersonnesJson(InputStream body) throws IOException {
+        log.debug("REST API - Requête POST pour importer des personnes (JSON)");
+
+        ImportReportDTO report = personneImportService.importJson(body);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdPersonne);
+        log.debug("REST API - Import terminé : {} créée(s), {} rejetée(s)", report.getCreated(), report.getFailed());
+
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importPersonnesCsv(InputStream body) throws IOException {
+        log.debug("REST API - Requête POST pour importer des personnes (CSV)");
+
+        ImportReportDTO report = personneImportService.importCsv(body);
+
+        log.debug("REST API - Import terminé : {} créée(s), {} rejetée(s)", report.getCreated(), report.getFailed());
+
+        return ResponseEntity.ok(report);
     }
 
     /**
      * UPDATE - Modifier une personne existante
      * PUT /api/personnes/{id}
      * 
+     * Avec If-Match (ETag reçu par GET), la modification n'est appliquée que si la personne
+     * n'a pas changé entre-temps.
+     * 
      * @param id          L'identifiant de la personne à modifier
      * @param personneDTO Les nouvelles données
-     * @return 200 OK avec la personne modifiée
+     * @param ifMatch     ETag attendu (optionnel)
+     * @return 200 OK avec la personne modifiée et son nouvel ETag,
+     *         412 Precondition Failed si la personne a changé depuis l'ETag envoyé
      */
     @PutMapping("/{id}")
     public ResponseEntity<PersonneDTO> updatePersonne(
             @PathVariable Long id,
-            @Valid @RequestBody PersonneDTO personneDTO) {
+            @Valid @RequestBody PersonneDTO personneDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        log.info("REST API - Requête PUT pour modifier la personne ID : {}", id);
+        log.debug("REST API - Requête PUT pour modifier la personne ID : {}", id);
 
-        PersonneDTO updatedPersonne = personneService.update(id, personneDTO);
+        PersonneDTO updatedPersonne = personneService.update(id, personneDTO, PersonneETags.expectedVersion(ifMatch));
 
-        log.info("REST API - Personne modifiée avec succès, ID : {}", id);
+        log.debug("REST API - Personne modifiée avec succès, ID : {}", id);
 
-        return ResponseEntity.ok(updatedPersonne);
+        return ResponseEntity.ok().eTag(PersonneETags.of(updatedPersonne)).body(updatedPersonne);
+    }
+
+    /**
+     * PATCH - Modifier une partie des champs d'une personne
+     * PATCH /api/personnes/{id}
+     * 
+     * Corps : les seuls champs à modifier (JSON Merge Patch), ex: {"adresse": "Thiès"}.
+     * Un champ présent à null est effacé (adresse, téléphone, date de naissance).
+     * Seuls les champs envoyés sont validés ; un seul UPDATE en base.
+     * 
+     * @param id      L'identifiant de la personne à modifier
+     * @param changes Les champs à modifier
+     * @param ifMatch ETag attendu (optionnel)
+     * @return 200 OK avec la personne modifiée et son nouvel ETag,
+     *         412 Precondition Failed si la personne a changé depuis l'ETag envoyé
+     */
+    @PatchMapping(value = "/{id}", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json" })
+    public ResponseEntity<PersonneDTO> patchPersonne(
+            @PathVariable Long id,
+            @RequestBody ObjectNode changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        log.debug("REST API - Requête PATCH pour modifier la personne ID : {}", id);
+
+        Set<PersonneField> fields = EnumSet.noneOf(PersonneField.class);
+        for (Iterator<String> names = changes.fieldNames(); names.hasNext();) {
+            String name = names.next();
+            PersonneField field = PersonneField.fromName(name);
+            if (field == null || !PersonneField.EDITABLE.contains(field)) {
+                throw new IllegalArgumentException("Champ non modifiable : " + name);
+            }
+            fields.add(field);
+        }
+
+        PersonneDTO personneDTO;
+        try {
+            personneDTO = objectMapper.treeToValue(changes, PersonneDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Valeur invalide : " + ex.getOriginalMessage());
+        }
+
+        // Contraintes du DTO (@Size, @Past...) des seuls champs envoyés
+        Set<ConstraintViolation<PersonneDTO>> violations = new HashSet<>();
+        for (PersonneField field : fields) {
+            violations.addAll(validator.validateProperty(personneDTO, field.getAttribute()));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        PersonneDTO patchedPersonne = personneService.patch(id, personneDTO, fields,
+                PersonneETags.expectedVersion(ifMatch));
+
+        log.debug("REST API - Personne modifiée avec succès, ID : {}", id);
+
+        return ResponseEntity.ok().eTag(PersonneETags.of(patchedPersonne)).body(patchedPersonne);
     }
 
     /**
@@ -67,11 +327,11 @@ public class PersonneRestController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePersonne(@PathVariable Long id) {
-        log.info("REST API - Requête DELETE pour supprimer la personne ID : {}", id);
+        log.debug("REST API - Requête DELETE pour supprimer la personne ID : {}", id);
 
         personneService.delete(id);
 
-        log.info("REST API - Personne supprimée avec succès, ID : {}", id);
+        log.debug("REST API - Personne supprimée avec succès, ID : {}", id);
 
         return ResponseEntity.noContent().build();
     }
@@ -82,4 +342,31 @@ public class PersonneRestController {
         personneService.resetTable();
         return ResponseEntity.ok("Table personne réinitialisée avec succès");
     }
+
+    /**
+     * Lancer la recherche de doublons en tâche de fond (paires : query GraphQL duplicateCandidates)
+     * POST /api/personnes/duplicates/scan
+     *
+     * @return 202 Accepted avec l'état de la recherche lancée, ou de celle déjà en cours
+     */
+    @PostMapping("/duplicates/scan")
+    public ResponseEntity<DuplicateScanDTO> scanDuplicates() {
+        log.info("Requête de recherche de doublons");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(duplicateDetectionService.start());
+    }
+
+    /**
+     * État de la dernière recherche de doublons
+     * GET /api/personnes/duplicates/scan
+     *
+     * @return 200 OK avec l'état et les compteurs, 404 si aucune recherche depuis le démarrage
+     */
+    @GetMapping("/duplicates/scan")
+    public ResponseEntity<DuplicateScanDTO> getDuplicateScan() {
+        DuplicateScanDTO status = duplicateDetectionService.status();
+        if (status == null) {
+            throw new ResourceNotFoundException("Aucune recherche de doublons depuis le démarrage");
+        }
+        return ResponseEntity.ok(status);
+    }
 }
\ No newline at end of file
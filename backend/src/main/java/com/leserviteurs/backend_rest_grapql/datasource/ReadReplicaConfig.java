@@ -0,0 +1,77 @@
+package com.leserviteurs.backend_rest_grapql.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectures sur réplicas : remplace la DataSource de Spring Boot par ReplicaRoutingDataSource.
+ *
+ * Le primaire garde sa configuration (spring.datasource.*, spring.datasource.hikari.*) ;
+ * chaque URL de app.datasource.replicas.urls a son propre pool, mêmes réglages que le primaire,
+ * connexions en lecture seule. Un réplica injoignable au démarrage n'empêche pas l'application
+ * de démarrer : il est écarté à la première lecture.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(HikariDataSource primaryDataSource,
+            @Value("${app.datasource.replicas.urls:}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replicas.connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${app.datasource.replicas.eject-for:30s}") Duration ejectFor,
+            @Value("${app.datasource.replicas.sticky-window:2s}") Duration stickyWindow,
+            MeterRegistry meterRegistry) {
+
+        if (urls.isEmpty()) {
+            throw new IllegalStateException(
+                    "app.datasource.replicas.enabled=true mais aucune URL dans app.datasource.replicas.urls");
+        }
+
+        List<HikariDataSource> replicaPools = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName("replica-" + (replicaPools.size() + 1));
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setReadOnly(true);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicaPools.add(new HikariDataSource(config));
+        }
+
+        log.info("Transactions readOnly servies par {} réplica(s), lectures sur le primaire {} ms après une écriture",
+                replicaPools.size(), stickyWindow.toMillis());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPools, ejectFor, stickyWindow, meterRegistry);
+    }
+}
@@ -0,0 +1,153 @@
+package com.leserviteurs.backend_rest_grapql.datasource;
+
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource de l'application quand les réplicas sont activés (app.datasource.replicas.enabled).
+ *
+ * La connexion n'est prise qu'à la première requête SQL, une fois la transaction commencée :
+ * - transaction readOnly (findAll, findById, search...) : un réplica, à tour de rôle
+ * - toute autre transaction, ou requête hors transaction : le primaire
+ *
+ * Un réplica qui ne donne pas de connexion est écarté pendant eject-for, puis retenté ;
+ * sans réplica disponible, les lectures passent par le primaire.
+ * Après chaque écriture validée, les lectures restent sur le primaire pendant sticky-window :
+ * le client relit ce qu'il vient d'écrire malgré le retard de réplication. Cette fenêtre est
+ * commune à tous les clients (une requête ne porte pas d'identité de client).
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long ejectForNanos;
+    private final long stickyWindowNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    // Instant (System.nanoTime) du dernier commit d'une écriture
+    private volatile long lastWrite;
+
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+            Duration ejectFor, Duration stickyWindow, MeterRegistry meterRegistry) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.ejectForNanos = ejectFor.toNanos();
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.lastWrite = System.nanoTime() - stickyWindowNanos;
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+
+        replicaReads = reads("replica", meterRegistry);
+        stickyReads = reads("sticky", meterRegistry);
+        fallbackReads = reads("fallback", meterRegistry);
+        Gauge.builder("personne.datasource.replicas.available", this, ReplicaRoutingDataSource::available)
+                .description("Réplicas non écartés")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ouvre la fenêtre read-your-writes, après le commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonneChanged(PersonneChangedEvent event) {
+        lastWrite = System.nanoTime();
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private Connection readConnection() throws SQLException {
+        long now = System.nanoTime();
+        if (now - lastWrite < stickyWindowNanos) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.ejected && now - replica.retryAt < 0) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                if (replica.ejected) {
+                    replica.ejected = false;
+                    log.info("Réplica {} de nouveau disponible", replica.pool.getPoolName());
+                }
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replica.retryAt = System.nanoTime() + ejectForNanos;
+                replica.ejected = true;
+                log.warn("Réplica {} écarté pendant {} ms : {}", replica.pool.getPoolName(),
+                        Duration.ofNanos(ejectForNanos).toMillis(), ex.getMessage());
+            }
+        }
+
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    private double available() {
+        return replicas.stream().filter(replica -> !replica.ejected).count();
+    }
+
+    private static Counter reads(String route, MeterRegistry meterRegistry) {
+        return Counter.builder("personne.datasource.reads")
+                .description("Connexions des transactions readOnly, par destination")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cible des transactions readOnly pour LazyConnectionDataSourceProxy
+     */
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Identifiants fixés par la configuration des réplicas");
+        }
+    }
+
+    private static final class Replica {
+
+        final HikariDataSource pool;
+        volatile boolean ejected;
+        volatile long retryAt;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
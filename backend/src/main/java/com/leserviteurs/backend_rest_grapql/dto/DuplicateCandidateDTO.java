@@ -0,0 +1,22 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+import com.leserviteurs.backend_rest_grapql.model.DuplicateReason;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateCandidateDTO {
+
+    private Long id;
+
+    private Long personneId;
+
+    private Long duplicateId;
+
+    private double score;
+
+    private DuplicateReason reason;
+}
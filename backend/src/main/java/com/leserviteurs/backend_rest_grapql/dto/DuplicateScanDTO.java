@@ -0,0 +1,40 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * État de la dernière recherche de doublons (en cours ou terminée)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateScanDTO {
+
+    public enum State {
+        RUNNING, DONE, FAILED
+    }
+
+    private State state;
+
+    private LocalDateTime startedAt;
+
+    private long durationMs;
+
+    // Lignes lues (une personne est lue une fois par type de bloc)
+    private long rows;
+
+    // Blocs d'au moins deux personnes, comparées deux à deux
+    private long blocks;
+
+    // Blocs de plus de app.dedup.max-block-size personnes, ignorés
+    private long skippedBlocks;
+
+    private long comparisons;
+
+    private long candidates;
+
+    private String error;
+}
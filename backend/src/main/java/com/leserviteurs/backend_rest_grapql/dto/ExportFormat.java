@@ -0,0 +1,43 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+import java.util.Locale;
+
+/**
+ * Formats de l'export de l'annuaire (GET /api/personnes/export)
+ */
+public enum ExportFormat {
+
+    // Un objet JSON par ligne
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    // CSV avec ligne d'en-tête, séparateur virgule
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @throws IllegalArgumentException si le format n'est pas supporté
+     */
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Format d'export non supporté : " + value + " (ndjson ou csv)");
+    }
+}
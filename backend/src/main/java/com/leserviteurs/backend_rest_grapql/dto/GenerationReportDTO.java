@@ -0,0 +1,21 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+import lombok.*;
+
+/**
+ * Rapport d'une génération de données synthétiques : lignes insérées et plage d'ids utilisée
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GenerationReportDTO {
+
+    private int rows;
+
+    private long firstId;
+
+    private long lastId;
+
+    private long durationMs;
+}
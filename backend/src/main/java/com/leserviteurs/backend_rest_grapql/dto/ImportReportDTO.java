@@ -0,0 +1,28 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rapport d'un import en masse : compteurs et résultat de chaque ligne.
+ * Les lignes valides sont créées même si d'autres sont rejetées.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReportDTO {
+
+    private int total;
+
+    private int created;
+
+    private int failed;
+
+    private long durationMs;
+
+    @Builder.Default
+    private List<ImportRowResultDTO> rows = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+import lombok.*;
+
+/**
+ * Résultat de l'import d'une ligne (POST /api/personnes/bulk)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowResultDTO {
+
+    public enum Status {
+        CREATED,
+        ERROR
+    }
+
+    // Position de la ligne dans le fichier : n° d'élément du tableau JSON
+    // ou n° de ligne de données CSV (en-tête exclu), à partir de 1
+    private int line;
+
+    private Status status;
+
+    // Id de la personne créée (status CREATED)
+    private Long id;
+
+    // Motif du rejet (status ERROR)
+    private String error;
+}
@@ -29,4 +29,7 @@ public class PersonneDTO {
     
     @Size(max = 20)
     private String telephone;
+
+    // Version de l'enregistrement, en lecture seule (ignorée en création et modification)
+    private Long version;
 }
\ No newline at end of file
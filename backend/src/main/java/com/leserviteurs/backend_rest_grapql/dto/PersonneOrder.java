@@ -0,0 +1,13 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+/**
+ * Ordre de tri supporté par la pagination par curseur (keyset).
+ * Chaque ordre correspond à un index de la table personne.
+ */
+public enum PersonneOrder {
+    // Tri par clé primaire (index PRIMARY)
+    ID,
+
+    // Tri alphabétique (index idx_personne_nom_prenom_id)
+    NOM_PRENOM
+}
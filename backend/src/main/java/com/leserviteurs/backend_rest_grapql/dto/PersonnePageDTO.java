@@ -0,0 +1,24 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Une page de personnes obtenue par pagination keyset.
+ * nextCursor est à renvoyer dans "after" pour obtenir la page suivante.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PersonnePageDTO {
+
+    private List<PersonneDTO> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+}
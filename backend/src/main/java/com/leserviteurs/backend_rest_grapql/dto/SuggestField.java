@@ -0,0 +1,15 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+/**
+ * Champ complété par la saisie semi-automatique (suggest).
+ */
+public enum SuggestField {
+    // Nom, sans tenir compte de la casse ni des accents
+    NOM,
+
+    // Prénom, sans tenir compte de la casse ni des accents
+    PRENOM,
+
+    // Téléphone normalisé (chiffres seuls)
+    TELEPHONE
+}
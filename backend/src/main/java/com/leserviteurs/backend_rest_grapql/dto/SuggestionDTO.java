@@ -0,0 +1,17 @@
+package com.leserviteurs.backend_rest_grapql.dto;
+
+import lombok.*;
+
+/**
+ * Complétion proposée pendant la saisie : valeur distincte et nombre de personnes qui la portent.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDTO {
+
+    private String value;
+
+    private int count;
+}
@@ -0,0 +1,55 @@
+package com.leserviteurs.backend_rest_grapql.event;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Flux des modifications de personnes, diffusé aux abonnés (subscription GraphQL personneChanged,
+ * GET /api/personnes/changes en SSE) après le commit de chaque écriture.
+ *
+ * Chaque abonné a sa propre file, bornée à buffer-size événements, vidée sur un autre thread :
+ * un abonné lent ne ralentit ni les écritures ni les autres abonnés. Si sa file déborde,
+ * son flux se termine en erreur : le client doit recharger la liste puis se réabonner
+ * (un événement perdu laisserait sa copie locale fausse sans qu'il le sache).
+ */
+@Component
+@Slf4j
+public class PersonneChangeFeed {
+
+    private final Sinks.Many<PersonneChangedEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+
+    public PersonneChangeFeed(@Value("${app.changes.buffer-size:256}") int bufferSize, MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        Gauge.builder("personne.changes.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("Abonnés au flux des modifications (GraphQL et SSE)")
+                .register(meterRegistry);
+    }
+
+    public Flux<PersonneChangedEvent> changes() {
+        return sink.asFlux()
+                .onBackpressureBuffer(bufferSize)
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .onErrorMap(Exceptions::isOverflow, ex -> new IllegalStateException(
+                        "Plus de " + bufferSize + " modifications en attente : rechargez la liste", ex))
+                .doOnError(ex -> log.debug("Abonné aux modifications déconnecté : {}", ex.getMessage()));
+    }
+
+    /**
+     * Appelé par plusieurs threads d'écriture : l'émission est sérialisée
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPersonneChanged(PersonneChangedEvent event) {
+        sink.tryEmitNext(event);
+    }
+}
@@ -0,0 +1,50 @@
+package com.leserviteurs.backend_rest_grapql.event;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Événement publié par PersonneServiceImpl après chaque écriture.
+ * Les index en mémoire l'écoutent après le commit de la transaction
+ * (@TransactionalEventListener) pour rester synchronisés avec la base.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PersonneChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Table vidée (reset) ou remplie en bloc (PersonneDataGenerator) : tout est à relire
+        RESET
+    }
+
+    private final Type type;
+
+    // Identifiant concerné (null pour RESET)
+    private final Long id;
+
+    // État après écriture (null pour DELETED et RESET)
+    private final PersonneDTO personne;
+
+    public static PersonneChangedEvent created(PersonneDTO personne) {
+        return new PersonneChangedEvent(Type.CREATED, personne.getId(), personne);
+    }
+
+    public static PersonneChangedEvent updated(PersonneDTO personne) {
+        return new PersonneChangedEvent(Type.UPDATED, personne.getId(), personne);
+    }
+
+    public static PersonneChangedEvent deleted(Long id) {
+        return new PersonneChangedEvent(Type.DELETED, id, null);
+    }
+
+    public static PersonneChangedEvent reset() {
+        return new PersonneChangedEvent(Type.RESET, null, null);
+    }
+}
@@ -1,12 +1,18 @@
 package com.leserviteurs.backend_rest_grapql.exception;
 
+import jakarta.servlet.ServletException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -24,7 +30,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
             ResourceNotFoundException ex) {
 
-        log.error("Ressource non trouvée : {}", ex.getMessage());
+        log.debug("Ressource non trouvée : {}", ex.getMessage());
 
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -36,6 +42,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    /**
+     * Gestion de PreconditionFailedException (If-Match ne correspond plus)
+     * Retourne 412 PRECONDITION FAILED
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex) {
+
+        log.debug("Précondition non satisfaite : {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Precondition Failed")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
     /**
      * Gestion des erreurs de validation (@Valid)
      * Retourne 400 BAD REQUEST
@@ -44,7 +70,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
 
-        log.error("Erreur de validation : {}", ex.getMessage());
+        log.debug("Erreur de validation : {}", ex.getMessage());
 
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -62,6 +88,50 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Gestion des erreurs de validation des champs d'un PATCH (contraintes du DTO, champ par champ)
+     * Retourne 400 BAD REQUEST, même format que @Valid
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleConstraintViolationException(
+            ConstraintViolationException ex) {
+
+        log.debug("Erreur de validation : {}", ex.getMessage());
+
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", "Validation Failed");
+        response.put("errors", errors);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * Gestion des erreurs de validation métier d'une personne (PersonneValidator)
+     * Retourne 400 BAD REQUEST avec toutes les erreurs par champ
+     */
+    @ExceptionHandler(PersonneValidationException.class)
+    public ResponseEntity<Map<String, Object>> handlePersonneValidationException(
+            PersonneValidationException ex) {
+
+        log.debug("Erreur de validation métier : {}", ex.getMessage());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", "Validation Failed");
+        response.put("message", ex.getMessage());
+        response.put("errors", ex.getErrors());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     /**
      * Gestion des IllegalArgumentException (validations métier)
      * Retourne 400 BAD REQUEST
@@ -70,7 +140,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex) {
 
-        log.error("Erreur de validation métier : {}", ex.getMessage());
+        log.debug("Erreur de validation métier : {}", ex.getMessage());
 
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -82,6 +152,48 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Gestion des paramètres de requête mal typés (ex: orderBy inconnu)
+     * Retourne 400 BAD REQUEST
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex) {
+
+        log.debug("Paramètre invalide : {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message("Valeur invalide pour le paramètre '" + ex.getName() + "'")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Gestion des routes inexistantes : chemin inconnu, ou méthode non supportée
+     * (ex : POST /api/personnes/generate sans app.generator.endpoint-enabled)
+     * Retourne 404 NOT FOUND ou 405 METHOD NOT ALLOWED
+     */
+    @ExceptionHandler({ NoResourceFoundException.class, HttpRequestMethodNotSupportedException.class })
+    public ResponseEntity<ErrorResponse> handleNoRouteException(ServletException ex) {
+
+        log.debug("Route inexistante : {}", ex.getMessage());
+
+        org.springframework.web.ErrorResponse route = (org.springframework.web.ErrorResponse) ex;
+        HttpStatus status = HttpStatus.valueOf(route.getStatusCode().value());
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(status).headers(route.getHeaders()).body(error);
+    }
+
     /**
      * Gestion de toutes les autres exceptions
      * Retourne 500 INTERNAL SERVER ERROR
@@ -0,0 +1,24 @@
+package com.leserviteurs.backend_rest_grapql.exception;
+
+import com.leserviteurs.backend_rest_grapql.validation.ValidationResult;
+
+import java.util.Map;
+
+/**
+ * Données d'une personne invalides : porte toutes les erreurs par champ.
+ * Erreur attendue (saisie utilisateur) : pas de pile d'appels, elle ne sert
+ * qu'à transmettre le résultat de validation aux gestionnaires REST et GraphQL.
+ */
+public class PersonneValidationException extends RuntimeException {
+
+    private final transient ValidationResult result;
+
+    public PersonneValidationException(ValidationResult result) {
+        super(result.getMessage(), null, false, false);
+        this.result = result;
+    }
+
+    public Map<String, String> getErrors() {
+        return result.getErrors();
+    }
+}
@@ -0,0 +1,12 @@
+package com.leserviteurs.backend_rest_grapql.exception;
+
+/**
+ * La version attendue par le client (en-tête If-Match) n'est plus celle en base :
+ * la personne a été modifiée entre-temps. Retourne 412 PRECONDITION FAILED.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.leserviteurs.backend_rest_grapql.dto.DuplicateCandidateDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.DuplicateDetectionService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+@Slf4j
+@AllArgsConstructor
+public class DuplicateCandidateGraphQLController {
+
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final QueryLimits queryLimits;
+
+    /**
+     * Query GraphQL : duplicateCandidates
+     * Paires probablement en double trouvées par la dernière recherche
+     * (POST /api/personnes/duplicates/scan), de la plus probable à la moins probable.
+     * 
+     * Exemple de requête :
+     * query {
+     * duplicateCandidates(first: 10, minScore: 0.9) {
+     * score
+     * reason
+     * personne { id nom prenom }
+     * duplicate { id nom prenom }
+     * }
+     * }
+     */
+    @QueryMapping
+    public List<DuplicateCandidateDTO> duplicateCandidates(@Argument Integer first, @Argument Double minScore) {
+        int limit = first != null ? first : 20;
+        if (limit < 1 || limit > queryLimits.getMaxListSize()) {
+            throw new IllegalArgumentException(
+                    "first doit être compris entre 1 et " + queryLimits.getMaxListSize());
+        }
+        log.debug("GraphQL Query - duplicateCandidates - first: {}, minScore: {}", limit, minScore);
+        return duplicateDetectionService.findCandidates(minScore != null ? minScore : 0, limit);
+    }
+
+    /**
+     * Personnes d'une paire : même DataLoader que personneById, toutes les paires
+     * d'une réponse sont résolues en une seule lecture (null si supprimée depuis la recherche)
+     */
+    @SchemaMapping(typeName = "DuplicateCandidate")
+    public CompletableFuture<PersonneDTO> personne(DuplicateCandidateDTO candidate,
+            DataLoader<Long, PersonneDTO> personneLoader) {
+        return personneLoader.load(candidate.getPersonneId());
+    }
+
+    @SchemaMapping(typeName = "DuplicateCandidate")
+    public CompletableFuture<PersonneDTO> duplicate(DuplicateCandidateDTO candidate,
+            DataLoader<Long, PersonneDTO> personneLoader) {
+        return personneLoader.load(candidate.getDuplicateId());
+    }
+}
@@ -7,11 +7,14 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
 import org.springframework.graphql.execution.ErrorType;
 import org.springframework.stereotype.Component;
+import org.springframework.validation.BindException;
 
+import com.leserviteurs.backend_rest_grapql.exception.PersonneValidationException;
 import com.leserviteurs.backend_rest_grapql.exception.ResourceNotFoundException;
 
 /**
@@ -34,7 +37,7 @@ public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter
 
         // Gestion de ResourceNotFoundException (404)
         if (ex instanceof ResourceNotFoundException) {
-            log.error("GraphQL - Ressource non trouvée : {}", ex.getMessage());
+            log.debug("GraphQL - Ressource non trouvée : {}", ex.getMessage());
 
             return GraphqlErrorBuilder.newError()
                     .errorType(ErrorType.NOT_FOUND)
@@ -48,9 +51,22 @@ public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter
                     .build();
         }
 
+        // Gestion des erreurs de validation d'une personne (400, erreurs par champ)
+        if (ex instanceof PersonneValidationException validationException) {
+            log.debug("GraphQL - Validation échouée : {}", ex.getMessage());
+
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .location(env.getField().getSourceLocation())
+                    .extensions(Map.of("errors", validationException.getErrors()))
+                    .build();
+        }
+
         // Gestion de IllegalArgumentException (400)
         if (ex instanceof IllegalArgumentException) {
-            log.error("GraphQL - Argument invalide : {}", ex.getMessage());
+            log.debug("GraphQL - Argument invalide : {}", ex.getMessage());
 
             return GraphqlErrorBuilder.newError()
                     .errorType(ErrorType.BAD_REQUEST)
@@ -60,6 +76,21 @@ public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter
                     .build();
         }
 
+        // Argument non convertible dans le type attendu, ex: personnesByIds(ids: ["abc"]) (400)
+        if (ex instanceof BindException bindException) {
+            String values = bindException.getFieldErrors().stream()
+                    .map(error -> "'" + error.getRejectedValue() + "'")
+                    .collect(Collectors.joining(", "));
+            log.debug("GraphQL - Argument non convertible : {}", values);
+
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .message("Valeur invalide pour " + env.getField().getName() + " : " + values)
+                    .path(env.getExecutionStepInfo().getPath())
+                    .location(env.getField().getSourceLocation())
+                    .build();
+        }
+
         // Pour les autres exceptions, laisser le handler par défaut gérer
         // (retourne INTERNAL_ERROR)
         log.error("GraphQL - Erreur interne : {}", ex.getMessage(), ex);
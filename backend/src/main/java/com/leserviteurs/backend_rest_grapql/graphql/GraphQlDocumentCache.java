@@ -0,0 +1,98 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Documents GraphQL analysés et validés, réutilisés d'une requête à l'autre.
+ *
+ * - requête normale : le document est gardé en cache par texte de la requête
+ * - requête persistée (Apollo APQ, extensions.persistedQuery.sha256Hash) : le document est
+ *   gardé par hash ; le client n'envoie plus que le hash, et le texte seulement une fois,
+ *   après une erreur PersistedQueryNotFound (le hash est alors vérifié par graphql-java)
+ *
+ * Les deux caches sont bornés en taille (Caffeine). Un document invalide n'est pas gardé :
+ * des requêtes erronées toutes différentes ne peuvent pas évincer les bonnes.
+ */
+public class GraphQlDocumentCache implements PreparsedDocumentProvider {
+
+    private static final String PERSISTED_QUERY = "persistedQuery";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final Cache<Object, PreparsedDocumentEntry> persistedQueries;
+    private final PersistedQuerySupport persistedQuerySupport;
+
+    public GraphQlDocumentCache(long maxDocuments, long maxPersistedQueries) {
+        this.documents = Caffeine.newBuilder().maximumSize(maxDocuments).recordStats().build();
+        this.persistedQueries = Caffeine.newBuilder().maximumSize(maxPersistedQueries).recordStats().build();
+        this.persistedQuerySupport = new ApolloPersistedQuerySupport(new BoundedPersistedQueryCache());
+    }
+
+    public Cache<String, PreparsedDocumentEntry> getDocuments() {
+        return documents;
+    }
+
+    public Cache<Object, PreparsedDocumentEntry> getPersistedQueries() {
+        return persistedQueries;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions != null && extensions.get(PERSISTED_QUERY) instanceof Map) {
+            return persistedQuerySupport.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry = documents.getIfPresent(query);
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(executionInput);
+            if (!entry.hasErrors()) {
+                documents.put(query, entry);
+            }
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    /**
+     * Stockage des requêtes persistées, par hash, borné en taille
+     * (InMemoryPersistedQueryCache de graphql-java ne l'est pas)
+     */
+    private class BoundedPersistedQueryCache implements PersistedQueryCache {
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId,
+                ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) {
+            PreparsedDocumentEntry entry = persistedQueries.getIfPresent(persistedQueryId);
+            if (entry != null) {
+                return CompletableFuture.completedFuture(entry);
+            }
+
+            // Hash seul et inconnu : le client renverra la requête complète
+            String query = executionInput.getQuery();
+            if (query == null || query.isEmpty() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+                throw new PersistedQueryNotFound(persistedQueryId);
+            }
+
+            entry = onCacheMiss.apply(query);
+            if (!entry.hasErrors()) {
+                persistedQueries.put(persistedQueryId, entry);
+            }
+            return CompletableFuture.completedFuture(entry);
+        }
+    }
+}
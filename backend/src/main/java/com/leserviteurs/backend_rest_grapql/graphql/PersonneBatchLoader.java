@@ -0,0 +1,29 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+import com.leserviteurs.backend_rest_grapql.service.PersonneServiceImpl;
+
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * DataLoader des personnes par id, un par requête GraphQL.
+ *
+ * Tous les champs personneById et personnesByIds d'un même document (alias compris :
+ * { a: personneById(id: 1) { nom } b: personneById(id: 2) { nom } }) sont regroupés
+ * en un seul appel à PersonneService.findAllById, chaque id n'étant lu qu'une fois.
+ * Un id inconnu est résolu à null.
+ */
+@Component
+public class PersonneBatchLoader {
+
+    public PersonneBatchLoader(BatchLoaderRegistry registry, PersonneService personneService) {
+        registry.forTypePair(Long.class, PersonneDTO.class)
+                .withOptions(options -> options.setMaxBatchSize(PersonneServiceImpl.MAX_IDS_PER_QUERY))
+                .registerMappedBatchLoader((ids, environment) ->
+                        Mono.fromCallable(() -> personneService.findAllById(ids)));
+    }
+}
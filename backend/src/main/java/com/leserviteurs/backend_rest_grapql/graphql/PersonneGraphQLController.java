@@ -1,15 +1,36 @@
 package com.leserviteurs.backend_rest_grapql.graphql;
 
 import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneOrder;
+import com.leserviteurs.backend_rest_grapql.dto.PersonnePageDTO;
+import com.leserviteurs.backend_rest_grapql.dto.SuggestField;
+import com.leserviteurs.backend_rest_grapql.dto.SuggestionDTO;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangeFeed;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.exception.ResourceNotFoundException;
+import com.leserviteurs.backend_rest_grapql.graphql.connection.PageInfo;
+import com.leserviteurs.backend_rest_grapql.graphql.connection.PersonneConnection;
+import com.leserviteurs.backend_rest_grapql.graphql.connection.PersonneEdge;
+import com.leserviteurs.backend_rest_grapql.graphql.input.PersonneSearchInput;
+import com.leserviteurs.backend_rest_grapql.search.SuggestIndex;
+import com.leserviteurs.backend_rest_grapql.service.PersonneCursor;
 import com.leserviteurs.backend_rest_grapql.service.PersonneServiceImpl;
 
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
 
+import reactor.core.publisher.Flux;
+
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Controller
 @Slf4j
@@ -17,10 +38,15 @@ import java.util.List;
 public class PersonneGraphQLController {
 
     private final PersonneServiceImpl personneService;
+    private final QueryLimits queryLimits;
+    private final PersonneChangeFeed personneChangeFeed;
+    private final SuggestIndex suggestIndex;
 
     /**
      * Query GraphQL : allPersonnes
-     * Récupère toutes les personnes de la base de données
+     * Récupère toutes les personnes de la base de données.
+     * Seules les colonnes des champs demandés sont lues (voir PersonneSelection).
+     * Au plus QueryLimits.maxListSize personnes, par id croissant (extensions.truncated au-delà).
      * 
      * Exemple de requête :
      * query {
@@ -33,19 +59,69 @@ public class PersonneGraphQLController {
      * }
      */
     @QueryMapping
-    public List<PersonneDTO> allPersonnes() {
-        log.info("GraphQL Query - allPersonnes");
+    public List<PersonneDTO> allPersonnes(DataFetchingFieldSelectionSet selection, DataFetchingEnvironment env) {
+        log.debug("GraphQL Query - allPersonnes");
 
-        List<PersonneDTO> personnes = personneService.findAll();
+        // Une ligne de plus que la limite : savoir si la liste est tronquée
+        List<PersonneDTO> personnes = queryLimits.cap(
+                personneService.findAll(PersonneSelection.of(selection), queryLimits.getMaxListSize() + 1), env);
 
-        log.info("GraphQL Query - {} personne(s) trouvée(s)", personnes.size());
+        log.debug("GraphQL Query - {} personne(s) trouvée(s)", personnes.size());
 
         return personnes;
     }
 
+    /**
+     * Query GraphQL : personnes
+     * Pagination par curseur (Relay) adossée à une pagination keyset en base :
+     * une page profonde coûte autant que la première.
+     * Seules les colonnes des champs demandés sous edges.node sont lues, plus la clé de tri (curseur).
+     * 
+     * Exemple de requête :
+     * query {
+     * personnes(first: 20, after: "SUQfNDI", filter: { nom: "Diop" }, orderBy: NOM_PRENOM) {
+     * edges { cursor node { id nom prenom } }
+     * pageInfo { hasNextPage endCursor }
+     * }
+     * }
+     */
+    @QueryMapping
+    public PersonneConnection personnes(
+            @Argument Integer first,
+            @Argument String after,
+            @Argument PersonneSearchInput filter,
+            @Argument PersonneOrder orderBy,
+            DataFetchingFieldSelectionSet selection) {
+
+        log.debug("GraphQL Query - personnes - first: {}, after: {}, tri: {}", first, after, orderBy);
+
+        PersonneSearchInput criteres = filter != null ? filter : new PersonneSearchInput();
+        PersonneOrder order = orderBy != null ? orderBy : PersonneOrder.ID;
+
+        PersonnePageDTO page = personneService.findPage(
+                criteres.getNom(), criteres.getPrenom(), criteres.getTelephone(), order, first, after,
+                PersonneSelection.of(selection, PersonneSelection.CONNECTION_NODE));
+
+        List<PersonneEdge> edges = page.getContent().stream()
+                .map(personne -> new PersonneEdge(personne, PersonneCursor.encode(personne, order)))
+                .collect(Collectors.toList());
+
+        PageInfo pageInfo = new PageInfo(
+                page.isHasNext(),
+                after != null && !after.isEmpty(),
+                edges.isEmpty() ? null : edges.get(0).getCursor(),
+                edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor());
+
+        log.debug("GraphQL Query - {} personne(s) dans la page", edges.size());
+
+        return new PersonneConnection(edges, pageInfo);
+    }
+
     /**
      * Query GraphQL : personneById
-     * Récupère une personne spécifique par son ID
+     * Récupère une personne spécifique par son ID.
+     * Passe par le DataLoader (PersonneBatchLoader) : plusieurs personneById dans un même
+     * document, alias compris, sont lus en une seule requête.
      * 
      * Exemple de requête :
      * query {
@@ -60,16 +136,43 @@ public class PersonneGraphQLController {
      * }
      */
     @QueryMapping
-    public PersonneDTO personneById(@Argument Long id) {
-        log.info("GraphQL Query - personneById avec ID : {}", id);
+    public CompletableFuture<PersonneDTO> personneById(@Argument Long id, DataLoader<Long, PersonneDTO> personneLoader) {
+        log.debug("GraphQL Query - personneById avec ID : {}", id);
 
-        // Si l'ID n'existe pas, findById() lance ResourceNotFoundException
-        // Le GraphQLExceptionHandler va l'intercepter et créer une belle erreur
-        PersonneDTO personne = personneService.findById(id);
+        return personneLoader.load(id).thenApply(personne -> {
+            // Si l'ID n'existe pas, ResourceNotFoundException
+            // Le GraphQLExceptionHandler va l'intercepter et créer une belle erreur
+            if (personne == null) {
+                throw new ResourceNotFoundException("Personne non trouvée avec l'ID : " + id);
+            }
+            log.debug("GraphQL Query - Personne trouvée : {}", id);
+            return personne;
+        });
+    }
 
-        log.info("GraphQL Query - Personne trouvée : {}", personne);
+    /**
+     * Query GraphQL : personnesByIds
+     * Récupère plusieurs personnes en une seule requête, dans l'ordre des ids demandés
+     * (null pour un id inconnu). Même DataLoader que personneById.
+     * 
+     * Exemple de requête :
+     * query {
+     * personnesByIds(ids: [3, 1, 42]) {
+     * id
+     * nom
+     * }
+     * }
+     */
+    @QueryMapping
+    public CompletableFuture<List<PersonneDTO>> personnesByIds(@Argument List<Long> ids,
+            DataLoader<Long, PersonneDTO> personneLoader) {
+        log.debug("GraphQL Query - personnesByIds - {} ID(s)", ids.size());
 
-        return personne;
+        if (ids.size() > PersonneServiceImpl.MAX_IDS_PER_QUERY) {
+            throw new IllegalArgumentException(
+                    "Au plus " + PersonneServiceImpl.MAX_IDS_PER_QUERY + " ids peuvent être demandés");
+        }
+        return personneLoader.loadMany(ids);
     }
 
     /**
@@ -87,20 +190,67 @@ public class PersonneGraphQLController {
      * }
      * 
      * Tous les paramètres sont optionnels (peuvent être null)
+     * fuzzy: true compare le nom et le prénom par clé phonétique ("Njaay" trouve "NDIAYE"),
+     * résultats du plus proche au plus éloigné.
+     * Seules les colonnes des champs demandés sont lues.
+     * Au plus QueryLimits.maxListSize personnes (extensions.truncated au-delà).
      */
     @QueryMapping
     public List<PersonneDTO> searchPersonnes(
             @Argument String nom,
             @Argument String prenom,
-            @Argument String telephone) {
+            @Argument String telephone,
+            @Argument Boolean fuzzy,
+            DataFetchingFieldSelectionSet selection,
+            DataFetchingEnvironment env) {
 
-        log.info("GraphQL Query - searchPersonnes avec filtres - Nom: {}, Prénom: {}, Tél: {}",
-                nom, prenom, telephone);
+        log.debug("GraphQL Query - searchPersonnes avec filtres - Nom: {}, Prénom: {}, Tél: {}, Fuzzy: {}",
+                nom, prenom, telephone, fuzzy);
 
-        List<PersonneDTO> personnes = personneService.search(nom, prenom, telephone);
+        // Une ligne de plus que la limite, lue par la requête : savoir si la liste est tronquée
+        List<PersonneDTO> personnes = queryLimits.cap(personneService.search(nom, prenom, telephone,
+                Boolean.TRUE.equals(fuzzy), PersonneSelection.of(selection), queryLimits.getMaxListSize() + 1), env);
 
-        log.info("GraphQL Query - {} personne(s) trouvée(s)", personnes.size());
+        log.debug("GraphQL Query - {} personne(s) trouvée(s)", personnes.size());
 
         return personnes;
     }
-}
\ No newline at end of file
+
+    /**
+     * Query GraphQL : suggest
+     * Saisie semi-automatique : valeurs distinctes commençant par le préfixe, avec leur nombre de personnes,
+     * les plus fréquentes d'abord. Servies par l'index en mémoire (SuggestIndex), sans requête en base.
+     * 
+     * Exemple de requête :
+     * query {
+     * suggest(prefix: "dio", field: NOM, limit: 5) {
+     * value
+     * count
+     * }
+     * }
+     */
+    @QueryMapping
+    public List<SuggestionDTO> suggest(@Argument String prefix, @Argument SuggestField field, @Argument Integer limit) {
+        log.debug("GraphQL Query - suggest - préfixe: {}, champ: {}, limit: {}", prefix, field, limit);
+        return suggestIndex.suggest(prefix, field, limit != null ? limit : 10);
+    }
+
+    /**
+     * Subscription GraphQL : personneChanged (WebSocket, protocole graphql-ws)
+     * Chaque création, modification ou suppression validée, avec la personne ou l'id supprimé :
+     * le client met à jour sa liste sans relire allPersonnes.
+     * 
+     * Exemple :
+     * subscription {
+     * personneChanged { type id personne { id nom prenom telephone } }
+     * }
+     * 
+     * Un abonné trop lent (file pleine, voir PersonneChangeFeed) reçoit une erreur :
+     * il doit recharger la liste puis se réabonner.
+     */
+    @SubscriptionMapping
+    public Flux<PersonneChangedEvent> personneChanged() {
+        log.debug("GraphQL Subscription - personneChanged");
+        return personneChangeFeed.changes();
+    }
+}
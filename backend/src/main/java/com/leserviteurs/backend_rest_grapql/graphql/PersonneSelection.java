@@ -0,0 +1,52 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Champs de Personne demandés par la requête GraphQL, pour ne lire que ces colonnes.
+ * Ex: { allPersonnes { id nom } } -> [ID, NOM]
+ */
+final class PersonneSelection {
+
+    // Noeuds d'une PersonneConnection
+    static final String CONNECTION_NODE = "edges/node/*";
+
+    private PersonneSelection() {
+    }
+
+    /**
+     * Champs sélectionnés directement sous le champ courant (liste ou objet Personne)
+     */
+    static Set<PersonneField> of(DataFetchingFieldSelectionSet selection) {
+        return toFields(selection.getImmediateFields());
+    }
+
+    /**
+     * Champs sélectionnés à l'emplacement donné (ex: CONNECTION_NODE)
+     */
+    static Set<PersonneField> of(DataFetchingFieldSelectionSet selection, String glob) {
+        return toFields(selection.getFields(glob));
+    }
+
+    private static Set<PersonneField> toFields(List<SelectedField> selectedFields) {
+        Set<PersonneField> fields = EnumSet.noneOf(PersonneField.class);
+        for (SelectedField selectedField : selectedFields) {
+            PersonneField field = PersonneField.fromName(selectedField.getName());
+            if (field != null) {
+                fields.add(field);
+            }
+        }
+        // Seulement __typename (ou rien) : l'id suffit pour compter les lignes
+        if (fields.isEmpty()) {
+            fields.add(PersonneField.ID);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,62 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Budget d'un document GraphQL (vérifié avant exécution par QueryLimitsInstrumentation)
+ * et nombre maximal de lignes renvoyées par champ liste.
+ *
+ * Une liste plus longue est tronquée ; les champs tronqués sont signalés dans
+ * extensions.truncated de la réponse (chemin du champ : nombre de lignes renvoyées).
+ */
+@Component
+@Getter
+@Slf4j
+public class QueryLimits {
+
+    static final String TRUNCATED = "truncated";
+
+    private final long maxCost;
+    private final int maxDepth;
+    private final int maxAliases;
+    private final int maxListSize;
+
+    public QueryLimits(
+            @Value("${app.graphql.limits.max-cost:1000}") long maxCost,
+            @Value("${app.graphql.limits.max-depth:10}") int maxDepth,
+            @Value("${app.graphql.limits.max-aliases:20}") int maxAliases,
+            @Value("${app.graphql.limits.max-list-size:1000}") int maxListSize) {
+        this.maxCost = maxCost;
+        this.maxDepth = maxDepth;
+        this.maxAliases = maxAliases;
+        this.maxListSize = maxListSize;
+    }
+
+    /**
+     * Garder au plus maxListSize lignes. Pour que la troncature soit détectée, la source
+     * doit lire une ligne de plus que la limite (maxListSize + 1).
+     */
+    public <T> List<T> cap(List<T> rows, DataFetchingEnvironment env) {
+        if (rows.size() <= maxListSize) {
+            return rows;
+        }
+        String path = env.getExecutionStepInfo().getPath().toString();
+        log.debug("GraphQL - Liste tronquée à {} lignes : {}", maxListSize, path);
+        truncated(env.getGraphQlContext()).put(path, maxListSize);
+        return rows.subList(0, maxListSize);
+    }
+
+    static Map<String, Integer> truncated(GraphQLContext context) {
+        return context.computeIfAbsent(TRUNCATED, key -> new ConcurrentHashMap<String, Integer>());
+    }
+}
@@ -0,0 +1,157 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Analyse de coût d'un document GraphQL, avant toute lecture en base.
+ *
+ * Le document (fragments et variables résolus) est refusé s'il dépasse l'un des budgets
+ * de QueryLimits : profondeur, nombre d'alias ou coût. Coût d'un champ :
+ *   poids + taille x (somme des coûts des sous-champs)
+ * - poids : directive @cost(weight) du schéma, sinon 1 pour un objet ou une liste, 0 pour un scalaire
+ * - taille : argument désigné par @cost(sizedBy) (nombre, ou longueur d'une liste), sinon 1
+ *
+ * Ex : 3 alias de allPersonnes (@cost(weight: 500)) coûtent 1500, au-delà du budget par défaut (1000).
+ * Les champs d'introspection (__schema, __type, __typename) ne sont pas comptés.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class QueryLimitsInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String COST = "cost";
+
+    private final QueryLimits limits;
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+
+        Budget budget = new Budget();
+        long cost = cost(executionContext.getNormalizedQueryTree().get().getTopLevelFields(), schema, budget);
+
+        if (budget.depth > limits.getMaxDepth()) {
+            reject("Requête trop profonde : " + budget.depth + " niveaux, maximum " + limits.getMaxDepth(),
+                    "depth", budget.depth, "maxDepth", limits.getMaxDepth());
+        }
+        if (budget.aliases > limits.getMaxAliases()) {
+            reject("Trop d'alias : " + budget.aliases + ", maximum " + limits.getMaxAliases(),
+                    "aliases", budget.aliases, "maxAliases", limits.getMaxAliases());
+        }
+        if (cost > limits.getMaxCost()) {
+            reject("Requête trop coûteuse : coût " + cost + ", maximum " + limits.getMaxCost(),
+                    COST, cost, "maxCost", limits.getMaxCost());
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    /**
+     * Signaler les listes tronquées par QueryLimits.cap dans extensions.truncated
+     */
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+            InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        Map<String, Integer> truncated = parameters.getGraphQLContext().get(QueryLimits.TRUNCATED);
+        if (truncated == null || truncated.isEmpty()) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        return CompletableFuture.completedFuture(
+                executionResult.transform(result -> result.addExtension(QueryLimits.TRUNCATED, truncated)));
+    }
+
+    private long cost(Collection<ExecutableNormalizedField> fields, GraphQLSchema schema, Budget budget) {
+        long total = 0;
+        for (ExecutableNormalizedField field : fields) {
+            if (field.getName().startsWith("__")) {
+                continue;
+            }
+            budget.depth = Math.max(budget.depth, field.getLevel());
+            if (field.getAlias() != null) {
+                budget.aliases++;
+            }
+
+            GraphQLFieldDefinition definition = field.getFieldDefinitions(schema).get(0);
+            GraphQLAppliedDirective directive = definition.getAppliedDirective(COST);
+            long weight = GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(definition.getType())) ? 0 : 1;
+            long size = 1;
+            if (directive != null) {
+                weight = directive.getArgument("weight").<Integer>getValue();
+                String sizedBy = directive.getArgument("sizedBy").getValue();
+                if (sizedBy != null) {
+                    size = size(field.getResolvedArguments().get(sizedBy));
+                }
+            }
+
+            long children = cost(field.getChildren(), schema, budget);
+            total = saturatedAdd(total, saturatedAdd(weight, saturatedMultiply(size, children)));
+        }
+        return total;
+    }
+
+    private static long size(Object argument) {
+        if (argument instanceof Number number) {
+            return Math.max(0, number.longValue());
+        }
+        if (argument instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        return 1;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+
+    private static void reject(String message, String measure, long value, String limit, long max) {
+        log.debug("GraphQL - Document refusé : {}", message);
+        GraphQLError error = GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(message)
+                .extensions(Map.of(
+                        "timestamp", LocalDateTime.now().toString(),
+                        measure, value,
+                        limit, max))
+                .build();
+        throw new AbortExecutionException(List.of(error));
+    }
+
+    /**
+     * Profondeur maximale et nombre d'alias, relevés pendant le calcul du coût
+     */
+    private static class Budget {
+        int depth;
+        int aliases;
+    }
+}
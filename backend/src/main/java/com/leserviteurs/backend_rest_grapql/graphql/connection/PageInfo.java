@@ -0,0 +1,22 @@
+package com.leserviteurs.backend_rest_grapql.graphql.connection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Type GraphQL PageInfo (spécification Relay)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageInfo {
+
+    private boolean hasNextPage;
+
+    private boolean hasPreviousPage;
+
+    private String startCursor;
+
+    private String endCursor;
+}
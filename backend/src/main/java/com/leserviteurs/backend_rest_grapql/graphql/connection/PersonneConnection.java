@@ -0,0 +1,20 @@
+package com.leserviteurs.backend_rest_grapql.graphql.connection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Type GraphQL PersonneConnection (spécification Relay "Cursor Connections")
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonneConnection {
+
+    private List<PersonneEdge> edges;
+
+    private PageInfo pageInfo;
+}
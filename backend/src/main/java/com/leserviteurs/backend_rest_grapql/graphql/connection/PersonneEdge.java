@@ -0,0 +1,20 @@
+package com.leserviteurs.backend_rest_grapql.graphql.connection;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Type GraphQL PersonneEdge : un noeud et son curseur
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonneEdge {
+
+    private PersonneDTO node;
+
+    private String cursor;
+}
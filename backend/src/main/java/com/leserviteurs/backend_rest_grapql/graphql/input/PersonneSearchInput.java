@@ -1,5 +1,18 @@
 package com.leserviteurs.backend_rest_grapql.graphql.input;
 
+import lombok.*;
+
+/**
+ * Input GraphQL "PersonneFilter" : filtres optionnels de la query personnes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class PersonneSearchInput {
 
+    private String nom;
+
+    private String prenom;
+
+    private String telephone;
 }
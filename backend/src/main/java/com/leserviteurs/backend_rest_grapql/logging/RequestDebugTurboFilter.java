@@ -0,0 +1,80 @@
+package com.leserviteurs.backend_rest_grapql.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logs de débogage d'une seule requête, à la demande (en-tête X-Debug-Log, voir RequestLogFilter).
+ *
+ * Pendant une requête marquée (clé MDC debugLog), tous les niveaux sont acceptés pour les loggers
+ * listés dans logback-spring.xml (SQL Hibernate, GraphQL, application), quel que soit leur niveau
+ * configuré. Les autres requêtes ne sont pas concernées.
+ *
+ * Appelé à chaque log et à chaque isDebugEnabled() : tant qu'aucune requête marquée n'est
+ * en cours, il répond sans lire le MDC.
+ */
+public class RequestDebugTurboFilter extends TurboFilter {
+
+    public static final String MDC_KEY = "debugLog";
+
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    private String[] loggers = new String[0];
+
+    /**
+     * Marque la requête en cours sur ce thread.
+     * À fermer par detach() quand le thread la quitte, puis par end() quand la réponse est terminée
+     * (après le premier dispatch, ou à la fin d'une réponse asynchrone)
+     */
+    public static void begin() {
+        ACTIVE.incrementAndGet();
+        MDC.put(MDC_KEY, "true");
+    }
+
+    /**
+     * Le thread courant ne traite plus la requête marquée
+     */
+    public static void detach() {
+        MDC.remove(MDC_KEY);
+    }
+
+    /**
+     * La requête marquée est terminée : plus besoin de lire le MDC pour elle
+     */
+    public static void end() {
+        ACTIVE.decrementAndGet();
+    }
+
+    /**
+     * Préfixes des loggers concernés, séparés par des virgules (configuré dans logback-spring.xml)
+     */
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        if (ACTIVE.get() == 0 || MDC.get(MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
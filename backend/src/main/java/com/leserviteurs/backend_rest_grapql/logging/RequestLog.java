@@ -0,0 +1,93 @@
+package com.leserviteurs.backend_rest_grapql.logging;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonnePageDTO;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Résumé d'une requête API, complété pendant son traitement puis écrit en une seule ligne
+ * par RequestLogFilter : opérations du service appelées, lignes renvoyées, échecs.
+ *
+ * Attaché à la requête HTTP (attribut ATTRIBUTE) ; les data fetchers GraphQL peuvent
+ * le compléter depuis un autre thread, d'où les méthodes synchronisées.
+ */
+public class RequestLog {
+
+    public static final String ATTRIBUTE = RequestLog.class.getName();
+
+    private final Set<String> operations = new LinkedHashSet<>();
+    private String graphQlOperation;
+    private long rows;
+    private String error;
+
+    /**
+     * Résumé de la requête HTTP en cours sur ce thread (null hors requête API)
+     */
+    public static RequestLog current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (RequestLog) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Opération du service terminée : son nom et le nombre de personnes renvoyées
+     */
+    public synchronized void operation(String operation, Object result) {
+        operations.add(operation);
+        rows += rows(result);
+    }
+
+    /**
+     * Opération (ou document GraphQL) en échec : seule la première erreur est gardée
+     */
+    public synchronized void failed(String operation, String error) {
+        if (operation != null) {
+            operations.add(operation);
+        }
+        if (this.error == null) {
+            this.error = error;
+        }
+    }
+
+    public synchronized void graphQlOperation(String graphQlOperation) {
+        this.graphQlOperation = graphQlOperation;
+    }
+
+    public synchronized String getGraphQlOperation() {
+        return graphQlOperation;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    public synchronized String getError() {
+        return error;
+    }
+
+    synchronized String operationsAsString() {
+        return operations.isEmpty() ? "-" : String.join(",", operations);
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof PersonnePageDTO page) {
+            return page.getContent() == null ? 0 : page.getContent().size();
+        }
+        return result instanceof PersonneDTO ? 1 : 0;
+    }
+}
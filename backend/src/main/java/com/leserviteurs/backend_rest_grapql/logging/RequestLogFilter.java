@@ -0,0 +1,160 @@
+package com.leserviteurs.backend_rest_grapql.logging;
+
+import com.leserviteurs.backend_rest_grapql.metrics.RequestSqlMetricsFilter;
+import com.leserviteurs.backend_rest_grapql.metrics.Transport;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Journal des requêtes API : une ligne par requête REST ou GraphQL, au lieu de plusieurs
+ * lignes INFO par couche (contrôleur, service).
+ *
+ * transport=rest method=PUT endpoint=/api/personnes/{id} operations=update status=200 outcome=ok
+ * duration_ms=4 rows=1 sql=3
+ *
+ * - sample-rate : part des requêtes réussies journalisées (1 = toutes) ; les requêtes en échec
+ *   et celles plus lentes que slow-threshold le sont toujours
+ * - debug-token : une requête portant l'en-tête X-Debug-Log avec cette valeur active les logs
+ *   de débogage (SQL, GraphQL, application) pour elle seule, voir RequestDebugTurboFilter.
+ *   Vide : désactivé.
+ */
+@Component
+@ConditionalOnProperty(name = "app.request-log.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String DEBUG_HEADER = "X-Debug-Log";
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final String debugToken;
+
+    public RequestLogFilter(
+            @Value("${app.request-log.sample-rate:1}") double sampleRate,
+            @Value("${app.request-log.slow-threshold:1s}") Duration slowThreshold,
+            @Value("${app.request-log.debug-token:}") String debugToken) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.debugToken = debugToken;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return Transport.of(request) == Transport.INTERNAL;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestLog requestLog = new RequestLog();
+        request.setAttribute(RequestLog.ATTRIBUTE, requestLog);
+
+        boolean debug = !debugToken.isEmpty() && debugToken.equals(request.getHeader(DEBUG_HEADER));
+        if (debug) {
+            RequestDebugTurboFilter.begin();
+        }
+        boolean thrown = true;
+        try {
+            chain.doFilter(request, response);
+            thrown = false;
+        } finally {
+            if (debug) {
+                RequestDebugTurboFilter.detach();
+            }
+            if (!thrown && request.isAsyncStarted()) {
+                // Réponse GraphQL ou export en flux : la ligne est écrite (et le marquage debug levé)
+                // à la fin de la réponse
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        if (debug) {
+                            RequestDebugTurboFilter.end();
+                        }
+                        write(request, response, requestLog, start, false, debug);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    // Nouveau cycle asynchrone pendant un redispatch : les écouteurs doivent se réinscrire
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                if (debug) {
+                    RequestDebugTurboFilter.end();
+                }
+                write(request, response, requestLog, start, thrown, debug);
+            }
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, RequestLog requestLog,
+            long start, boolean thrown, boolean debug) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        int status = thrown ? 500 : response.getStatus();
+        String outcome = status >= 500 ? "error"
+                : status >= 400 || requestLog.getError() != null ? "failed"
+                : "ok";
+
+        boolean sampled = debug
+                || !outcome.equals("ok")
+                || duration >= slowThresholdNanos
+                || sampleRate >= 1
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled) {
+            return;
+        }
+
+        Object endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object sql = request.getAttribute(RequestSqlMetricsFilter.SQL_STATEMENTS);
+
+        StringBuilder line = new StringBuilder(160)
+                .append("transport=").append(Transport.of(request).tagValue())
+                .append(" method=").append(request.getMethod())
+                .append(" endpoint=").append(endpoint != null ? endpoint : request.getRequestURI());
+        if (requestLog.getGraphQlOperation() != null) {
+            line.append(" graphql=").append(requestLog.getGraphQlOperation());
+        }
+        line.append(" operations=").append(requestLog.operationsAsString())
+                .append(" status=").append(status)
+                .append(" outcome=").append(outcome)
+                .append(" duration_ms=").append(duration / 1_000_000)
+                .append(" rows=").append(requestLog.getRows())
+                .append(" sql=").append(sql != null ? sql : "-");
+        if (requestLog.getError() != null) {
+            line.append(" error=").append(requestLog.getError());
+        }
+        log.info(line.toString());
+    }
+}
@@ -0,0 +1,32 @@
+package com.leserviteurs.backend_rest_grapql.logging;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Complète le journal d'une requête GraphQL : nom de l'opération du document et première erreur.
+ * Une erreur GraphQL est renvoyée avec le statut 200, elle ne se voit pas dans le statut HTTP.
+ */
+@Component
+public class RequestLogGraphQlInterceptor implements WebGraphQlInterceptor {
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        RequestLog requestLog = RequestLog.current();
+        if (requestLog == null) {
+            return chain.next(request);
+        }
+        if (request.getOperationName() != null) {
+            requestLog.graphQlOperation(request.getOperationName());
+        }
+        return chain.next(request).doOnNext(response -> {
+            if (!response.getErrors().isEmpty()) {
+                requestLog.failed(null, String.valueOf(response.getErrors().get(0).getErrorType()));
+            }
+        });
+    }
+}
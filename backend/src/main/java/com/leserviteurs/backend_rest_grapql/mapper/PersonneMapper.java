@@ -4,6 +4,8 @@ import org.springframework.stereotype.Component;
 
 import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
 import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+import com.leserviteurs.backend_rest_grapql.validation.ValidationUtils;
 
 @Component
 public class PersonneMapper {
@@ -20,6 +22,7 @@ public class PersonneMapper {
                 .dateNaissance(personne.getDateNaissance())
                 .adresse(personne.getAdresse())
                 .telephone(personne.getTelephone())
+                .version(personne.getVersion())
                 .build();
     }
     
@@ -35,6 +38,9 @@ public class PersonneMapper {
                 .dateNaissance(dto.getDateNaissance())
                 .adresse(dto.getAdresse())
                 .telephone(dto.getTelephone())
+                .telephoneNormalized(ValidationUtils.normalizeTelephone(dto.getTelephone()))
+                .nomPhonetic(PhoneticKey.of(dto.getNom()))
+                .prenomPhonetic(PhoneticKey.of(dto.getPrenom()))
                 .build();
     }
     
@@ -45,5 +51,8 @@ public class PersonneMapper {
         personne.setDateNaissance(dto.getDateNaissance());
         personne.setAdresse(dto.getAdresse());
         personne.setTelephone(dto.getTelephone());
+        personne.setTelephoneNormalized(ValidationUtils.normalizeTelephone(dto.getTelephone()));
+        personne.setNomPhonetic(PhoneticKey.of(dto.getNom()));
+        personne.setPrenomPhonetic(PhoneticKey.of(dto.getPrenom()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.leserviteurs.backend_rest_grapql.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métriques exposées sur /actuator/prometheus :
+ *
+ * - personne.operation : durée de chaque opération du service, par transport (PersonneServiceObservation)
+ * - personne.search.results : taille des résultats de recherche
+ * - personne.request.sql.statements : requêtes SQL par requête API (RequestSqlMetricsFilter)
+ * - hibernate.* : statistiques Hibernate (requêtes, entités, transactions)
+ * - hikaricp.connections.acquire : attente d'une connexion du pool
+ * - http.server.requests, graphql.request, graphql.datafetcher : fournies par Spring Boot
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
@@ -0,0 +1,86 @@
+package com.leserviteurs.backend_rest_grapql.metrics;
+
+import com.leserviteurs.backend_rest_grapql.logging.RequestLog;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Observation de chaque opération de PersonneService (create, update, delete, findById, search...).
+ *
+ * - timer personne.operation (tags operation, transport, error), avec histogramme pour les percentiles
+ * - span du même nom si un traceur est configuré (Micrometer Tracing)
+ * - personne.search.results : nombre de personnes renvoyées par search
+ * - opération et nombre de lignes ajoutés au journal de la requête (RequestLog)
+ *
+ * Placée avant le cache et la transaction (ordre le plus prioritaire) : un accès servi
+ * par le cache est mesuré comme les autres.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PersonneServiceObservation {
+
+    public static final String OPERATION = "personne.operation";
+    public static final String SEARCH_RESULTS = "personne.search.results";
+
+    private final ObservationRegistry observationRegistry;
+
+    // Un résumé par transport, enregistré une fois
+    private final Map<Transport, DistributionSummary> searchResults = new EnumMap<>(Transport.class);
+
+    public PersonneServiceObservation(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        for (Transport transport : Transport.values()) {
+            searchResults.put(transport, DistributionSummary.builder(SEARCH_RESULTS)
+                    .description("Nombre de personnes renvoyées par une recherche")
+                    .baseUnit("personnes")
+                    .tag(Transport.TAG, transport.tagValue())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Around("execution(public * com.leserviteurs.backend_rest_grapql.service.PersonneService+.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        Transport transport = Transport.current();
+        RequestLog requestLog = RequestLog.current();
+
+        Observation observation = Observation.createNotStarted(OPERATION, observationRegistry)
+                .contextualName("personne " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue(Transport.TAG, transport.tagValue())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = joinPoint.proceed();
+            if ("search".equals(operation) && result instanceof List<?> personnes) {
+                searchResults.get(transport).record(personnes.size());
+            }
+            if (requestLog != null) {
+                requestLog.operation(operation, result);
+            }
+            return result;
+        } catch (Throwable ex) {
+            observation.error(ex);
+            if (requestLog != null) {
+                requestLog.failed(operation, ex.getClass().getSimpleName());
+            }
+            throw ex;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.leserviteurs.backend_rest_grapql.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Nombre de requêtes SQL exécutées par requête API : personne.request.sql.statements (tag transport).
+ * Un N+1 ou un cache inefficace se voit directement dans la distribution.
+ * Le nombre est aussi laissé en attribut SQL_STATEMENTS de la requête (journal des requêtes).
+ *
+ * Les requêtes exécutées sur d'autres threads (data fetchers GraphQL, export en flux) sont comptées
+ * aussi (voir SqlStatementCounter) ; pour une réponse asynchrone, le nombre est relevé à la fin de la réponse.
+ */
+@Component
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String SQL_STATEMENTS = "personne.request.sql.statements";
+
+    private final DistributionSummary rest;
+    private final DistributionSummary graphQl;
+
+    public RequestSqlMetricsFilter(MeterRegistry meterRegistry) {
+        this.rest = summary(meterRegistry, Transport.REST);
+        this.graphQl = summary(meterRegistry, Transport.GRAPHQL);
+    }
+
+    private static DistributionSummary summary(MeterRegistry meterRegistry, Transport transport) {
+        return DistributionSummary.builder(SQL_STATEMENTS)
+                .description("Requêtes SQL exécutées par requête API")
+                .baseUnit("statements")
+                .tag(Transport.TAG, transport.tagValue())
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return Transport.of(request) == Transport.INTERNAL;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start(request);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    // Nouveau cycle asynchrone pendant un redispatch : les écouteurs doivent se réinscrire
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                record(request);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request) {
+        int statements = SqlStatementCounter.count(request);
+        request.setAttribute(SQL_STATEMENTS, statements);
+        (Transport.of(request) == Transport.GRAPHQL ? graphQl : rest).record(statements);
+    }
+}
@@ -0,0 +1,45 @@
+package com.leserviteurs.backend_rest_grapql.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate pour une requête HTTP, entre start() et count()
+ * (voir RequestSqlMetricsFilter).
+ *
+ * Le compteur est un attribut de la requête, retrouvée par RequestContextHolder : les requêtes SQL
+ * exécutées sur un autre thread (data fetchers GraphQL, threads virtuels, export en flux) sont comptées
+ * tant que la requête HTTP y est propagée (ContextPropagationConfig).
+ * Hors d'une requête HTTP, rien n'est compté.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final String ATTRIBUTE = SqlStatementCounter.class.getName();
+
+    public static void start(HttpServletRequest request) {
+        request.setAttribute(ATTRIBUTE, new AtomicInteger());
+    }
+
+    /**
+     * @return le nombre de requêtes SQL depuis start()
+     */
+    public static int count(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof AtomicInteger count ? count.get() : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes
+                && servletAttributes.getRequest().getAttribute(ATTRIBUTE) instanceof AtomicInteger count) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+}
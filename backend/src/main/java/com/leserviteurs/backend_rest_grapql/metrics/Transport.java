@@ -0,0 +1,47 @@
+package com.leserviteurs.backend_rest_grapql.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Locale;
+
+/**
+ * Point d'entrée d'une opération, utilisé comme tag des métriques :
+ * REST (/api/...), GraphQL (/graphql) ou INTERNAL (hors requête HTTP : démarrage, benchmarks...)
+ */
+public enum Transport {
+
+    REST,
+    GRAPHQL,
+    INTERNAL;
+
+    public static final String TAG = "transport";
+
+    private final String tagValue = name().toLowerCase(Locale.ROOT);
+
+    public String tagValue() {
+        return tagValue;
+    }
+
+    /**
+     * Transport de la requête HTTP en cours sur ce thread
+     */
+    public static Transport current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return of(servletAttributes.getRequest());
+        }
+        return INTERNAL;
+    }
+
+    public static Transport of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/graphql")) {
+            return GRAPHQL;
+        }
+        return path.startsWith("/api/") ? REST : INTERNAL;
+    }
+}
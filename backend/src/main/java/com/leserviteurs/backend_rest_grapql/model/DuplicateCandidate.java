@@ -0,0 +1,42 @@
+package com.leserviteurs.backend_rest_grapql.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Paire de personnes probablement en double, trouvée par DuplicateDetectionService.
+ *
+ * La table est vidée au début de chaque analyse puis remplie au fil des blocs : pendant une analyse
+ * (état RUNNING), elle ne contient que les paires déjà trouvées. Elle est aussi vidée avec la table personne :
+ * pas de clé étrangère, une personne supprimée depuis l'analyse est simplement introuvable.
+ */
+@Entity
+@Table(name = "duplicate_candidates", indexes = {
+        // Lecture des paires les plus probables d'abord
+        @Index(name = "idx_duplicate_candidates_score", columnList = "score, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateCandidate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plus petit des deux ids
+    @Column(name = "personne_id", nullable = false)
+    private Long personneId;
+
+    @Column(name = "duplicate_id", nullable = false)
+    private Long duplicateId;
+
+    // Similarité entre 0 et 1
+    @Column(nullable = false)
+    private double score;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DuplicateReason reason;
+}
@@ -0,0 +1,13 @@
+package com.leserviteurs.backend_rest_grapql.model;
+
+/**
+ * Bloc dans lequel deux personnes ont été comparées par DuplicateDetectionService
+ */
+public enum DuplicateReason {
+
+    // Même clé phonétique du nom et du prénom, même année de naissance
+    NOM_NAISSANCE,
+
+    // Même numéro hors indicatif d'opérateur (77 123 45 67 / 78 123 45 67)
+    TELEPHONE
+}
@@ -3,18 +3,39 @@ package com.leserviteurs.backend_rest_grapql.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "personne")
+@Table(name = "personne", indexes = {
+        // Index de la pagination keyset triée par nom/prénom
+        @Index(name = "idx_personne_nom_prenom_id", columnList = "nom, prenom, id"),
+        // Index de la recherche fuzzy (clé phonétique du nom, seule ou avec le prénom, puis du prénom seul)
+        @Index(name = "idx_personne_nom_phonetic", columnList = "nom_phonetic, prenom_phonetic"),
+        @Index(name = "idx_personne_prenom_phonetic", columnList = "prenom_phonetic")
+}, uniqueConstraints = {
+        // Unicité du téléphone garantie par la base (dernier rempart contre les créations concurrentes)
+        @UniqueConstraint(name = Personne.UK_TELEPHONE_NORMALIZED, columnNames = "telephone_normalized")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Personne {
+
+    public static final String UK_TELEPHONE_NORMALIZED = "uk_personne_telephone_normalized";
+
+    // Ids réservés par blocs de 50 (optimiseur pooled) : un seul appel à la séquence
+    // pour 50 insertions, et Hibernate peut regrouper les INSERT en lots JDBC
+    public static final String SEQUENCE = "personne_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE)
+    @SequenceGenerator(name = SEQUENCE, sequenceName = SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank(message = "Le nom est obligatoire")
@@ -38,4 +59,23 @@ public class Personne {
     @Size(max = 20, message = "Le téléphone ne doit pas dépasser 20 caractères")
     @Column(length = 20)
     private String telephone;
+
+    // Téléphone sans espaces ni séparateurs (ex: "771234567"), renseigné par PersonneMapper
+    @Column(name = "telephone_normalized", length = 20)
+    private String telephoneNormalized;
+
+    // Clés phonétiques (PhoneticKey) du nom et du prénom, renseignées par PersonneMapper
+    // et par les UPDATE de PersonneUpdateRepositoryImpl
+    @Column(name = "nom_phonetic", length = PhoneticKey.MAX_LENGTH)
+    private String nomPhonetic;
+
+    @Column(name = "prenom_phonetic", length = PhoneticKey.MAX_LENGTH)
+    private String prenomPhonetic;
+
+    // Incrémentée à chaque modification (UPDATE ... WHERE version = ?) : ETag de la personne
+    // et contrôle de concurrence optimiste. 0 pour les lignes existant avant la colonne.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.leserviteurs.backend_rest_grapql.model.DuplicateCandidate;
+
+import java.util.List;
+
+@Repository
+public interface DuplicateCandidateRepository extends JpaRepository<DuplicateCandidate, Long> {
+
+        /**
+         * Paires de score au moins minScore, les plus probables d'abord
+         * (index idx_duplicate_candidates_score)
+         */
+        @Query("SELECT d FROM DuplicateCandidate d WHERE d.score >= :minScore ORDER BY d.score DESC, d.id ASC")
+        List<DuplicateCandidate> findByMinScore(@Param("minScore") double minScore, Pageable limit);
+
+        // Comme PersonneRepository.truncate : validé implicitement, sans rollback possible
+        @Modifying(clearAutomatically = true)
+        @Transactional
+        @Query(value = "TRUNCATE TABLE duplicate_candidates", nativeQuery = true)
+        void truncate();
+}
@@ -0,0 +1,83 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Champs d'une personne pouvant être lus séparément (projection).
+ * Le nom est à la fois celui de l'attribut de l'entité Personne et celui du champ GraphQL.
+ */
+public enum PersonneField {
+
+    ID("id", PersonneDTO::getId, (dto, value) -> dto.setId((Long) value)),
+    NOM("nom", PersonneDTO::getNom, (dto, value) -> dto.setNom((String) value)),
+    PRENOM("prenom", PersonneDTO::getPrenom, (dto, value) -> dto.setPrenom((String) value)),
+    DATE_NAISSANCE("dateNaissance", PersonneDTO::getDateNaissance,
+            (dto, value) -> dto.setDateNaissance((LocalDate) value)),
+    ADRESSE("adresse", PersonneDTO::getAdresse, (dto, value) -> dto.setAdresse((String) value)),
+    TELEPHONE("telephone", PersonneDTO::getTelephone, (dto, value) -> dto.setTelephone((String) value)),
+    // Pas de champ GraphQL : lu seulement avec ALL (cache des personnes, ETag REST)
+    VERSION("version", PersonneDTO::getVersion, (dto, value) -> dto.setVersion((Long) value));
+
+    /**
+     * Tous les champs : résultat identique à la lecture de l'entité complète
+     */
+    public static final Set<PersonneField> ALL = Collections.unmodifiableSet(EnumSet.allOf(PersonneField.class));
+
+    /**
+     * Champs modifiables par PUT et PATCH (l'id et la version sont gérés par le serveur)
+     */
+    public static final Set<PersonneField> EDITABLE = Collections.unmodifiableSet(
+            EnumSet.of(NOM, PRENOM, DATE_NAISSANCE, ADRESSE, TELEPHONE));
+
+    private static final Map<String, PersonneField> BY_NAME = new HashMap<>();
+
+    static {
+        for (PersonneField field : values()) {
+            BY_NAME.put(field.attribute, field);
+        }
+    }
+
+    private final String attribute;
+    private final Function<PersonneDTO, Object> getter;
+    private final BiConsumer<PersonneDTO, Object> setter;
+
+    PersonneField(String attribute, Function<PersonneDTO, Object> getter, BiConsumer<PersonneDTO, Object> setter) {
+        this.attribute = attribute;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Valeur du champ dans le DTO (valeur à écrire en base)
+     */
+    public Object get(PersonneDTO personneDTO) {
+        return getter.apply(personneDTO);
+    }
+
+    /**
+     * Reporter la valeur lue en base dans le DTO
+     */
+    public void set(PersonneDTO personneDTO, Object value) {
+        setter.accept(personneDTO, value);
+    }
+
+    /**
+     * @return le champ portant ce nom, ou null (ex: __typename)
+     */
+    public static PersonneField fromName(String name) {
+        return BY_NAME.get(name);
+    }
+}
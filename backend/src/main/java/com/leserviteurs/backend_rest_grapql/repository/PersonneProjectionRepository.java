@@ -0,0 +1,56 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lectures limitées aux colonnes demandées (sélection GraphQL).
+ * Les lignes sont lues comme des tuples et copiées directement dans des PersonneDTO :
+ * aucune entité chargée dans le contexte de persistance, donc ni copie
+ * pour le dirty checking ni flush à la fin de la transaction.
+ * Les champs non demandés restent null dans les DTO.
+ *
+ * Fragment de PersonneRepository, implémenté par PersonneProjectionRepositoryImpl.
+ */
+public interface PersonneProjectionRepository {
+
+    List<PersonneDTO> findAllProjected(Set<PersonneField> fields);
+
+    // Les limit premières personnes, triées par id
+    List<PersonneDTO> findAllProjected(Set<PersonneField> fields, int limit);
+
+    // Personnes dont l'id est dans la liste, triées par id
+    List<PersonneDTO> findAllByIdProjected(Collection<Long> ids, Set<PersonneField> fields);
+
+    // Recherche combinée (filtres optionnels PersonneRepository.SEARCH_FILTER), triée par id
+    List<PersonneDTO> searchProjected(String nom, String prenom, String telephone, Set<PersonneField> fields);
+
+    // Les limit premières personnes de la recherche combinée, triées par id
+    List<PersonneDTO> searchProjected(String nom, String prenom, String telephone, int limit,
+            Set<PersonneField> fields);
+
+    /**
+     * Recherche fuzzy : clés phonétiques commençant par celles données (null : pas de filtre),
+     * par les index idx_personne_nom_phonetic / idx_personne_prenom_phonetic ; au plus limit lignes,
+     * clés exactes d'abord, puis par id
+     */
+    List<PersonneDTO> searchPhoneticProjected(String nomPhonetic, String prenomPhonetic, String telephone,
+            int limit, Set<PersonneField> fields);
+
+    /**
+     * Pagination keyset triée par id : la page reprend après le dernier id lu
+     * (WHERE id > :afterId) au lieu de sauter N lignes avec OFFSET,
+     * donc une page profonde coûte autant que la première.
+     */
+    List<PersonneDTO> findPageOrderByIdProjected(String nom, String prenom, String telephone,
+            long afterId, int limit, Set<PersonneField> fields);
+
+    /**
+     * Pagination keyset triée par (nom, prenom, id), servie par l'index idx_personne_nom_prenom_id
+     */
+    List<PersonneDTO> findPageOrderByNomPrenomProjected(String nom, String prenom, String telephone,
+            String afterNom, String afterPrenom, long afterId, int limit, Set<PersonneField> fields);
+}
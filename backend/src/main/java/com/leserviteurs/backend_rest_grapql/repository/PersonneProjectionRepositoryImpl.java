@@ -0,0 +1,176 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Requêtes JPQL construites à partir des champs demandés : SELECT p.id, p.nom ... au lieu de SELECT p.
+ * Les colonnes sont toujours listées dans l'ordre de PersonneField : au plus 128 combinaisons
+ * par requête, dont le plan est gardé en cache par Hibernate.
+ */
+public class PersonneProjectionRepositoryImpl implements PersonneProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PersonneDTO> findAllProjected(Set<PersonneField> fields) {
+        return list(query(fields, "", null), fields);
+    }
+
+    @Override
+    public List<PersonneDTO> findAllProjected(Set<PersonneField> fields, int limit) {
+        return list(query(fields, "ORDER BY p.id ASC", limit), fields);
+    }
+
+    @Override
+    public List<PersonneDTO> findAllByIdProjected(Collection<Long> ids, Set<PersonneField> fields) {
+        TypedQuery<Tuple> query = query(fields, "WHERE p.id IN :ids ORDER BY p.id ASC", null);
+        query.setParameter("ids", ids);
+        return list(query, fields);
+    }
+
+    @Override
+    public List<PersonneDTO> searchProjected(String nom, String prenom, String telephone,
+            Set<PersonneField> fields) {
+        return search(nom, prenom, telephone, null, fields);
+    }
+
+    @Override
+    public List<PersonneDTO> searchProjected(String nom, String prenom, String telephone, int limit,
+            Set<PersonneField> fields) {
+        return search(nom, prenom, telephone, limit, fields);
+    }
+
+    private List<PersonneDTO> search(String nom, String prenom, String telephone, Integer limit,
+            Set<PersonneField> fields) {
+        TypedQuery<Tuple> query = query(fields,
+                "WHERE " + PersonneRepository.SEARCH_FILTER + " ORDER BY p.id ASC", limit);
+        setFilters(query, nom, prenom, telephone);
+        return list(query, fields);
+    }
+
+    /**
+     * Seuls les filtres donnés figurent dans la requête : LIKE 'CLE%' reste une lecture d'intervalle
+     * de l'index (les clés ne contiennent que des lettres et des espaces).
+     * Clés exactes d'abord, puis par id : au-delà de limit, ce sont les préfixes plus longs
+     * ("SIS" trouve aussi "SISOKO") qui sont écartés, et toujours les mêmes.
+     */
+    @Override
+    public List<PersonneDTO> searchPhoneticProjected(String nomPhonetic, String prenomPhonetic, String telephone,
+            int limit, Set<PersonneField> fields) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1");
+        if (nomPhonetic != null) {
+            where.append(" AND p.nomPhonetic LIKE :nomPhonetic");
+        }
+        if (prenomPhonetic != null) {
+            where.append(" AND p.prenomPhonetic LIKE :prenomPhonetic");
+        }
+        if (telephone != null) {
+            where.append(" AND p.telephoneNormalized LIKE CONCAT('%', :telephone, '%')");
+        }
+
+        where.append(" ORDER BY ");
+        if (nomPhonetic != null) {
+            where.append("CASE WHEN p.nomPhonetic = :nomExact THEN 0 ELSE 1 END");
+        }
+        if (prenomPhonetic != null) {
+            where.append(nomPhonetic != null ? " + " : "")
+                    .append("CASE WHEN p.prenomPhonetic = :prenomExact THEN 0 ELSE 1 END");
+        }
+        where.append(", p.id ASC");
+
+        TypedQuery<Tuple> query = query(fields, where.toString(), limit);
+        if (nomPhonetic != null) {
+            query.setParameter("nomPhonetic", nomPhonetic + '%');
+            query.setParameter("nomExact", nomPhonetic);
+        }
+        if (prenomPhonetic != null) {
+            query.setParameter("prenomPhonetic", prenomPhonetic + '%');
+            query.setParameter("prenomExact", prenomPhonetic);
+        }
+        if (telephone != null) {
+            query.setParameter("telephone", telephone);
+        }
+        return list(query, fields);
+    }
+
+    @Override
+    public List<PersonneDTO> findPageOrderByIdProjected(String nom, String prenom, String telephone,
+            long afterId, int limit, Set<PersonneField> fields) {
+        TypedQuery<Tuple> query = query(fields,
+                "WHERE " + PersonneRepository.SEARCH_FILTER + " AND p.id > :afterId ORDER BY p.id ASC", limit);
+        setFilters(query, nom, prenom, telephone);
+        query.setParameter("afterId", afterId);
+        return list(query, fields);
+    }
+
+    @Override
+    public List<PersonneDTO> findPageOrderByNomPrenomProjected(String nom, String prenom, String telephone,
+            String afterNom, String afterPrenom, long afterId, int limit, Set<PersonneField> fields) {
+        TypedQuery<Tuple> query = query(fields, "WHERE " + PersonneRepository.SEARCH_FILTER
+                + " AND (p.nom > :afterNom OR (p.nom = :afterNom AND (p.prenom > :afterPrenom "
+                + "OR (p.prenom = :afterPrenom AND p.id > :afterId)))) "
+                + "ORDER BY p.nom ASC, p.prenom ASC, p.id ASC", limit);
+        setFilters(query, nom, prenom, telephone);
+        query.setParameter("afterNom", afterNom);
+        query.setParameter("afterPrenom", afterPrenom);
+        query.setParameter("afterId", afterId);
+        return list(query, fields);
+    }
+
+    private TypedQuery<Tuple> query(Set<PersonneField> fields, String clauses, Integer limit) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("Aucun champ de personne demandé");
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (PersonneField field : PersonneField.values()) {
+            if (fields.contains(field)) {
+                jpql.append("p.").append(field.getAttribute()).append(", ");
+            }
+        }
+        jpql.setLength(jpql.length() - 2);
+        jpql.append(" FROM Personne p ").append(clauses);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query;
+    }
+
+    private static void setFilters(TypedQuery<Tuple> query, String nom, String prenom, String telephone) {
+        query.setParameter("nom", nom);
+        query.setParameter("prenom", prenom);
+        query.setParameter("telephone", telephone);
+    }
+
+    private static List<PersonneDTO> list(TypedQuery<Tuple> query, Set<PersonneField> fields) {
+        List<Tuple> tuples = query.getResultList();
+        List<PersonneDTO> personnes = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            PersonneDTO personne = new PersonneDTO();
+            int column = 0;
+            for (PersonneField field : PersonneField.values()) {
+                if (fields.contains(field)) {
+                    field.set(personne, tuple.get(column++));
+                }
+            }
+            personnes.add(personne);
+        }
+        return personnes;
+    }
+}
@@ -1,20 +1,33 @@
 package com.leserviteurs.backend_rest_grapql.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.leserviteurs.backend_rest_grapql.model.Personne;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.QueryHint;
 
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PersonneRepository extends JpaRepository<Personne, Long> {
+public interface PersonneRepository extends JpaRepository<Personne, Long>, PersonneProjectionRepository,
+        PersonneUpdateRepository {
+
+        // Filtres optionnels communs à la recherche et à la pagination (voir PersonneProjectionRepository)
+        // (:telephone est comparé à la colonne normalisée : chiffres uniquement)
+        String SEARCH_FILTER = "(:nom IS NULL OR LOWER(p.nom) LIKE LOWER(CONCAT('%', :nom, '%'))) AND " +
+                        "(:prenom IS NULL OR LOWER(p.prenom) LIKE LOWER(CONCAT('%', :prenom, '%'))) AND " +
+                        "(:telephone IS NULL OR p.telephoneNormalized LIKE CONCAT('%', :telephone, '%'))";
 
         // Méthodes de recherche pour GraphQL
         List<Personne> findByNomContainingIgnoreCase(String nom);
@@ -23,26 +36,69 @@ public interface PersonneRepository extends JpaRepository<Personne, Long> {
 
         List<Personne> findByTelephoneContaining(String telephone);
 
-        // Recherche combinée (optionnelle mais utile)
-        @Query("SELECT p FROM Personne p WHERE " +
-                        "(:nom IS NULL OR LOWER(p.nom) LIKE LOWER(CONCAT('%', :nom, '%'))) AND " +
-                        "(:prenom IS NULL OR LOWER(p.prenom) LIKE LOWER(CONCAT('%', :prenom, '%'))) AND " +
-                        "(:telephone IS NULL OR p.telephone LIKE CONCAT('%', :telephone, '%'))")
-        List<Personne> searchPersonnes(
-                        @Param("nom") String nom,
-                        @Param("prenom") String prenom,
-                        @Param("telephone") String telephone);
+        /**
+         * Parcours de toute la table pour l'export, ligne par ligne.
+         * Le fetch size fait lire le résultat par paquets de 1000 lignes au lieu de le charger
+         * en entier, et les entités sont en lecture seule (pas de copie pour le dirty checking).
+         * À consommer dans une transaction et à fermer (try-with-resources).
+         */
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+                        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+        })
+        @Query("SELECT p FROM Personne p ORDER BY p.id ASC")
+        Stream<Personne> streamAll();
 
         /**
-         * Chercher une personne par téléphone exact (avec formatage)
-         * Ex: "77 123 45 67" ou "77 123 45 67"
+         * Lecture par lots (keyset sur id) des colonnes indexées en mémoire
          */
-        @Query("SELECT p FROM Personne p WHERE REPLACE(p.telephone, ' ', '') = :telephoneCleaned")
-        Optional<Personne> findByTelephoneCleaned(@Param("telephoneCleaned") String telephoneCleaned);
+        @Query("SELECT p.id AS id, p.nom AS nom, p.prenom AS prenom, p.telephone AS telephone, " +
+                        "p.telephoneNormalized AS telephoneNormalized " +
+                        "FROM Personne p WHERE p.id > :afterId ORDER BY p.id ASC")
+        List<PersonneSearchRow> findSearchRowsAfter(@Param("afterId") long afterId, Pageable limit);
 
+        /**
+         * Lecture par lots (keyset sur id) des lignes sans clés phonétiques (créées avant les colonnes)
+         */
+        @Query("SELECT p.id AS id, p.nom AS nom, p.prenom AS prenom, " +
+                        "p.telephoneNormalized AS telephoneNormalized " +
+                        "FROM Personne p WHERE p.id > :afterId AND p.nomPhonetic IS NULL ORDER BY p.id ASC")
+        List<PersonneSearchRow> findRowsWithoutPhoneticKeysAfter(@Param("afterId") long afterId, Pageable limit);
+
+        /**
+         * Vérifier l'unicité d'un téléphone normalisé (ex: "771234567")
+         * Simple sonde sur l'index unique uk_personne_telephone_normalized
+         */
+        boolean existsByTelephoneNormalized(String telephoneNormalized);
+
+        /**
+         * Parmi les téléphones normalisés donnés, ceux déjà présents en base.
+         * Une seule requête IN (...) pour tout un lot de l'import en masse.
+         */
+        @Query("SELECT p.telephoneNormalized FROM Personne p WHERE p.telephoneNormalized IN :telephones")
+        List<String> findExistingTelephonesNormalized(@Param("telephones") Collection<String> telephones);
+
+        /**
+         * Remplir telephone_normalized pour les lignes créées avant l'ajout de la colonne
+         * @return le nombre de lignes mises à jour
+         */
         @Modifying
         @Transactional
-        @Query(value = "ALTER TABLE personne AUTO_INCREMENT = 1", nativeQuery = true)
-        void resetAutoIncrement();
+        @Query(value = "UPDATE personne SET telephone_normalized = REGEXP_REPLACE(telephone, '[^0-9]', '') " +
+                        "WHERE telephone_normalized IS NULL AND telephone IS NOT NULL AND telephone <> ''",
+                        nativeQuery = true)
+        int backfillTelephoneNormalized();
+
+        /**
+         * Vider la table en une instruction, sans charger les entités
+         * (deleteAll les lit toutes puis les supprime une par une).
+         * TRUNCATE est une instruction DDL : MariaDB valide implicitement la transaction en cours,
+         * un rollback ne la rétablit pas (voir PersonneService.resetTable)
+         */
+        @Modifying(clearAutomatically = true)
+        @Transactional
+        @Query(value = "TRUNCATE TABLE personne", nativeQuery = true)
+        void truncate();
 
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+/**
+ * Projection des colonnes utilisées par les index de recherche en mémoire
+ * (évite de charger des entités complètes pour construire l'index)
+ */
+public interface PersonneSearchRow {
+
+    Long getId();
+
+    String getNom();
+
+    String getPrenom();
+
+    // Format saisi, affiché par la complétion (chargé par findSearchRowsAfter seulement)
+    String getTelephone();
+
+    String getTelephoneNormalized();
+}
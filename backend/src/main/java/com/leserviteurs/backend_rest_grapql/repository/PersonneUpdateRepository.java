@@ -0,0 +1,24 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+
+import java.util.Set;
+
+/**
+ * Modification d'une personne en une seule requête, sans la charger :
+ * UPDATE personne SET <champs donnés>, version = version + 1 WHERE id = ? [AND version = ?]
+ *
+ * Fragment de PersonneRepository, implémenté par PersonneUpdateRepositoryImpl.
+ */
+public interface PersonneUpdateRepository {
+
+    /**
+     * @param values              nouvelles valeurs, seuls les champs de fields sont écrits
+     * @param telephoneNormalized valeur de telephone_normalized, écrite avec le téléphone
+     * @param fields              champs à écrire (parmi PersonneField.EDITABLE)
+     * @param expectedVersion     version attendue en base, null pour aucune condition
+     * @return 1 si la personne a été modifiée, 0 si elle n'existe pas ou n'est plus à expectedVersion
+     */
+    int updateFields(Long id, PersonneDTO values, String telephoneNormalized, Set<PersonneField> fields,
+            Long expectedVersion);
+}
@@ -0,0 +1,69 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.Set;
+
+/**
+ * UPDATE JPQL construit à partir des champs donnés, dans l'ordre de PersonneField :
+ * au plus 32 combinaisons (x2 avec la condition de version), dont le plan est gardé en cache.
+ * La contrainte unique du téléphone est vérifiée par la base pendant l'UPDATE.
+ * Les colonnes dérivées (téléphone normalisé, clés phonétiques) suivent le champ dont elles dépendent.
+ */
+public class PersonneUpdateRepositoryImpl implements PersonneUpdateRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateFields(Long id, PersonneDTO values, String telephoneNormalized, Set<PersonneField> fields,
+            Long expectedVersion) {
+        if (fields.isEmpty() || !PersonneField.EDITABLE.containsAll(fields)) {
+            throw new IllegalArgumentException("Champs de personne non modifiables : " + fields);
+        }
+
+        StringBuilder jpql = new StringBuilder("UPDATE Personne p SET ");
+        for (PersonneField field : PersonneField.values()) {
+            if (fields.contains(field)) {
+                jpql.append("p.").append(field.getAttribute()).append(" = :").append(field.getAttribute()).append(", ");
+            }
+        }
+        if (fields.contains(PersonneField.NOM)) {
+            jpql.append("p.nomPhonetic = :nomPhonetic, ");
+        }
+        if (fields.contains(PersonneField.PRENOM)) {
+            jpql.append("p.prenomPhonetic = :prenomPhonetic, ");
+        }
+        if (fields.contains(PersonneField.TELEPHONE)) {
+            jpql.append("p.telephoneNormalized = :telephoneNormalized, ");
+        }
+        jpql.append("p.version = p.version + 1 WHERE p.id = :id");
+        if (expectedVersion != null) {
+            jpql.append(" AND p.version = :version");
+        }
+
+        Query query = entityManager.createQuery(jpql.toString());
+        for (PersonneField field : fields) {
+            query.setParameter(field.getAttribute(), field.get(values));
+        }
+        if (fields.contains(PersonneField.NOM)) {
+            query.setParameter("nomPhonetic", PhoneticKey.of(values.getNom()));
+        }
+        if (fields.contains(PersonneField.PRENOM)) {
+            query.setParameter("prenomPhonetic", PhoneticKey.of(values.getPrenom()));
+        }
+        if (fields.contains(PersonneField.TELEPHONE)) {
+            query.setParameter("telephoneNormalized", telephoneNormalized);
+        }
+        query.setParameter("id", id);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,85 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import java.util.Arrays;
+
+/**
+ * Liste d'entiers triée et sans doublon, stockée dans un int[] (pas de boxing).
+ * Sert de liste de postings de l'index trigramme : les ids sont en général
+ * ajoutés dans l'ordre croissant, l'ajout en fin de tableau est alors en O(1).
+ */
+final class IntList {
+
+    private int[] data = new int[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int index) {
+        return data[index];
+    }
+
+    void add(int value) {
+        if (size == 0 || value > data[size - 1]) {
+            ensureCapacity();
+            data[size++] = value;
+            return;
+        }
+
+        int pos = Arrays.binarySearch(data, 0, size, value);
+        if (pos >= 0) {
+            return;
+        }
+
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(data, insertAt, data, insertAt + 1, size - insertAt);
+        data[insertAt] = value;
+        size++;
+    }
+
+    boolean remove(int value) {
+        int pos = Arrays.binarySearch(data, 0, size, value);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(data, pos + 1, data, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * Intersection d'un tableau trié avec cette liste (fusion linéaire)
+     */
+    int[] intersect(int[] sorted) {
+        int[] result = new int[Math.min(sorted.length, size)];
+        int i = 0, j = 0, n = 0;
+        while (i < sorted.length && j < size) {
+            if (sorted[i] < data[j]) {
+                i++;
+            } else if (sorted[i] > data[j]) {
+                j++;
+            } else {
+                result[n++] = sorted[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private void ensureCapacity() {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, data.length + (data.length >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Clé phonétique d'un nom ou d'un prénom, pour la recherche fuzzy (colonnes nom_phonetic, prenom_phonetic).
+ *
+ * Les graphies françaises et wolof d'un même nom donnent la même clé :
+ * Ndiaye, N'Diaye, Njaay -> NJAI ; Diop, Jop -> JOP ; Cheikh, Seex -> SEX ; Khady, Xadi -> XADI ;
+ * Ousmane, Usman -> USMAN ; Cissé, Sisse -> SIS ; Guèye, Gey -> GE.
+ *
+ * Chaque mot est réécrit séparément (accents retirés, apostrophes supprimées, tirets = espaces) :
+ * la clé d'un nom composé commence par la clé de son premier mot, ce qui permet la recherche par préfixe.
+ * Modifier les règles impose de recalculer les clés existantes (voir PhoneticKeyBackfill).
+ */
+public final class PhoneticKey {
+
+    // Longueur des colonnes nom_phonetic et prenom_phonetic
+    public static final int MAX_LENGTH = 100;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern APOSTROPHES = Pattern.compile("['’`]");
+    private static final Pattern SEPARATORS = Pattern.compile("[^A-Z]+");
+
+    // Règles appliquées dans l'ordre, sur un mot en majuscules sans accents
+    private static final Rule[] RULES = {
+            // dj, di/dy + voyelle : le "j" wolof (Diop, Jop ; Ndiaye, Njaay)
+            new Rule("DJ", "J"),
+            new Rule("D[IY](?=[AEOU])", "J"),
+            new Rule("TH", "T"),
+            new Rule("PH", "F"),
+            // kh : le "x" wolof (Khady, Xadi ; Cheikh, Seex)
+            new Rule("KH", "X"),
+            new Rule("[CS]H", "S"),
+            new Rule("CK", "K"),
+            new Rule("QU?", "K"),
+            new Rule("C(?=[EIY])", "S"),
+            new Rule("C", "K"),
+            new Rule("GU(?=[EIY])", "G"),
+            // gn : le "ñ" wolof (Diagne, Jaañ)
+            new Rule("GN", "NY"),
+            new Rule("H", ""),
+            // e muet final, avant que y ne devienne voyelle (Ndiaye -> NJAY)
+            new Rule("(?<=[^AEIOU])E$", ""),
+            // b final prononcé p (Jóob, Diop)
+            new Rule("B$", "P"),
+            new Rule("Y", "I"),
+            new Rule("E?AU", "O"),
+            new Rule("OU(?=[AEIO])", "W"),
+            new Rule("OU", "U"),
+            new Rule("EI", "E"),
+            // voyelles longues et consonnes doubles du wolof (Njaay, Sekk)
+            new Rule("(.)\\1+", "$1")
+    };
+
+    private PhoneticKey() {
+    }
+
+    /**
+     * @return la clé phonétique, ou null si le nom ne contient aucune lettre
+     */
+    public static String of(String name) {
+        String letters = letters(name);
+        if (letters == null) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(letters.length());
+        for (String word : letters.split(" ")) {
+            for (Rule rule : RULES) {
+                word = rule.pattern.matcher(word).replaceAll(rule.replacement);
+            }
+            if (!word.isEmpty()) {
+                key.append(key.length() == 0 ? "" : " ").append(word);
+            }
+        }
+        if (key.length() == 0) {
+            return null;
+        }
+        return key.length() > MAX_LENGTH ? key.substring(0, MAX_LENGTH).trim() : key.toString();
+    }
+
+    /**
+     * Distance d'édition (Levenshtein) entre le texte recherché et le nom trouvé, après suppression
+     * des accents et de la casse : sert à classer les résultats de la recherche fuzzy.
+     * 0 si aucun texte n'est recherché.
+     */
+    public static int distance(String query, String name) {
+        String a = letters(query);
+        if (a == null) {
+            return 0;
+        }
+        String b = letters(name);
+        if (b == null) {
+            return a.length();
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Majuscules A-Z sans accents, mots séparés par une espace (ñ -> NY, ŋ -> NG) ; null si aucune lettre
+     */
+    static String letters(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String value = name.replace("ñ", "ny").replace("Ñ", "NY").replace("ŋ", "ng").replace("Ŋ", "NG");
+        value = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        value = APOSTROPHES.matcher(value.toUpperCase(Locale.ROOT)).replaceAll("");
+        value = SEPARATORS.matcher(value).replaceAll(" ").trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static final class Rule {
+
+        final Pattern pattern;
+        final String replacement;
+
+        Rule(String regex, String replacement) {
+            this.pattern = Pattern.compile(regex);
+            this.replacement = replacement;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Index de complétion par préfixe : pour chaque champ, les valeurs distinctes
+ * triées par clé (TreeMap) avec le nombre de documents qui les portent.
+ *
+ * Les complétions d'un préfixe sont les clés de la plage [préfixe, préfixe + ...) :
+ * parcourues dans l'ordre, les k plus fréquentes sont gardées dans un tas de taille k.
+ * Le parcours s'arrête dès que le tas est plein de valeurs au nombre maximal du champ :
+ * aucune clé suivante ne peut les dépasser (ex. téléphones, tous distincts : k clés lues).
+ *
+ * La clé (normalisée par l'appelant) sert au tri et à la comparaison avec le préfixe,
+ * la valeur est celle renvoyée : l'orthographe la plus portée parmi les documents indexés sous cette clé
+ * (à égalité, la première dans l'ordre alphabétique), recalculée à chaque mise à jour ou suppression.
+ * Cette classe n'est pas thread-safe : voir SuggestIndex.
+ */
+public final class PrefixIndex {
+
+    // Plus fréquentes d'abord, puis ordre alphabétique des clés
+    private static final Comparator<Term> RANKING = Comparator.comparingInt((Term term) -> term.count).reversed()
+            .thenComparing(term -> term.key);
+
+    private final int fieldCount;
+
+    // Par champ : clé normalisée -> valeur affichée et nombre de documents
+    private final List<TreeMap<String, Term>> terms;
+
+    // Par champ : nombre de documents -> nombre de clés qui ont ce nombre (le plus grand borne le parcours)
+    private final List<TreeMap<Integer, Integer>> countFrequencies;
+
+    // id -> clés et valeurs indexées, pour la mise à jour et la suppression
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    public PrefixIndex(int fieldCount) {
+        this.fieldCount = fieldCount;
+        this.terms = new ArrayList<>(fieldCount);
+        this.countFrequencies = new ArrayList<>(fieldCount);
+        for (int f = 0; f < fieldCount; f++) {
+            terms.add(new TreeMap<>());
+            countFrequencies.add(new TreeMap<>());
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public boolean contains(int id) {
+        return documents.containsKey(id);
+    }
+
+    /**
+     * Indexer (ou réindexer) un document
+     *
+     * @param keys   clés normalisées par champ (null : champ absent)
+     * @param values valeurs affichées correspondantes
+     */
+    public void put(int id, String[] keys, String[] values) {
+        if (keys.length != fieldCount || values.length != fieldCount) {
+            throw new IllegalArgumentException("Nombre de champs attendu : " + fieldCount);
+        }
+        remove(id);
+
+        Document document = new Document(new String[fieldCount], new String[fieldCount]);
+        for (int f = 0; f < fieldCount; f++) {
+            if (keys[f] != null) {
+                // Sans valeur, la clé est affichée
+                String value = values[f] != null ? values[f] : keys[f];
+                Term term = increment(f, keys[f], value);
+                document.keys[f] = term.key;
+                document.values[f] = value.equals(term.value) ? term.value : value;
+            }
+        }
+        documents.put(id, document);
+    }
+
+    public void remove(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (int f = 0; f < fieldCount; f++) {
+            if (document.keys[f] != null) {
+                decrement(f, document.keys[f], document.values[f]);
+            }
+        }
+    }
+
+    public void clear() {
+        documents.clear();
+        for (int f = 0; f < fieldCount; f++) {
+            terms.get(f).clear();
+            countFrequencies.get(f).clear();
+        }
+    }
+
+    /**
+     * @param prefix préfixe normalisé comme les clés
+     * @return au plus limit complétions distinctes du préfixe, les plus fréquentes d'abord
+     */
+    public List<Completion> complete(int field, String prefix, int limit) {
+        TreeMap<Integer, Integer> frequencies = countFrequencies.get(field);
+        if (frequencies.isEmpty()) {
+            return List.of();
+        }
+        int maxCount = frequencies.lastKey();
+
+        // Moins bonne complétion gardée en tête, remplacée par une meilleure
+        PriorityQueue<Term> best = new PriorityQueue<>(limit, RANKING.reversed());
+        for (Term term : terms.get(field).tailMap(prefix, true).values()) {
+            if (!term.key.startsWith(prefix)) {
+                break;
+            }
+            if (best.size() < limit) {
+                best.add(term);
+            } else if (RANKING.compare(term, best.peek()) < 0) {
+                best.poll();
+                best.add(term);
+            }
+            if (best.size() == limit && best.peek().count == maxCount) {
+                break;
+            }
+        }
+
+        List<Term> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<Completion> completions = new ArrayList<>(ranked.size());
+        for (Term term : ranked) {
+            completions.add(new Completion(term.value, term.count));
+        }
+        return Collections.unmodifiableList(completions);
+    }
+
+    /**
+     * @return le terme de la TreeMap, dont la clé est partagée par tous les documents qui la portent
+     */
+    private Term increment(int field, String key, String value) {
+        Term term = terms.get(field).computeIfAbsent(key, Term::new);
+        changeFrequency(field, term.count, term.count + 1);
+        term.add(value);
+        return term;
+    }
+
+    private void decrement(int field, String key, String value) {
+        Term term = terms.get(field).get(key);
+        if (term == null) {
+            return;
+        }
+        changeFrequency(field, term.count, term.count - 1);
+        term.remove(value);
+        if (term.count == 0) {
+            terms.get(field).remove(key);
+        }
+    }
+
+    private void changeFrequency(int field, int from, int to) {
+        TreeMap<Integer, Integer> frequencies = countFrequencies.get(field);
+        if (from > 0) {
+            frequencies.computeIfPresent(from, (count, keys) -> keys == 1 ? null : keys - 1);
+        }
+        if (to > 0) {
+            frequencies.merge(to, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Complétion renvoyée : valeur affichée et nombre de documents qui la portent
+     */
+    public record Completion(String value, int count) {
+    }
+
+    private record Document(String[] keys, String[] values) {
+    }
+
+    private static final class Term {
+
+        final String key;
+
+        // Orthographe affichée
+        String value;
+        int count;
+
+        // Nombre de documents par orthographe, créé seulement quand la clé en a plusieurs
+        // (sinon les count documents portent tous value)
+        Map<String, Integer> spellings;
+
+        Term(String key) {
+            this.key = key;
+        }
+
+        void add(String spelling) {
+            count++;
+            if (spellings == null) {
+                if (value == null || value.equals(spelling)) {
+                    value = spelling;
+                    return;
+                }
+                spellings = new HashMap<>();
+                spellings.put(value, count - 1);
+            }
+            spellings.merge(spelling, 1, Integer::sum);
+            value = mostFrequentSpelling();
+        }
+
+        void remove(String spelling) {
+            count--;
+            if (spellings == null) {
+                return;
+            }
+            spellings.computeIfPresent(spelling, (s, n) -> n == 1 ? null : n - 1);
+            value = mostFrequentSpelling();
+            if (spellings.size() == 1) {
+                spellings = null;
+            }
+        }
+
+        private String mostFrequentSpelling() {
+            String best = null;
+            int bestCount = 0;
+            for (Map.Entry<String, Integer> entry : spellings.entrySet()) {
+                int n = entry.getValue();
+                if (n > bestCount || (n == bestCount && entry.getKey().compareTo(best) < 0)) {
+                    best = entry.getKey();
+                    bestCount = n;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneSearchRow;
+import com.leserviteurs.backend_rest_grapql.validation.ValidationUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cycle de vie commun des index en mémoire sur la table personne (TrigramSearchIndex, SuggestIndex) :
+ * - construit au démarrage en arrière-plan, par lots (pagination keyset sur id)
+ * - tenu à jour après chaque commit via PersonneChangedEvent
+ * - reconstruit de la même façon après un RESET (table vidée ou remplie en bloc)
+ * - désactivable par configuration (aucun chargement, événements ignorés)
+ * - en échec (id hors de la plage int, index plein) : vidé pour libérer la mémoire,
+ *   événements ignorés jusqu'au prochain RESET, qui le reconstruit
+ *
+ * Les sous-classes ne gèrent que leur structure (put, remove, clear), toujours appelées
+ * sous le verrou d'écriture, et lisent sous le verrou de lecture.
+ */
+@Slf4j
+public abstract class RebuildableIndex {
+
+    private static final int BUILD_BATCH_SIZE = 10_000;
+
+    private final PersonneRepository personneRepository;
+    private final boolean enabled;
+
+    // Pour les logs ("trigramme", "de complétion") et le thread de construction
+    private final String name;
+    private final String threadName;
+
+    // Conséquence d'un index indisponible, pour les logs
+    private final String unavailable;
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ids supprimés pendant la construction : une page lue avant la suppression ne doit pas les réinsérer
+    private final Set<Integer> deletedWhileBuilding = new HashSet<>();
+
+    private volatile boolean started;
+    private volatile boolean building;
+    private volatile boolean ready;
+    private volatile boolean failed;
+
+    // Nombre de RESET reçus : une construction commencée avant le dernier ne rend pas l'index prêt
+    private volatile int resets;
+
+    protected RebuildableIndex(PersonneRepository personneRepository, boolean enabled,
+            String name, String threadName, String unavailable) {
+        this.personneRepository = personneRepository;
+        this.enabled = enabled;
+        this.name = name;
+        this.threadName = threadName;
+        this.unavailable = unavailable;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexSize();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("Index {} désactivé : {}", name, unavailable);
+            return;
+        }
+        started = true;
+        startBuild();
+    }
+
+    private void startBuild() {
+        Thread builder = new Thread(this::build, threadName);
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Charger toute la table par lots (pagination keyset sur id).
+     * Une seule construction à la fois : celle déclenchée par un RESET attend la précédente.
+     */
+    synchronized void build() {
+        long start = System.currentTimeMillis();
+        int resetsAtStart = resets;
+        building = true;
+        try {
+            long afterId = 0;
+            boolean current = true;
+            List<PersonneSearchRow> rows;
+            do {
+                rows = personneRepository.findSearchRowsAfter(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    // Un RESET depuis le début : la page a pu être lue avant le TRUNCATE,
+                    // ses lignes ne doivent pas revenir dans l'index vidé
+                    current = resets == resetsAtStart && !failed;
+                    if (current) {
+                        for (PersonneSearchRow row : rows) {
+                            int id = toIndexId(row.getId());
+                            // Une écriture plus récente a déjà été appliquée par l'événement
+                            if (!contains(id) && !deletedWhileBuilding.contains(id)) {
+                                put(id, row.getNom(), row.getPrenom(), row.getTelephone(),
+                                        row.getTelephoneNormalized());
+                            }
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            } while (current && rows.size() == BUILD_BATCH_SIZE);
+
+            if (!current) {
+                building = false;
+                if (!failed) {
+                    log.info("Construction de l'index {} interrompue par un RESET, la suivante reprend la table",
+                            name);
+                }
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                deletedWhileBuilding.clear();
+                building = false;
+                ready = resets == resetsAtStart && !failed;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Index {} construit : {} personne(s) en {} ms",
+                    name, size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                fail();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Construction de l'index {} impossible : {}", name, unavailable, ex);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonneChanged(PersonneChangedEvent event) {
+        if (!enabled || (failed && event.getType() != PersonneChangedEvent.Type.RESET)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case CREATED, UPDATED -> {
+                    PersonneDTO personne = event.getPersonne();
+                    put(toIndexId(personne.getId()), personne.getNom(), personne.getPrenom(),
+                            personne.getTelephone(), ValidationUtils.normalizeTelephone(personne.getTelephone()));
+                }
+                case DELETED -> {
+                    int id = toIndexId(event.getId());
+                    remove(id);
+                    if (building) {
+                        deletedWhileBuilding.add(id);
+                    }
+                }
+                case RESET -> {
+                    clear();
+                    resets++;
+                    ready = false;
+                    failed = false;
+                    // Avant le démarrage, la construction initiale lira la table telle quelle
+                    if (started) {
+                        startBuild();
+                    }
+                }
+            }
+        } catch (IllegalStateException ex) {
+            // Id hors de la plage int ou index plein : l'index n'est plus fiable
+            fail();
+            log.error("Index {} désactivé jusqu'au prochain RESET : {} ({})", name, unavailable, ex.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Appelé sous le verrou d'écriture
+    private void fail() {
+        clear();
+        deletedWhileBuilding.clear();
+        building = false;
+        ready = false;
+        failed = true;
+    }
+
+    // Appelés sous le verrou d'écriture
+
+    protected abstract boolean contains(int id);
+
+    /**
+     * Indexer (ou réindexer) une personne
+     *
+     * @param telephone           tel que saisi (affichage)
+     * @param telephoneNormalized chiffres seuls (recherche)
+     */
+    protected abstract void put(int id, String nom, String prenom, String telephone, String telephoneNormalized);
+
+    protected abstract void remove(int id);
+
+    protected abstract void clear();
+
+    // Appelé sous le verrou de lecture
+    protected abstract int indexSize();
+
+    private int toIndexId(Long id) {
+        if (id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Id trop grand pour l'index " + name + " : " + id);
+        }
+        return id.intValue();
+    }
+}
@@ -0,0 +1,49 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import com.leserviteurs.backend_rest_grapql.validation.ValidationUtils;
+
+import java.util.Locale;
+
+/**
+ * Normalisation des filtres de recherche.
+ * Deux filtres qui donnent le même résultat ont la même forme normalisée :
+ * elle sert aussi de clé au cache des résultats de recherche.
+ */
+public final class SearchFilters {
+
+    private SearchFilters() {
+    }
+
+    /**
+     * Filtre nom/prénom : espaces de bord supprimés, vide -> null (pas de filtre)
+     */
+    public static String name(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    /**
+     * Le filtre téléphone porte sur la colonne normalisée : "77 123" devient "77123".
+     * Un filtre sans aucun chiffre est conservé tel quel et ne trouvera donc rien.
+     */
+    public static String telephone(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = ValidationUtils.normalizeTelephone(value);
+        return normalized != null ? normalized : value;
+    }
+
+    /**
+     * Clé de cache : la recherche étant insensible à la casse, le nom et le prénom sont mis en minuscules
+     */
+    public static String cacheKey(String nom, String prenom, String telephone) {
+        return lower(name(nom)) + '|' + lower(name(prenom)) + '|' + telephone(telephone);
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,128 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.leserviteurs.backend_rest_grapql.dto.SuggestField;
+import com.leserviteurs.backend_rest_grapql.dto.SuggestionDTO;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.validation.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saisie semi-automatique sur nom, prénom et téléphone (query GraphQL suggest, GET /api/personnes/suggest) :
+ * complétions distinctes d'un préfixe, servies par un PrefixIndex en mémoire, sans aucun accès à la base.
+ *
+ * Cycle de vie de RebuildableIndex : aucune complétion tant qu'il n'est pas prêt,
+ * désactivable avec app.suggest.enabled=false
+ *
+ * Appelé directement par les contrôleurs : passer par PersonneServiceImpl (@Transactional)
+ * ouvrirait une transaction, donc une connexion, pour une lecture purement mémoire.
+ */
+@Component
+public class SuggestIndex extends RebuildableIndex {
+
+    private static final int NOM = 0;
+    private static final int PRENOM = 1;
+    private static final int TELEPHONE = 2;
+
+    private final int maxLimit;
+
+    private final PrefixIndex index = new PrefixIndex(3);
+
+    public SuggestIndex(
+            PersonneRepository personneRepository,
+            @Value("${app.suggest.enabled:true}") boolean enabled,
+            @Value("${app.suggest.max-limit:50}") int maxLimit) {
+        super(personneRepository, enabled, "de complétion", "suggest-index-build",
+                "suggest ne renvoie aucune complétion");
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Complétions distinctes du préfixe, les plus fréquentes d'abord (puis par ordre alphabétique).
+     * Nom et prénom sont comparés sans casse ni accents ("mare" complète "Marème"),
+     * le téléphone sur ses seuls chiffres ("77 12" complète "77 123 45 67", renvoyé tel que saisi).
+     *
+     * @return liste vide si l'index n'est pas prêt (désactivé ou en construction)
+     *         ou si le préfixe ne contient aucune lettre (chiffre pour le téléphone)
+     * @throws IllegalArgumentException si le préfixe est vide ou limit hors de [1, app.suggest.max-limit]
+     */
+    public List<SuggestionDTO> suggest(String prefix, SuggestField field, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Le préfixe est obligatoire");
+        }
+        if (field == null) {
+            throw new IllegalArgumentException("Le champ à compléter est obligatoire");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit doit être compris entre 1 et " + maxLimit);
+        }
+        if (!isReady()) {
+            return List.of();
+        }
+
+        String key = field == SuggestField.TELEPHONE
+                ? ValidationUtils.normalizeTelephone(prefix)
+                : PhoneticKey.letters(prefix);
+        if (key == null) {
+            return List.of();
+        }
+
+        List<PrefixIndex.Completion> completions;
+        lock.readLock().lock();
+        try {
+            completions = index.complete(indexOf(field), key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SuggestionDTO> suggestions = new ArrayList<>(completions.size());
+        for (PrefixIndex.Completion completion : completions) {
+            suggestions.add(new SuggestionDTO(completion.value(), completion.count()));
+        }
+        return suggestions;
+    }
+
+    @Override
+    protected boolean contains(int id) {
+        return index.contains(id);
+    }
+
+    @Override
+    protected void put(int id, String nom, String prenom, String telephone, String telephoneNormalized) {
+        String[] keys = { PhoneticKey.letters(nom), PhoneticKey.letters(prenom), telephoneNormalized };
+        // Téléphone affiché tel que saisi, retrouvé par ses seuls chiffres
+        String[] values = { trim(nom), trim(prenom), telephone != null ? trim(telephone) : telephoneNormalized };
+        index.put(id, keys, values);
+    }
+
+    @Override
+    protected void remove(int id) {
+        index.remove(id);
+    }
+
+    @Override
+    protected void clear() {
+        index.clear();
+    }
+
+    @Override
+    protected int indexSize() {
+        return index.size();
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static int indexOf(SuggestField field) {
+        return switch (field) {
+            case NOM -> NOM;
+            case PRENOM -> PRENOM;
+            case TELEPHONE -> TELEPHONE;
+        };
+    }
+}
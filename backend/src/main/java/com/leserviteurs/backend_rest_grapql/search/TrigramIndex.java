@@ -0,0 +1,186 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index trigramme (n-gramme de 3 caractères) pour la recherche par sous-chaîne.
+ *
+ * Pour chaque champ indexé, chaque trigramme pointe vers la liste triée des ids
+ * qui le contiennent. Une recherche "contient xyz..." intersecte les listes des
+ * trigrammes du terme, puis vérifie les candidats sur les valeurs stockées
+ * (deux trigrammes présents ne garantissent pas la sous-chaîne complète).
+ *
+ * Les valeurs reçues doivent déjà être normalisées (majuscules, chiffres seuls...).
+ * Cette classe n'est pas thread-safe : voir TrigramSearchIndex.
+ *
+ * Coût mémoire : environ 260 octets par document de trois champs courts (nom, prénom, téléphone
+ * de 9 chiffres), mesuré sur 1 million de documents : valeurs stockées pour la vérification (~150),
+ * entrée de la table des documents (~50), ids dans les listes de postings (~60).
+ * Soit ~250 Mo par million de personnes ; d'où la limite maxDocuments.
+ */
+public final class TrigramIndex {
+
+    public static final int MIN_TERM_LENGTH = 3;
+
+    private final int fieldCount;
+    private final int maxDocuments;
+
+    // Par champ : code du trigramme -> ids triés
+    private final List<Map<Long, IntList>> postings;
+
+    // id -> valeurs indexées, pour la vérification et la suppression
+    private final Map<Integer, String[]> documents = new HashMap<>();
+
+    public TrigramIndex(int fieldCount) {
+        this(fieldCount, Integer.MAX_VALUE);
+    }
+
+    public TrigramIndex(int fieldCount, int maxDocuments) {
+        this.fieldCount = fieldCount;
+        this.maxDocuments = maxDocuments;
+        this.postings = new ArrayList<>(fieldCount);
+        for (int f = 0; f < fieldCount; f++) {
+            postings.add(new HashMap<>());
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public boolean contains(int id) {
+        return documents.containsKey(id);
+    }
+
+    /**
+     * Indexer (ou réindexer) un document
+     *
+     * @throws IllegalStateException si l'index contient déjà maxDocuments autres documents
+     */
+    public void put(int id, String... values) {
+        if (values.length != fieldCount) {
+            throw new IllegalArgumentException("Nombre de champs attendu : " + fieldCount);
+        }
+        if (documents.size() >= maxDocuments && !documents.containsKey(id)) {
+            throw new IllegalStateException("Index trigramme plein : " + maxDocuments + " documents");
+        }
+        remove(id);
+        documents.put(id, values);
+
+        for (int f = 0; f < fieldCount; f++) {
+            Map<Long, IntList> fieldPostings = postings.get(f);
+            for (long code : trigrams(values[f])) {
+                fieldPostings.computeIfAbsent(code, k -> new IntList()).add(id);
+            }
+        }
+    }
+
+    public void remove(int id) {
+        String[] values = documents.remove(id);
+        if (values == null) {
+            return;
+        }
+
+        for (int f = 0; f < fieldCount; f++) {
+            Map<Long, IntList> fieldPostings = postings.get(f);
+            for (long code : trigrams(values[f])) {
+                IntList ids = fieldPostings.get(code);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    fieldPostings.remove(code);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        documents.clear();
+        postings.forEach(Map::clear);
+    }
+
+    /**
+     * Rechercher les documents dont chaque champ contient le terme correspondant
+     * (terme null ou vide : pas de contrainte sur ce champ).
+     *
+     * @return les ids triés, ou null si aucun terme n'a au moins 3 caractères :
+     *         l'index ne peut alors pas réduire la recherche
+     */
+    public int[] search(String... terms) {
+        int[] candidates = null;
+
+        for (int f = 0; f < fieldCount; f++) {
+            String term = terms[f];
+            if (term == null || term.length() < MIN_TERM_LENGTH) {
+                continue;
+            }
+
+            List<IntList> lists = new ArrayList<>();
+            for (long code : trigrams(term)) {
+                IntList ids = postings.get(f).get(code);
+                if (ids == null) {
+                    return new int[0];
+                }
+                lists.add(ids);
+            }
+
+            // Commencer par la liste la plus courte : les intersections restent petites
+            lists.sort(Comparator.comparingInt(IntList::size));
+            int start = 0;
+            if (candidates == null) {
+                candidates = lists.get(0).toArray();
+                start = 1;
+            }
+            for (int i = start; i < lists.size() && candidates.length > 0; i++) {
+                candidates = lists.get(i).intersect(candidates);
+            }
+        }
+
+        if (candidates == null) {
+            return null;
+        }
+        return verify(candidates, terms);
+    }
+
+    // Élimine les faux positifs : tous les trigrammes présents mais pas la sous-chaîne
+    private int[] verify(int[] candidates, String[] terms) {
+        int n = 0;
+        int[] result = new int[candidates.length];
+        for (int id : candidates) {
+            String[] values = documents.get(id);
+            if (values != null && matches(values, terms)) {
+                result[n++] = id;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private boolean matches(String[] values, String[] terms) {
+        for (int f = 0; f < fieldCount; f++) {
+            String term = terms[f];
+            if (term != null && !term.isEmpty()
+                    && (values[f] == null || !values[f].contains(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> trigrams(String value) {
+        if (value == null || value.length() < MIN_TERM_LENGTH) {
+            return Set.of();
+        }
+        Set<Long> codes = new HashSet<>();
+        for (int i = 0; i + MIN_TERM_LENGTH <= value.length(); i++) {
+            codes.add(((long) value.charAt(i) << 32)
+                    | ((long) value.charAt(i + 1) << 16)
+                    | value.charAt(i + 2));
+        }
+        return codes;
+    }
+}
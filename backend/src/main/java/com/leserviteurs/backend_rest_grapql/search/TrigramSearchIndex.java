@@ -0,0 +1,126 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Index trigramme en mémoire sur nom, prénom et téléphone normalisé,
+ * utilisé par PersonneServiceImpl.search() à la place du LIKE '%x%' en base.
+ *
+ * Cycle de vie de RebuildableIndex : la recherche passe par JPQL tant qu'il n'est pas prêt,
+ * désactivable avec app.search.trigram.enabled=false.
+ *
+ * Mémoire : ~250 Mo par million de personnes (voir TrigramIndex), reconstruit en entier après chaque RESET
+ * (l'index vidé par le RESET est libéré avant). Au-delà de app.search.trigram.max-documents personnes,
+ * l'index est vidé et la recherche passe par JPQL jusqu'au prochain RESET.
+ */
+@Component
+public class TrigramSearchIndex extends RebuildableIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final int maxIds;
+
+    private final TrigramIndex index;
+
+    public TrigramSearchIndex(
+            PersonneRepository personneRepository,
+            @Value("${app.search.trigram.enabled:true}") boolean enabled,
+            @Value("${app.search.trigram.max-ids:5000}") int maxIds,
+            @Value("${app.search.trigram.max-documents:1000000}") int maxDocuments) {
+        super(personneRepository, enabled, "trigramme", "trigram-index-build",
+                "la recherche utilise la requête JPQL");
+        this.maxIds = maxIds;
+        this.index = new TrigramIndex(3, maxDocuments);
+    }
+
+    /**
+     * Rechercher les ids correspondant aux filtres, avec la sémantique de PersonneRepository.SEARCH_FILTER
+     * ("contient", insensible à la casse et aux accents)
+     *
+     * @return les ids triés, ou null si l'index ne peut pas répondre
+     *         (désactivé, en construction ou en échec, termes trop courts, jokers LIKE ou trop de résultats) :
+     *         l'appelant doit alors utiliser la requête JPQL
+     */
+    public List<Long> search(String nom, String prenom, String telephoneNormalized) {
+        if (!isReady()) {
+            return null;
+        }
+
+        // % et _ sont des jokers pour LIKE, des caractères ordinaires pour l'index
+        if (hasWildcard(nom) || hasWildcard(prenom) || hasWildcard(telephoneNormalized)) {
+            return null;
+        }
+        String nomKey = normalizeName(nom);
+        String prenomKey = normalizeName(prenom);
+
+        int[] ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(nomKey, prenomKey, telephoneNormalized);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (ids == null || ids.length > maxIds) {
+            return null;
+        }
+
+        List<Long> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add((long) id);
+        }
+        return result;
+    }
+
+    @Override
+    protected boolean contains(int id) {
+        return index.contains(id);
+    }
+
+    @Override
+    protected void put(int id, String nom, String prenom, String telephone, String telephoneNormalized) {
+        index.put(id, normalizeName(nom), normalizeName(prenom), telephoneNormalized);
+    }
+
+    @Override
+    protected void remove(int id) {
+        index.remove(id);
+    }
+
+    @Override
+    protected void clear() {
+        index.clear();
+    }
+
+    @Override
+    protected int indexSize() {
+        return index.size();
+    }
+
+    /**
+     * Majuscules sans accents, tout autre caractère conservé : comme LOWER(...) LIKE avec la collation
+     * de MariaDB (utf8mb4, insensible aux accents), "mareme" trouve "Marème" mais "ndia" ne trouve pas
+     * "N'DIAYE". Sur une base dont la collation distingue les accents (H2), la requête JPQL les distingue
+     * aussi : seuls la casse et les caractères autres que les accents y donnent le même résultat.
+     */
+    static String normalizeName(String value) {
+        if (value == null) {
+            return null;
+        }
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+                .toUpperCase(Locale.ROOT);
+    }
+
+    private static boolean hasWildcard(String filter) {
+        return filter != null && (filter.indexOf('%') >= 0 || filter.indexOf('_') >= 0);
+    }
+}
@@ -0,0 +1,405 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.dto.DuplicateCandidateDTO;
+import com.leserviteurs.backend_rest_grapql.dto.DuplicateScanDTO;
+import com.leserviteurs.backend_rest_grapql.model.DuplicateCandidate;
+import com.leserviteurs.backend_rest_grapql.model.DuplicateReason;
+import com.leserviteurs.backend_rest_grapql.repository.DuplicateCandidateRepository;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Recherche de doublons en tâche de fond (POST /api/personnes/duplicates/scan), paires trouvées
+ * dans la table duplicate_candidates (query GraphQL duplicateCandidates).
+ *
+ * Comparer chaque personne à toutes les autres coûterait n² comparaisons : les personnes sont
+ * réparties en blocs et seules celles d'un même bloc sont comparées (DuplicateReason) :
+ * - NOM_NAISSANCE : même clé phonétique du nom et du prénom, même année de naissance
+ * - TELEPHONE : même numéro hors indicatif d'opérateur (telephone_normalized étant unique,
+ *   un bloc par numéro complet ne contiendrait jamais deux personnes)
+ *
+ * La table est lue une fois par type de bloc, triée par clé de bloc et en flux (fetch size) :
+ * un bloc est complet dès que la clé change. Les blocs sont accumulés jusqu'à batch-rows lignes,
+ * comparés en parallèle sur un ForkJoinPool, puis les paires de score au moins min-score sont
+ * écrites en lots JDBC. La mémoire est bornée par batch-rows lignes quelle que soit la taille de
+ * la table ; un bloc de plus de max-block-size personnes (nom très courant) est ignoré.
+ *
+ * La table duplicate_candidates est vidée au démarrage de la recherche : tant qu'elle est en cours,
+ * findCandidates ne renvoie que les paires déjà écrites.
+ */
+@Service
+@Slf4j
+public class DuplicateDetectionService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    // Au plus LEAF_BLOCKS blocs comparés par une tâche du ForkJoinPool, sans la découper
+    private static final int LEAF_BLOCKS = 8;
+
+    // Poids du score : nom et prénom (distance d'édition), date de naissance, téléphone
+    private static final double NAME_WEIGHT = 0.6;
+    private static final double BIRTH_WEIGHT = 0.25;
+    private static final double TELEPHONE_WEIGHT = 0.15;
+
+    private static final String SELECT = "SELECT id, nom, prenom, date_naissance, telephone_normalized, "
+            + "nom_phonetic, prenom_phonetic FROM personne ";
+
+    private final DuplicateCandidateRepository duplicateCandidateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchRows;
+    private final int maxBlockSize;
+    private final double minScore;
+    private final int parallelism;
+
+    private Scan scan;
+
+    public DuplicateDetectionService(
+            DuplicateCandidateRepository duplicateCandidateRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.dedup.batch-rows:50000}") int batchRows,
+            @Value("${app.dedup.max-block-size:1000}") int maxBlockSize,
+            @Value("${app.dedup.min-score:0.85}") double minScore,
+            @Value("${app.dedup.parallelism:0}") int parallelism) {
+        this.duplicateCandidateRepository = duplicateCandidateRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchRows = batchRows;
+        this.maxBlockSize = maxBlockSize;
+        this.minScore = minScore;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Lancer une recherche de doublons, sauf si une est déjà en cours
+     * @return l'état de la recherche lancée ou en cours
+     */
+    public synchronized DuplicateScanDTO start() {
+        if (scan != null && scan.state == DuplicateScanDTO.State.RUNNING) {
+            return scan.toDTO();
+        }
+        Scan started = new Scan();
+        scan = started;
+
+        Thread thread = new Thread(() -> run(started), "duplicate-scan");
+        thread.setDaemon(true);
+        thread.start();
+        return started.toDTO();
+    }
+
+    /**
+     * @return l'état de la dernière recherche, null si aucune depuis le démarrage
+     */
+    public synchronized DuplicateScanDTO status() {
+        return scan != null ? scan.toDTO() : null;
+    }
+
+    /**
+     * Paires trouvées par la dernière recherche, les plus probables d'abord
+     * (partielles tant qu'elle est en cours)
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidateDTO> findCandidates(double minScore, int limit) {
+        return duplicateCandidateRepository.findByMinScore(minScore, PageRequest.of(0, limit)).stream()
+                .map(candidate -> DuplicateCandidateDTO.builder()
+                        .id(candidate.getId())
+                        .personneId(candidate.getPersonneId())
+                        .duplicateId(candidate.getDuplicateId())
+                        .score(candidate.getScore())
+                        .reason(candidate.getReason())
+                        .build())
+                .toList();
+    }
+
+    private void run(Scan scan) {
+        log.info("Recherche de doublons démarrée ({} thread(s), blocs d'au plus {} personnes)",
+                parallelism, maxBlockSize);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            duplicateCandidateRepository.truncate();
+            scanBlocks(scan, pool, DuplicateReason.NOM_NAISSANCE,
+                    SELECT + "WHERE nom_phonetic IS NOT NULL AND prenom_phonetic IS NOT NULL "
+                            + "ORDER BY nom_phonetic, prenom_phonetic, date_naissance, id",
+                    Row::nameBlock);
+            scanBlocks(scan, pool, DuplicateReason.TELEPHONE,
+                    SELECT + "WHERE telephone_normalized IS NOT NULL "
+                            + "ORDER BY SUBSTRING(telephone_normalized, 3), id",
+                    Row::subscriber);
+            scan.finish(DuplicateScanDTO.State.DONE, null);
+            log.info("Recherche de doublons terminée en {} ms : {} comparaison(s), {} paire(s)",
+                    scan.durationMs, scan.comparisons.sum(), scan.candidates.sum());
+        } catch (RuntimeException ex) {
+            scan.finish(DuplicateScanDTO.State.FAILED, ex.getMessage());
+            log.error("Recherche de doublons interrompue : {}", ex.getMessage(), ex);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void scanBlocks(Scan scan, ForkJoinPool pool, DuplicateReason reason, String sql,
+            Function<Row, String> blockKey) {
+        BlockReader reader = new BlockReader(scan, pool, reason, blockKey);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, reader);
+        reader.endBlock();
+        reader.flush();
+    }
+
+    /**
+     * Similarité entre 0 et 1 de deux personnes d'un même bloc, arrondie au millième
+     */
+    static double score(Row a, Row b) {
+        double name = (similarity(a.nom(), a.nomPhonetic(), b.nom(), b.nomPhonetic())
+                + similarity(a.prenom(), a.prenomPhonetic(), b.prenom(), b.prenomPhonetic())) / 2;
+        double birth = a.dateNaissance() == null || b.dateNaissance() == null ? 0.5
+                : a.dateNaissance().equals(b.dateNaissance()) ? 1 : 0;
+        double telephone = a.subscriber() == null || b.subscriber() == null ? 0.5
+                : a.subscriber().equals(b.subscriber()) ? 1 : 0;
+        double score = NAME_WEIGHT * name + BIRTH_WEIGHT * birth + TELEPHONE_WEIGHT * telephone;
+        return Math.round(score * 1000) / 1000.0;
+    }
+
+    /**
+     * 1 pour deux graphies identiques ; deux graphies d'un même son (Ndiaye, Njaay) restent au-dessus
+     * de 0.9 malgré leur distance d'édition
+     */
+    private static double similarity(String a, String aPhonetic, String b, String bPhonetic) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        double edit = Math.max(0, 1 - (double) PhoneticKey.distance(a, b) / Math.max(a.length(), b.length()));
+        return aPhonetic != null && aPhonetic.equals(bPhonetic) ? 0.9 + 0.1 * edit : edit;
+    }
+
+    private void insert(List<DuplicateCandidate> candidates) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO duplicate_candidates (personne_id, duplicate_id, score, reason) VALUES (?, ?, ?, ?)",
+                candidates, INSERT_BATCH_SIZE, (statement, candidate) -> {
+                    statement.setLong(1, candidate.getPersonneId());
+                    statement.setLong(2, candidate.getDuplicateId());
+                    statement.setDouble(3, candidate.getScore());
+                    statement.setString(4, candidate.getReason().name());
+                });
+    }
+
+    /**
+     * Découpe du flux trié en blocs, comparés par lots de batch-rows lignes
+     */
+    private final class BlockReader implements RowCallbackHandler {
+
+        private final Scan scan;
+        private final ForkJoinPool pool;
+        private final DuplicateReason reason;
+        private final Function<Row, String> blockKey;
+
+        private final List<List<Row>> blocks = new ArrayList<>();
+        private int batchedRows;
+
+        private String key;
+        private List<Row> block = new ArrayList<>();
+        private boolean oversized;
+
+        BlockReader(Scan scan, ForkJoinPool pool, DuplicateReason reason, Function<Row, String> blockKey) {
+            this.scan = scan;
+            this.pool = pool;
+            this.reason = reason;
+            this.blockKey = blockKey;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Row row = Row.of(rs);
+            scan.rows.increment();
+
+            String rowKey = blockKey.apply(row);
+            if (!rowKey.equals(key)) {
+                endBlock();
+                key = rowKey;
+            }
+            if (oversized) {
+                return;
+            }
+            if (block.size() == maxBlockSize) {
+                // Bloc trop grand pour être comparé deux à deux : ignoré jusqu'à la clé suivante
+                oversized = true;
+                block = new ArrayList<>();
+                scan.skippedBlocks.increment();
+                return;
+            }
+            block.add(row);
+        }
+
+        void endBlock() {
+            if (!oversized && block.size() > 1) {
+                blocks.add(block);
+                batchedRows += block.size();
+                scan.blocks.increment();
+                if (batchedRows >= batchRows) {
+                    flush();
+                }
+            }
+            block = new ArrayList<>();
+            oversized = false;
+        }
+
+        void flush() {
+            if (blocks.isEmpty()) {
+                return;
+            }
+            List<DuplicateCandidate> found = pool.invoke(new CompareBlocks(blocks, 0, blocks.size(), reason, scan));
+            insert(found);
+            scan.candidates.add(found.size());
+            blocks.clear();
+            batchedRows = 0;
+        }
+    }
+
+    /**
+     * Comparaison deux à deux dans chaque bloc de [from, to), découpée en deux tant qu'il reste
+     * plus de LEAF_BLOCKS blocs
+     */
+    private final class CompareBlocks extends RecursiveTask<List<DuplicateCandidate>> {
+
+        private final List<List<Row>> blocks;
+        private final int from;
+        private final int to;
+        private final DuplicateReason reason;
+        private final Scan scan;
+
+        CompareBlocks(List<List<Row>> blocks, int from, int to, DuplicateReason reason, Scan scan) {
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+            this.reason = reason;
+            this.scan = scan;
+        }
+
+        @Override
+        protected List<DuplicateCandidate> compute() {
+            if (to - from > LEAF_BLOCKS) {
+                int middle = (from + to) >>> 1;
+                CompareBlocks left = new CompareBlocks(blocks, from, middle, reason, scan);
+                left.fork();
+                List<DuplicateCandidate> right = new CompareBlocks(blocks, middle, to, reason, scan).compute();
+                List<DuplicateCandidate> found = left.join();
+                found.addAll(right);
+                return found;
+            }
+
+            List<DuplicateCandidate> found = new ArrayList<>();
+            long comparisons = 0;
+            for (int b = from; b < to; b++) {
+                List<Row> block = blocks.get(b);
+                for (int i = 0; i < block.size(); i++) {
+                    Row a = block.get(i);
+                    for (int j = i + 1; j < block.size(); j++) {
+                        Row other = block.get(j);
+                        // Paire déjà comparée dans le bloc NOM_NAISSANCE
+                        if (reason == DuplicateReason.TELEPHONE && a.nameBlock() != null
+                                && a.nameBlock().equals(other.nameBlock())) {
+                            continue;
+                        }
+                        comparisons++;
+                        double score = score(a, other);
+                        if (score >= minScore) {
+                            found.add(DuplicateCandidate.builder()
+                                    .personneId(Math.min(a.id(), other.id()))
+                                    .duplicateId(Math.max(a.id(), other.id()))
+                                    .score(score)
+                                    .reason(reason)
+                                    .build());
+                        }
+                    }
+                }
+            }
+            scan.comparisons.add(comparisons);
+            return found;
+        }
+    }
+
+    /**
+     * Colonnes lues par personne, avec ses clés de bloc
+     */
+    record Row(long id, String nom, String prenom, String nomPhonetic, String prenomPhonetic,
+            LocalDate dateNaissance, String subscriber, String nameBlock) {
+
+        static Row of(ResultSet rs) throws SQLException {
+            Date dateNaissance = rs.getDate("date_naissance");
+            String telephone = rs.getString("telephone_normalized");
+            String nomPhonetic = rs.getString("nom_phonetic");
+            String prenomPhonetic = rs.getString("prenom_phonetic");
+            LocalDate date = dateNaissance != null ? dateNaissance.toLocalDate() : null;
+            return new Row(
+                    rs.getLong("id"),
+                    rs.getString("nom"),
+                    rs.getString("prenom"),
+                    nomPhonetic,
+                    prenomPhonetic,
+                    date,
+                    // Numéro sans l'indicatif d'opérateur (2 premiers chiffres)
+                    telephone != null && telephone.length() > 2 ? telephone.substring(2) : telephone,
+                    nomPhonetic != null && prenomPhonetic != null
+                            ? nomPhonetic + '|' + prenomPhonetic + '|' + (date != null ? date.getYear() : "")
+                            : null);
+        }
+    }
+
+    /**
+     * Compteurs d'une recherche, mis à jour par les threads du ForkJoinPool
+     */
+    private static final class Scan {
+
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final long start = System.currentTimeMillis();
+        final LongAdder rows = new LongAdder();
+        final LongAdder blocks = new LongAdder();
+        final LongAdder skippedBlocks = new LongAdder();
+        final LongAdder comparisons = new LongAdder();
+        final LongAdder candidates = new LongAdder();
+        volatile DuplicateScanDTO.State state = DuplicateScanDTO.State.RUNNING;
+        volatile long durationMs;
+        volatile String error;
+
+        void finish(DuplicateScanDTO.State state, String error) {
+            this.durationMs = System.currentTimeMillis() - start;
+            this.error = error;
+            this.state = state;
+        }
+
+        DuplicateScanDTO toDTO() {
+            return DuplicateScanDTO.builder()
+                    .state(state)
+                    .startedAt(startedAt)
+                    .durationMs(state == DuplicateScanDTO.State.RUNNING ? System.currentTimeMillis() - start : durationMs)
+                    .rows(rows.sum())
+                    .blocks(blocks.sum())
+                    .skippedBlocks(skippedBlocks.sum())
+                    .comparisons(comparisons.sum())
+                    .candidates(candidates.sum())
+                    .error(error)
+                    .build();
+        }
+    }
+}
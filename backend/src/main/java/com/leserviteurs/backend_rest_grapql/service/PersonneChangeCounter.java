@@ -0,0 +1,33 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteur des modifications de la table personne, incrémenté après le commit de chaque écriture.
+ * ETag des réponses de liste (GET /api/personnes, export) : tant qu'il n'a pas changé,
+ * une liste déjà reçue par le client est à jour, quels que soient les filtres.
+ *
+ * Lu avant la requête en base : une écriture validée pendant la lecture donne au pire
+ * un ETag ancien avec des données récentes (le client recharge une fois de trop), jamais l'inverse.
+ * Préfixé par l'instant de démarrage : un ETag émis avant un redémarrage ne correspond plus.
+ */
+@Component
+public class PersonneChangeCounter {
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+
+    public String etag() {
+        return "\"" + startedAt + "-" + changes.get() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonneChanged(PersonneChangedEvent event) {
+        changes.incrementAndGet();
+    }
+}
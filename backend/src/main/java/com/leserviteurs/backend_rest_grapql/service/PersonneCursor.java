@@ -0,0 +1,79 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneOrder;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de pagination keyset.
+ * Contient la clé de tri de la dernière ligne lue : (id) ou (nom, prenom, id).
+ * Encodé en Base64 URL pour pouvoir circuler dans une URL ou une variable GraphQL.
+ */
+@Getter
+public final class PersonneCursor {
+
+    private static final char SEPARATOR = '\u001F';
+
+    private final PersonneOrder order;
+    private final String nom;
+    private final String prenom;
+    private final long id;
+
+    private PersonneCursor(PersonneOrder order, String nom, String prenom, long id) {
+        this.order = order;
+        this.nom = nom;
+        this.prenom = prenom;
+        this.id = id;
+    }
+
+    /**
+     * Curseur "avant la première ligne" : id 0 et chaînes vides,
+     * toujours inférieurs aux valeurs réelles (noms et prénoms non vides).
+     */
+    public static PersonneCursor first(PersonneOrder order) {
+        return new PersonneCursor(order, "", "", 0L);
+    }
+
+    public static String encode(PersonneDTO personne, PersonneOrder order) {
+        String raw = order == PersonneOrder.ID
+                ? order.name() + SEPARATOR + personne.getId()
+                : order.name() + SEPARATOR + personne.getNom() + SEPARATOR + personne.getPrenom()
+                        + SEPARATOR + personne.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décoder un curseur reçu d'un client
+     * @throws IllegalArgumentException si le curseur est invalide ou ne correspond pas au tri demandé
+     */
+    public static PersonneCursor decode(String cursor, PersonneOrder order) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split(String.valueOf(SEPARATOR), -1);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+
+        if (!order.name().equals(parts[0])) {
+            throw new IllegalArgumentException("Le curseur ne correspond pas au tri demandé : " + order);
+        }
+
+        try {
+            if (order == PersonneOrder.ID && parts.length == 2) {
+                return new PersonneCursor(order, "", "", Long.parseLong(parts[1]));
+            }
+            if (order == PersonneOrder.NOM_PRENOM && parts.length == 4) {
+                return new PersonneCursor(order, parts[1], parts[2], Long.parseLong(parts[3]));
+            }
+        } catch (NumberFormatException ex) {
+            // traité ci-dessous
+        }
+        throw new IllegalArgumentException("Curseur de pagination invalide");
+    }
+}
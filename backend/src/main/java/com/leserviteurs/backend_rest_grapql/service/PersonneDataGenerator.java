@@ -0,0 +1,290 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.config.CacheConfig;
+import com.leserviteurs.backend_rest_grapql.dto.GenerationReportDTO;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Génération de personnes synthétiques pour les environnements de test de charge
+ * (POST /api/personnes/generate, ou au démarrage avec app.generator.rows).
+ *
+ * Noms et prénoms sénégalais, dates de naissance entre 1940 et 2007, adresses de quartiers
+ * et de villes du Sénégal, téléphones 70/75/76/77/78 : chaque ligne passe PersonneValidator
+ * et est stockée comme la création l'aurait fait (nom en majuscules, téléphone formaté et normalisé,
+ * clés phonétiques).
+ *
+ * Insertion directe en JDBC, sans entités : un INSERT de chunk-size lignes (VALUES (...), (...))
+ * par aller-retour, validé aussitôt, sur threads connexions en parallèle. Mémoire bornée par
+ * threads x chunk-size lignes, quel que soit le nombre de lignes demandé.
+ * Les ids sont pris après le plus grand id existant et la séquence personne_seq est repoussée
+ * au-delà : à lancer sur une base sans créations en cours.
+ */
+@Service
+@Slf4j
+public class PersonneDataGenerator {
+
+    private static final String[] NOMS = { "DIOP", "NDIAYE", "FALL", "SOW", "BA", "SECK", "GUEYE", "MBAYE", "FAYE",
+            "SARR", "CISSE", "DIALLO", "THIAM", "KANE", "NIANG", "DIOUF", "WADE", "SY", "TOURE", "GAYE", "DIENG",
+            "DIAGNE", "SENE", "NDOUR", "MBENGUE", "SALL", "CAMARA", "KA", "LO", "DRAME", "BADJI", "DIATTA",
+            "SAGNA", "MANE", "TALL", "LY", "DIAW", "THIOUNE", "NDOYE", "SAMB", "KEBE", "GOMIS", "MENDY",
+            "DIEDHIOU", "BEYE", "NIASSE", "MBODJ", "TOP", "SYLLA", "NDAO" };
+
+    private static final String[] PRENOMS = { "Moussa", "Fatou", "Amadou", "Aminata", "Ousmane", "Awa", "Mamadou",
+            "Khady", "Cheikh", "Ndeye", "Ibrahima", "Mariama", "Abdoulaye", "Coumba", "Modou", "Astou",
+            "Babacar", "Sokhna", "Serigne", "Adama", "Aissatou", "Alioune", "Bineta", "Daouda", "Dieynaba",
+            "Fama", "Ismaila", "Khadija", "Lamine", "Malick", "Marème", "Massamba", "Oumar", "Penda",
+            "Rokhaya", "Saliou", "Seynabou", "Souleymane", "Yacine", "Youssou", "Pape", "Anta", "Binta",
+            "Nafissatou", "Assane", "Maguette", "Thierno", "Safiétou", "Demba", "Ramatoulaye" };
+
+    // Quartiers de Dakar et de sa banlieue, où vit une personne générée sur deux
+    private static final String[] QUARTIERS = { "Médina", "Plateau", "Fann", "Point E", "Mermoz", "Ouakam",
+            "Yoff", "Grand Yoff", "HLM", "Liberté 6", "Sicap Baobab", "Parcelles Assainies", "Pikine",
+            "Guédiawaye", "Keur Massar", "Thiaroye", "Rufisque", "Bargny", "Grand Dakar", "Colobane" };
+
+    private static final String[] VILLES = { "Thiès", "Saint-Louis", "Kaolack", "Ziguinchor",
+            "Touba", "Mbour", "Diourbel", "Louga", "Tambacounda", "Kolda", "Fatick", "Matam", "Kédougou",
+            "Sédhiou", "Kaffrine" };
+
+    private static final String[] NOM_KEYS = phoneticKeys(NOMS);
+    private static final String[] PRENOM_KEYS = phoneticKeys(PRENOMS);
+
+    private static final String[] PREFIXES = { "70", "75", "76", "77", "78" };
+
+    // Naissances entre le 1er janvier 1940 et le 31 décembre 2007
+    private static final long FIRST_BIRTH_DAY = LocalDate.of(1940, 1, 1).toEpochDay();
+    private static final long BIRTH_DAYS = LocalDate.of(2008, 1, 1).toEpochDay() - FIRST_BIRTH_DAY;
+
+    // Permutation de [0, 10^7) : 7 654 321 est premier avec 10^7
+    private static final long SUFFIXES = 10_000_000L;
+    private static final long SUFFIX_MULTIPLIER = 7_654_321L;
+
+    private static final int COLUMNS = 9;
+
+    private final PersonneRepository personneRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final int chunkSize;
+    private final int threads;
+    private final int maxRows;
+
+    public PersonneDataGenerator(
+            PersonneRepository personneRepository,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            CacheManager cacheManager,
+            @Value("${app.generator.chunk-size:1000}") int chunkSize,
+            @Value("${app.generator.threads:4}") int threads,
+            @Value("${app.generator.max-rows:10000000}") int maxRows) {
+        this.personneRepository = personneRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Insérer rows personnes synthétiques
+     */
+    public GenerationReportDTO generate(int rows) {
+        if (rows < 1 || rows > maxRows) {
+            throw new IllegalArgumentException("Le nombre de lignes doit être compris entre 1 et " + maxRows);
+        }
+
+        long start = System.currentTimeMillis();
+        long firstId = reserveIds(rows);
+        log.info("Génération de {} personne(s), ids {} à {}", rows, firstId, firstId + rows - 1);
+
+        try {
+            insertChunks(firstId, rows);
+        } finally {
+            // Lots déjà validés même en cas d'échec : caches, index et abonnés ont la table à relire
+            clearCaches();
+            eventPublisher.publishEvent(PersonneChangedEvent.reset());
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("{} personne(s) générée(s) en {} ms", rows, durationMs);
+        return GenerationReportDTO.builder()
+                .rows(rows)
+                .firstId(firstId)
+                .lastId(firstId + rows - 1)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private void clearCaches() {
+        for (String name : List.of(CacheConfig.PERSONNES, CacheConfig.PERSONNE_SEARCH)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Ids [firstId, firstId + rows) : après le plus grand id et après le bloc de la séquence
+     * déjà distribué, puis séquence repoussée pour que son prochain bloc commence après
+     * (optimiseur pooled : la valeur v couvre les ids [v - 49, v])
+     */
+    private long reserveIds(int rows) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM personne", Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Personne.SEQUENCE, Long.class);
+        long firstId = Math.max(maxId, next) + 1;
+        jdbcTemplate.execute("ALTER SEQUENCE " + Personne.SEQUENCE + " RESTART WITH "
+                + (firstId + rows + Personne.ID_ALLOCATION_SIZE - 1));
+        return firstId;
+    }
+
+    /**
+     * Lots de chunk-size lignes, pris à tour de rôle par threads connexions
+     */
+    private void insertChunks(long firstId, int rows) {
+        long chunks = (rows + chunkSize - 1) / chunkSize;
+        String insert = insertStatement((int) Math.min(chunkSize, rows));
+        AtomicLong nextChunk = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("personne-generator-"));
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < Math.min(threads, chunks); t++) {
+                workers.add(executor.submit(() -> {
+                    for (long chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                        int count = (int) Math.min(chunkSize, rows - chunk * chunkSize);
+                        insertChunk(count == chunkSize ? insert : insertStatement(count), firstId + chunk * chunkSize, count);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Génération interrompue", ex);
+        } catch (ExecutionException ex) {
+            // Les autres threads s'arrêtent après leur lot en cours
+            nextChunk.set(chunks);
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void insertChunk(String insert, long firstId, int count) {
+        try {
+            insertChunk(insert, firstId, count, Set.of());
+        } catch (DuplicateKeyException ex) {
+            // Numéro saisi à la main qui tombe sur un numéro généré : lot rejoué, ces lignes sans téléphone
+            List<String> telephones = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                telephones.add(telephone(firstId + i));
+            }
+            insertChunk(insert, firstId, count, new HashSet<>(personneRepository.findExistingTelephonesNormalized(telephones)));
+        }
+    }
+
+    private void insertChunk(String insert, long firstId, int count, Set<String> taken) {
+        // Graine fixée par le lot : rejoué, il produit les mêmes lignes
+        SplittableRandom random = new SplittableRandom(firstId);
+        jdbcTemplate.update(insert, ps -> {
+            int index = 1;
+            for (int i = 0; i < count; i++) {
+                String telephone = telephone(firstId + i);
+                boolean withTelephone = random.nextInt(20) != 0 && !taken.contains(telephone);
+                boolean withAdresse = random.nextInt(10) != 0;
+
+                ps.setLong(index++, firstId + i);
+                int nom = random.nextInt(NOMS.length);
+                int prenom = random.nextInt(PRENOMS.length);
+                ps.setString(index++, NOMS[nom]);
+                ps.setString(index++, PRENOMS[prenom]);
+                ps.setString(index++, NOM_KEYS[nom]);
+                ps.setString(index++, PRENOM_KEYS[prenom]);
+                ps.setDate(index++, Date.valueOf(LocalDate.ofEpochDay(FIRST_BIRTH_DAY + random.nextLong(BIRTH_DAYS))));
+                if (withAdresse) {
+                    ps.setString(index++, adresse(random));
+                } else {
+                    ps.setNull(index++, Types.VARCHAR);
+                }
+                if (withTelephone) {
+                    ps.setString(index++, formatted(telephone));
+                    ps.setString(index++, telephone);
+                } else {
+                    ps.setNull(index++, Types.VARCHAR);
+                    ps.setNull(index++, Types.VARCHAR);
+                }
+            }
+        });
+    }
+
+    private static String insertStatement(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO personne "
+                + "(id, nom, prenom, nom_phonetic, prenom_phonetic, date_naissance, adresse, telephone, "
+                + "telephone_normalized, version) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?").append(", ?".repeat(COLUMNS - 1)).append(", 0)");
+        }
+        return sql.toString();
+    }
+
+    private static String[] phoneticKeys(String[] names) {
+        String[] keys = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            keys[i] = PhoneticKey.of(names[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * Téléphone normalisé déduit de l'id : distinct pour les 50 millions premiers ids,
+     * d'une génération à l'autre
+     */
+    static String telephone(long id) {
+        long n = id - 1;
+        long suffix = (n / PREFIXES.length % SUFFIXES * SUFFIX_MULTIPLIER + 1_234_567L) % SUFFIXES;
+        return PREFIXES[(int) (n % PREFIXES.length)] + String.format("%07d", suffix);
+    }
+
+    // "771234567" -> "77 123 45 67", format enregistré par la création
+    private static String formatted(String telephone) {
+        return telephone.substring(0, 2) + ' ' + telephone.substring(2, 5) + ' '
+                + telephone.substring(5, 7) + ' ' + telephone.substring(7);
+    }
+
+    private static String adresse(SplittableRandom random) {
+        String villa = "Villa " + (1 + random.nextInt(500)) + ", ";
+        if (random.nextBoolean()) {
+            return villa + QUARTIERS[random.nextInt(QUARTIERS.length)] + ", Dakar";
+        }
+        return villa + "Quartier " + (1 + random.nextInt(30)) + ", " + VILLES[random.nextInt(VILLES.length)];
+    }
+}
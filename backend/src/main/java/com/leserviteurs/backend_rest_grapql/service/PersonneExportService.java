@@ -0,0 +1,128 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.leserviteurs.backend_rest_grapql.dto.ExportFormat;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.mapper.PersonneMapper;
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export de l'annuaire complet en flux.
+ * Les lignes sont lues une à une depuis la base (Stream + fetch size), écrites
+ * directement dans le flux de sortie puis détachées du contexte de persistance :
+ * la mémoire utilisée ne dépend pas de la taille de la table.
+ */
+@Service
+@Slf4j
+@AllArgsConstructor
+public class PersonneExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+    private static final String CSV_HEADER = "id,nom,prenom,dateNaissance,adresse,telephone";
+
+    private final PersonneRepository personneRepository;
+    private final PersonneMapper personneMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Écrire toutes les personnes, triées par id, dans le flux de sortie
+     * @return le nombre de personnes exportées
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.debug("Export des personnes au format {}", format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        long count = 0;
+
+        try (Stream<Personne> personnes = personneRepository.streamAll()) {
+            Iterator<Personne> iterator = personnes.iterator();
+
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            SequenceWriter jsonWriter = format == ExportFormat.NDJSON
+                    ? objectMapper.writerFor(PersonneDTO.class).withRootValueSeparator("\n").writeValues(writer)
+                    : null;
+
+            while (iterator.hasNext()) {
+                Personne personne = iterator.next();
+                PersonneDTO dto = personneMapper.toDTO(personne);
+
+                if (jsonWriter != null) {
+                    jsonWriter.write(dto);
+                } else {
+                    writeCsvLine(writer, dto);
+                }
+
+                // L'entité n'est plus utile : ne pas la garder dans le contexte de persistance
+                entityManager.detach(personne);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+
+            if (jsonWriter != null && count > 0) {
+                jsonWriter.flush();
+                writer.write('\n');
+            }
+        }
+
+        writer.flush();
+        log.info("Export terminé : {} personne(s)", count);
+        return count;
+    }
+
+    private void writeCsvLine(Writer writer, PersonneDTO dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writeCsvValue(writer, dto.getNom());
+        writer.write(',');
+        writeCsvValue(writer, dto.getPrenom());
+        writer.write(',');
+        writeCsvValue(writer, dto.getDateNaissance() != null ? dto.getDateNaissance().toString() : null);
+        writer.write(',');
+        writeCsvValue(writer, dto.getAdresse());
+        writer.write(',');
+        writeCsvValue(writer, dto.getTelephone());
+        writer.write('\n');
+    }
+
+    // RFC 4180 : guillemets autour des valeurs contenant virgule, guillemet ou saut de ligne
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,385 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.leserviteurs.backend_rest_grapql.config.CacheConfig;
+import com.leserviteurs.backend_rest_grapql.dto.ImportReportDTO;
+import com.leserviteurs.backend_rest_grapql.dto.ImportRowResultDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.mapper.PersonneMapper;
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.validation.PersonneValidator;
+import com.leserviteurs.backend_rest_grapql.validation.ValidationResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de personnes (POST /api/personnes/bulk), JSON ou CSV.
+ *
+ * Le fichier est lu en flux et traité par lots de app.import.chunk-size lignes :
+ * - validation de chaque ligne avec les règles de la création (PersonneValidator)
+ * - unicité du téléphone vérifiée pour tout le lot en une requête IN (...),
+ *   et entre les lignes du fichier
+ * - insertion du lot dans une transaction, en lots JDBC (ids réservés par la séquence)
+ *
+ * Si la base refuse le lot (téléphone créé entre-temps par un autre appel),
+ * le lot est rejoué ligne par ligne pour ne rejeter que les lignes fautives.
+ */
+@Service
+@Slf4j
+public class PersonneImportService {
+
+    private static final String TELEPHONE_EN_DOUBLE = "Ce numéro de téléphone apparaît plusieurs fois dans le fichier";
+
+    private final PersonneRepository personneRepository;
+    private final PersonneMapper personneMapper;
+    private final PersonneValidator personneValidator;
+    private final Validator beanValidator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final int chunkSize;
+
+    public PersonneImportService(
+            PersonneRepository personneRepository,
+            PersonneMapper personneMapper,
+            PersonneValidator personneValidator,
+            Validator beanValidator,
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            CacheManager cacheManager,
+            @Value("${app.import.chunk-size:1000}") int chunkSize) {
+        this.personneRepository = personneRepository;
+        this.personneMapper = personneMapper;
+        this.personneValidator = personneValidator;
+        this.beanValidator = beanValidator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Importer un tableau JSON de personnes : [{"nom": ..., "prenom": ...}, ...]
+     * @throws IllegalArgumentException si le corps n'est pas un tableau JSON
+     */
+    public ImportReportDTO importJson(InputStream inputStream) throws IOException {
+        log.info("Import en masse de personnes (JSON)");
+        Run run = new Run();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Le corps doit être un tableau JSON de personnes");
+            }
+
+            int line = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("JSON invalide : tableau non refermé");
+                }
+                line++;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    run.add(Row.invalid(line, "Objet personne attendu"));
+                    continue;
+                }
+                // Lecture en arbre : une valeur mal typée ne fait rejeter que sa ligne
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    run.add(Row.of(line, objectMapper.treeToValue(node, PersonneDTO.class)));
+                } catch (JsonProcessingException ex) {
+                    run.add(Row.invalid(line, "Valeur invalide : " + ex.getOriginalMessage()));
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("JSON invalide : " + ex.getOriginalMessage());
+        }
+
+        return run.finish();
+    }
+
+    /**
+     * Importer un CSV avec ligne d'en-tête (mêmes colonnes que l'export, id ignoré) :
+     * nom,prenom,dateNaissance,adresse,telephone
+     * @throws IllegalArgumentException si l'en-tête ne contient pas nom et prenom
+     */
+    public ImportReportDTO importCsv(InputStream inputStream) throws IOException {
+        log.info("Import en masse de personnes (CSV)");
+        Run run = new Run();
+
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 64 * 1024));
+
+        List<String> header = reader.next();
+        Map<String, Integer> columns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+            }
+        }
+        if (!columns.containsKey("nom") || !columns.containsKey("prenom")) {
+            throw new IllegalArgumentException(
+                    "En-tête CSV invalide : colonnes nom et prenom obligatoires (nom,prenom,dateNaissance,adresse,telephone)");
+        }
+
+        int line = 0;
+        List<String> values;
+        while ((values = reader.next()) != null) {
+            // Lignes vides ignorées (ex: saut de ligne final)
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            line++;
+            String date = csvValue(values, columns.get("datenaissance"));
+            PersonneDTO personne = PersonneDTO.builder()
+                    .nom(csvValue(values, columns.get("nom")))
+                    .prenom(csvValue(values, columns.get("prenom")))
+                    .adresse(csvValue(values, columns.get("adresse")))
+                    .telephone(csvValue(values, columns.get("telephone")))
+                    .build();
+            try {
+                personne.setDateNaissance(date != null ? LocalDate.parse(date) : null);
+                run.add(Row.of(line, personne));
+            } catch (DateTimeParseException ex) {
+                run.add(Row.invalid(line, "Date de naissance invalide (format attendu AAAA-MM-JJ) : " + date));
+            }
+        }
+
+        return run.finish();
+    }
+
+    private static String csvValue(List<String> values, Integer column) {
+        if (column == null || column >= values.size() || values.get(column).isEmpty()) {
+            return null;
+        }
+        return values.get(column);
+    }
+
+    /**
+     * Un import en cours : lot courant, téléphones déjà vus dans le fichier et rapport
+     */
+    private final class Run {
+
+        private final long start = System.currentTimeMillis();
+        private final List<Row> chunk = new ArrayList<>(chunkSize);
+        private final Set<String> telephonesInFile = new HashSet<>();
+        private final ImportReportDTO report = new ImportReportDTO();
+
+        void add(Row row) {
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        ImportReportDTO finish() {
+            flushChunk();
+            report.setTotal(report.getRows().size());
+            report.setDurationMs(System.currentTimeMillis() - start);
+            log.info("Import terminé : {} ligne(s), {} créée(s), {} rejetée(s) en {} ms",
+                    report.getTotal(), report.getCreated(), report.getFailed(), report.getDurationMs());
+            return report;
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            List<Row> valid = validate(chunk);
+            rejectExistingTelephones(valid);
+            insert(valid);
+
+            for (Row row : chunk) {
+                report.getRows().add(row.result());
+                if (row.id != null) {
+                    report.setCreated(report.getCreated() + 1);
+                } else {
+                    report.setFailed(report.getFailed() + 1);
+                }
+            }
+            chunk.clear();
+        }
+
+        // Règles de la création, sans accès à la base
+        private List<Row> validate(List<Row> rows) {
+            List<Row> valid = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                if (row.error != null) {
+                    continue;
+                }
+
+                Set<ConstraintViolation<PersonneDTO>> violations = beanValidator.validate(row.personne);
+                if (!violations.isEmpty()) {
+                    row.error = violations.stream()
+                            .map(v -> v.getPropertyPath() + " : " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; "));
+                    continue;
+                }
+
+                ValidationResult validation = personneValidator.validateAndNormalize(row.personne);
+                if (!validation.isValid()) {
+                    row.error = validation.getMessage();
+                    continue;
+                }
+
+                row.telephoneNormalized = validation.getTelephoneNormalized();
+                if (row.telephoneNormalized != null && !telephonesInFile.add(row.telephoneNormalized)) {
+                    row.error = TELEPHONE_EN_DOUBLE;
+                    continue;
+                }
+
+                valid.add(row);
+            }
+            return valid;
+        }
+
+        // Une seule requête IN (...) pour les téléphones de tout le lot
+        private void rejectExistingTelephones(List<Row> rows) {
+            List<String> telephones = rows.stream()
+                    .map(row -> row.telephoneNormalized)
+                    .filter(telephone -> telephone != null)
+                    .collect(Collectors.toList());
+            if (telephones.isEmpty()) {
+                return;
+            }
+
+            Set<String> existing = new HashSet<>(personneRepository.findExistingTelephonesNormalized(telephones));
+            if (existing.isEmpty()) {
+                return;
+            }
+            rows.removeIf(row -> {
+                if (row.telephoneNormalized != null && existing.contains(row.telephoneNormalized)) {
+                    row.error = PersonneServiceImpl.TELEPHONE_EXISTE_DEJA;
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        private void insert(List<Row> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> save(rows));
+            } catch (DataIntegrityViolationException ex) {
+                log.warn("Lot refusé par la base ({}), reprise ligne par ligne",
+                        ex.getMostSpecificCause().getMessage());
+                for (Row row : rows) {
+                    row.id = null;
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> save(List.of(row)));
+                    } catch (DataIntegrityViolationException rowEx) {
+                        row.id = null;
+                        String cause = String.valueOf(rowEx.getMostSpecificCause().getMessage()).toLowerCase();
+                        row.error = cause.contains(Personne.UK_TELEPHONE_NORMALIZED)
+                                ? PersonneServiceImpl.TELEPHONE_EXISTE_DEJA
+                                : "Enregistrement refusé par la base";
+                    }
+                }
+            }
+
+            // Les recherches en cache ne contiennent pas les nouvelles personnes
+            Cache searchCache = cacheManager.getCache(CacheConfig.PERSONNE_SEARCH);
+            if (searchCache != null) {
+                searchCache.clear();
+            }
+        }
+
+        // Dans la transaction : INSERT groupés par hibernate.jdbc.batch_size, puis contexte vidé
+        private void save(List<Row> rows) {
+            List<Personne> personnes = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                personnes.add(personneMapper.toEntity(row.personne));
+            }
+            personneRepository.saveAll(personnes);
+            personneRepository.flush();
+            entityManager.clear();
+
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                row.id = personnes.get(i).getId();
+                row.personne.setId(row.id);
+                eventPublisher.publishEvent(PersonneChangedEvent.created(row.personne));
+            }
+        }
+    }
+
+    /**
+     * Une ligne du fichier et son état au fil du traitement
+     */
+    private static final class Row {
+
+        private final int line;
+        private final PersonneDTO personne;
+        private String telephoneNormalized;
+        private String error;
+        private Long id;
+
+        private Row(int line, PersonneDTO personne, String error) {
+            this.line = line;
+            this.personne = personne;
+            this.error = error;
+        }
+
+        static Row of(int line, PersonneDTO personne) {
+            return new Row(line, personne, null);
+        }
+
+        static Row invalid(int line, String error) {
+            return new Row(line, null, error);
+        }
+
+        ImportRowResultDTO result() {
+            return ImportRowResultDTO.builder()
+                    .line(line)
+                    .status(id != null ? ImportRowResultDTO.Status.CREATED : ImportRowResultDTO.Status.ERROR)
+                    .id(id)
+                    .error(id != null ? null : error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Regroupement des lectures identiques simultanées (search, findAll) de PersonneService.
+ *
+ * Le premier appel pour des arguments donnés exécute la requête ; les appels identiques qui arrivent
+ * pendant ce temps attendent et reçoivent le même résultat (une copie non modifiable de la liste, ou la même
+ * exception), sans requête en base.
+ * Les arguments sont normalisés comme pour le cache de recherche (personneSearchKeyGenerator) :
+ * "DIOP" et " diop " ne font qu'une requête.
+ *
+ * - placé après PersonneServiceObservation (chaque appel reste mesuré) et avant le cache et la
+ *   transaction : un appel regroupé n'ouvre pas de transaction et ne prend pas de connexion
+ * - un appel qui attend plus de max-wait exécute sa propre requête
+ * - après chaque écriture validée (PersonneChangedEvent), les lectures en cours ne sont plus partagées :
+ *   un appel arrivé après le commit ne reçoit pas un résultat lu avant
+ * - compteur personne.read.coalescing (tags operation, role = leader, merged ou timeout)
+ * - désactivable avec app.coalescing.enabled=false
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class PersonneReadCoalescing {
+
+    public static final String COALESCING = "personne.read.coalescing";
+
+    private final KeyGenerator searchKeyGenerator;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration maxWait;
+
+    // operation|role -> compteur, enregistré au premier usage
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // Arguments normalisés -> lecture en cours
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public PersonneReadCoalescing(
+            @Qualifier("personneSearchKeyGenerator") KeyGenerator searchKeyGenerator,
+            MeterRegistry meterRegistry,
+            @Value("${app.coalescing.enabled:true}") boolean enabled,
+            @Value("${app.coalescing.max-wait:2s}") Duration maxWait) {
+        this.searchKeyGenerator = searchKeyGenerator;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+    }
+
+    @Around("execution(public * com.leserviteurs.backend_rest_grapql.service.PersonneService+.search(..))"
+            + " || execution(public * com.leserviteurs.backend_rest_grapql.service.PersonneService+.findAll(..))")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+
+        String operation = joinPoint.getSignature().getName();
+        List<Object> key = key(joinPoint, operation);
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            return lead(joinPoint, operation, key, flight);
+        }
+
+        try {
+            Object result = existing.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            count(operation, "merged");
+            return result;
+        } catch (ExecutionException ex) {
+            count(operation, "merged");
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            count(operation, "timeout");
+            log.debug("Lecture {} en cours depuis plus de {} : requête séparée", operation, maxWait);
+            return joinPoint.proceed();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Attente de la lecture " + operation + " interrompue", ex);
+        }
+    }
+
+    private Object lead(ProceedingJoinPoint joinPoint, String operation, List<Object> key,
+            CompletableFuture<Object> flight) throws Throwable {
+        count(operation, "leader");
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(shared(result));
+            return result;
+        } catch (Throwable ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Copie non modifiable pour les appels regroupés : la liste du leader reste à son appelant,
+     * qui peut la trier ou la tronquer sans toucher aux résultats des autres
+     */
+    private static Object shared(Object result) {
+        return result instanceof List<?> list ? Collections.unmodifiableList(new ArrayList<>(list)) : result;
+    }
+
+    /**
+     * Les lectures commencées avant une écriture ne sont plus proposées aux nouveaux appels
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonneChanged(PersonneChangedEvent event) {
+        inFlight.clear();
+    }
+
+    /**
+     * search : clé du cache de recherche (filtres normalisés, fuzzy, champs) ;
+     * findAll : champs et limite (findAll() lit tous les champs)
+     */
+    private List<Object> key(ProceedingJoinPoint joinPoint, String operation) {
+        Object[] args = joinPoint.getArgs();
+        List<Object> key = new ArrayList<>(args.length + 1);
+        key.add(operation);
+        if ("search".equals(operation)) {
+            key.add(searchKeyGenerator.generate(joinPoint.getTarget(),
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(), args));
+        } else if (args.length == 0) {
+            key.add(PersonneField.ALL);
+        } else {
+            key.addAll(Arrays.asList(args));
+        }
+        return key;
+    }
+
+    private void count(String operation, String role) {
+        counters.computeIfAbsent(operation + "|" + role, key -> Counter.builder(COALESCING)
+                .description("Lectures identiques simultanées : exécutées (leader), regroupées (merged) "
+                        + "ou exécutées après max-wait (timeout)")
+                .tag("operation", operation)
+                .tag("role", role)
+                .register(meterRegistry))
+                .increment();
+    }
+}
@@ -1,8 +1,14 @@
 package com.leserviteurs.backend_rest_grapql.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneOrder;
+import com.leserviteurs.backend_rest_grapql.dto.PersonnePageDTO;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
 
 public interface PersonneService {
 
@@ -12,21 +18,50 @@ public interface PersonneService {
     // UPDATE - Pour REST (PUT)
     PersonneDTO update(Long id, PersonneDTO personneDTO);
 
+    // UPDATE conditionnel (If-Match) : PreconditionFailedException si la version en base a changé
+    PersonneDTO update(Long id, PersonneDTO personneDTO, Long expectedVersion);
+
+    // PATCH - Pour REST : seuls les champs donnés (parmi PersonneField.EDITABLE) sont validés et modifiés
+    PersonneDTO patch(Long id, PersonneDTO changes, Set<PersonneField> fields, Long expectedVersion);
+
     // DELETE - Pour REST (DELETE)
     void delete(Long id);
 
     // READ ALL - Pour GraphQL (Query)
     List<PersonneDTO> findAll();
 
+    // READ ALL limitée aux champs demandés (sélection GraphQL)
+    List<PersonneDTO> findAll(Set<PersonneField> fields);
+
+    // Au plus limit personnes, par id croissant
+    List<PersonneDTO> findAll(Set<PersonneField> fields, int limit);
+
+    // READ PAGE - Pagination keyset (REST GET et GraphQL personnes)
+    PersonnePageDTO findPage(String nom, String prenom, String telephone,
+            PersonneOrder orderBy, Integer size, String after);
+
+    PersonnePageDTO findPage(String nom, String prenom, String telephone,
+            PersonneOrder orderBy, Integer size, String after, Set<PersonneField> fields);
+
     // READ ONE 
     PersonneDTO findById(Long id);
 
+    // READ MANY - Plusieurs ids en une requête (DataLoader GraphQL), ids inconnus absents de la map
+    Map<Long, PersonneDTO> findAllById(Collection<Long> ids);
+
     // // Nouvelle méthode (pour GraphQL)
     // PersonneDTO findByIdOrNull(Long id);
 
     // SEARCH - Pour GraphQL (Query avec filtres)
     List<PersonneDTO> search(String nom, String prenom, String telephone);
 
+    List<PersonneDTO> search(String nom, String prenom, String telephone, Set<PersonneField> fields);
+
+    // SEARCH fuzzy - nom et prénom comparés par clé phonétique, résultats classés par distance d'édition ;
+    // au plus limit personnes (les limit premières de l'ordre habituel)
+    List<PersonneDTO> search(String nom, String prenom, String telephone, boolean fuzzy, Set<PersonneField> fields,
+            int limit);
+
     // Réinitialiser la base de donnee
     void resetTable();
 }
\ No newline at end of file
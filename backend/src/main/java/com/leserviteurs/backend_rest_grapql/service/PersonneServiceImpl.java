@@ -2,21 +2,45 @@ package com.leserviteurs.backend_rest_grapql.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.leserviteurs.backend_rest_grapql.config.CacheConfig;
 import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneOrder;
+import com.leserviteurs.backend_rest_grapql.dto.PersonnePageDTO;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.exception.PersonneValidationException;
+import com.leserviteurs.backend_rest_grapql.exception.PreconditionFailedException;
 import com.leserviteurs.backend_rest_grapql.exception.ResourceNotFoundException;
 import com.leserviteurs.backend_rest_grapql.mapper.PersonneMapper;
 import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.repository.DuplicateCandidateRepository;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
 import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
-import com.leserviteurs.backend_rest_grapql.validation.ValidationUtils;
-
-import java.time.LocalDate;
-import java.time.Period;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+import com.leserviteurs.backend_rest_grapql.search.SearchFilters;
+import com.leserviteurs.backend_rest_grapql.search.TrigramSearchIndex;
+import com.leserviteurs.backend_rest_grapql.validation.PersonneValidator;
+import com.leserviteurs.backend_rest_grapql.validation.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -24,250 +48,426 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class PersonneServiceImpl implements PersonneService {
 
+    // Taille de page par défaut et maximale de la pagination keyset
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Nombre maximal d'ids lus par une seule requête IN (...) de findAllById
+    public static final int MAX_IDS_PER_QUERY = 1000;
+
+    // Nombre maximal de personnes lues puis classées par une recherche fuzzy
+    public static final int MAX_FUZZY_CANDIDATES = 5000;
+
+    public static final String TELEPHONE_EXISTE_DEJA = "Ce numéro de téléphone existe déjà";
+    private static final String TELEPHONE_DEJA_UTILISE = "Ce numéro de téléphone est déjà utilisé par une autre personne";
+    public static final String PERSONNE_MODIFIEE = "La personne a été modifiée entre-temps, rechargez-la avant de la modifier";
+
     private final PersonneRepository personneRepository;
+    private final DuplicateCandidateRepository duplicateCandidateRepository;
     private final PersonneMapper personneMapper;
+    private final PersonneValidator personneValidator;
+    private final TrigramSearchIndex trigramSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     /**
      * CREATE - Créer une nouvelle personne
      */
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.PERSONNES, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PERSONNE_SEARCH, allEntries = true))
     public PersonneDTO create(PersonneDTO personneDTO) {
-        log.info("Création d'une nouvelle personne : {}", personneDTO);
-
-        // ========== VALIDATIONS MÉTIER ==========
-
-        // Validation Nom
-        if (!ValidationUtils.isValidNom(personneDTO.getNom())) {
-            throw new IllegalArgumentException(
-                    "Le nom ne doit contenir que des lettres et des espaces (pas de chiffres ni symboles)");
-        }
+        log.debug("Création d'une nouvelle personne");
 
-        // Validation Prénom
-        if (!ValidationUtils.isValidNom(personneDTO.getPrenom())) {
-            throw new IllegalArgumentException(
-                    "Le prénom ne doit contenir que des lettres et des espaces (pas de chiffres ni symboles)");
+        // ========== VALIDATIONS MÉTIER (et normalisation des données) ==========
+        ValidationResult validation = personneValidator.validateAndNormalize(personneDTO);
+        if (!validation.isValid()) {
+            throw new PersonneValidationException(validation);
         }
 
-        // Validation Téléphone
-        if (personneDTO.getTelephone() != null && !personneDTO.getTelephone().isEmpty()) {
-            if (!ValidationUtils.isValidTelephone(personneDTO.getTelephone())) {
-                throw new IllegalArgumentException(
-                        "Le numéro de téléphone doit être un numéro sénégalais valide (9 chiffres commençant par 7)");
-            }
-
-            // ========== VÉRIFIER UNICITÉ (CORRIGÉ) ==========
-            String telephoneCleaned = personneDTO.getTelephone().replaceAll("\\s+", "");
-
-            Optional<Personne> existingPersonne = personneRepository.findByTelephoneCleaned(telephoneCleaned);
-
-            if (existingPersonne.isPresent()) {
-                throw new IllegalArgumentException(
-                        "Ce numéro de téléphone existe déjà");
-            }
-        }
-
-        // Validation Adresse
-        if (personneDTO.getAdresse() != null && !personneDTO.getAdresse().isEmpty()) {
-            if (!ValidationUtils.isValidAdresse(personneDTO.getAdresse())) {
-                throw new IllegalArgumentException(
-                        "L'adresse contient des caractères invalides. Seuls les lettres, chiffres, espaces, tirets, virgules et points sont autorisés");
-            }
-        }
-
-        // Vérifier la date de naissance
-        if (personneDTO.getDateNaissance() != null) {
-            LocalDate today = LocalDate.now();
-
-            if (personneDTO.getDateNaissance().isAfter(today)) {
-                throw new IllegalArgumentException(
-                        "La date de naissance ne peut pas être dans le futur");
-            }
-
-            int age = Period.between(personneDTO.getDateNaissance(), today).getYears();
-
-            if (age < 1) {
-                throw new IllegalArgumentException("La personne doit avoir au moins 1 an");
-            }
-
-            if (age > 120) {
-                throw new IllegalArgumentException("La date de naissance n'est pas réaliste");
-            }
-        }
-
-        // Normaliser les données
-        personneDTO.setNom(personneDTO.getNom().trim().toUpperCase());
-        personneDTO.setPrenom(capitalizeFirstLetter(personneDTO.getPrenom().trim()));
-
-        if (personneDTO.getAdresse() != null && !personneDTO.getAdresse().isEmpty()) {
-            personneDTO.setAdresse(personneDTO.getAdresse().trim());
-        }
-
-        if (personneDTO.getTelephone() != null && !personneDTO.getTelephone().isEmpty()) {
-            personneDTO.setTelephone(
-                    ValidationUtils.formatTelephone(
-                            personneDTO.getTelephone().replaceAll("\\s+", "")));
+        // ========== VÉRIFIER UNICITÉ (sonde sur l'index unique) ==========
+        String telephoneNormalized = validation.getTelephoneNormalized();
+        if (telephoneNormalized != null && personneRepository.existsByTelephoneNormalized(telephoneNormalized)) {
+            throw new IllegalArgumentException(TELEPHONE_EXISTE_DEJA);
         }
 
         // ========== FIN VALIDATIONS ==========
 
         Personne personne = personneMapper.toEntity(personneDTO);
-        Personne savedPersonne = personneRepository.save(personne);
+        Personne savedPersonne = saveAndCheckTelephone(personne, TELEPHONE_EXISTE_DEJA);
 
-        log.info("Personne créée avec l'ID : {}", savedPersonne.getId());
+        log.debug("Personne créée avec l'ID : {}", savedPersonne.getId());
 
-        return personneMapper.toDTO(savedPersonne);
+        PersonneDTO created = personneMapper.toDTO(savedPersonne);
+        eventPublisher.publishEvent(PersonneChangedEvent.created(created));
+        return created;
     }
 
     /**
-     * UPDATE - Modifier une personne existante
+     * UPDATE - Modifier une personne existante (tous les champs)
      */
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.PERSONNES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PERSONNE_SEARCH, allEntries = true))
     public PersonneDTO update(Long id, PersonneDTO personneDTO) {
-        log.info("Modification de la personne avec l'ID : {}", id);
-
-        // 1. Vérifier si la personne existe
-        Personne existingPersonne = personneRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Personne non trouvée avec l'ID : " + id));
+        return updateFields(id, personneDTO, PersonneField.EDITABLE, null);
+    }
 
-        // ========== VALIDATIONS POUR LA MODIFICATION ==========
+    /**
+     * UPDATE conditionnel : la personne doit encore être à la version expectedVersion
+     * (null : pas de condition)
+     */
+    @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.PERSONNES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PERSONNE_SEARCH, allEntries = true))
+    public PersonneDTO update(Long id, PersonneDTO personneDTO, Long expectedVersion) {
+        return updateFields(id, personneDTO, PersonneField.EDITABLE, expectedVersion);
+    }
 
-        // Validation Nom
-        if (personneDTO.getNom() == null || personneDTO.getNom().trim().isEmpty()) {
-            throw new IllegalArgumentException("Le nom ne peut pas être vide");
-        }
-        if (!ValidationUtils.isValidNom(personneDTO.getNom())) {
-            throw new IllegalArgumentException(
-                    "Le nom ne doit contenir que des lettres et des espaces (pas de chiffres ni symboles)");
+    /**
+     * PATCH - Modifier les seuls champs donnés, validés seuls
+     */
+    @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.PERSONNES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PERSONNE_SEARCH, allEntries = true))
+    public PersonneDTO patch(Long id, PersonneDTO changes, Set<PersonneField> fields, Long expectedVersion) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("Aucun champ à modifier");
         }
+        return updateFields(id, changes, fields, expectedVersion);
+    }
 
-        // Validation Prénom
-        if (personneDTO.getPrenom() == null || personneDTO.getPrenom().trim().isEmpty()) {
-            throw new IllegalArgumentException("Le prénom ne peut pas être vide");
-        }
-        if (!ValidationUtils.isValidNom(personneDTO.getPrenom())) {
-            throw new IllegalArgumentException(
-                    "Le prénom ne doit contenir que des lettres et des espaces (pas de chiffres ni symboles)");
+    /**
+     * Un seul UPDATE ... SET <champs donnés> WHERE id = ? [AND version = ?], sans lecture préalable :
+     * - l'unicité du téléphone est vérifiée par l'index unique pendant l'UPDATE
+     * - 0 ligne modifiée : personne inexistante (404) ou modifiée entre-temps (412),
+     *   distingués par une sonde uniquement dans ce cas
+     * - la personne n'est relue que si la réponse ne peut pas être déduite de la requête
+     *   (modification partielle, ou version inconnue faute d'If-Match)
+     */
+    private PersonneDTO updateFields(Long id, PersonneDTO personneDTO, Set<PersonneField> fields,
+            Long expectedVersion) {
+        log.debug("Modification de la personne avec l'ID : {} - Champs: {}", id, fields);
+
+        // ========== VALIDATIONS DES CHAMPS DONNÉS (et normalisation des données) ==========
+        ValidationResult validation = personneValidator.validateAndNormalize(personneDTO, fields);
+        if (!validation.isValid()) {
+            throw new PersonneValidationException(validation);
         }
 
-        // Validation Date de naissance
-        if (personneDTO.getDateNaissance() != null) {
-            LocalDate today = LocalDate.now();
-
-            if (personneDTO.getDateNaissance().isAfter(today)) {
-                throw new IllegalArgumentException(
-                        "La date de naissance ne peut pas être dans le futur");
-            }
-
-            int age = Period.between(personneDTO.getDateNaissance(), today).getYears();
-
-            if (age < 1) {
-                throw new IllegalArgumentException("La personne doit avoir au moins 1 an");
-            }
-
-            if (age > 120) {
-                throw new IllegalArgumentException("La date de naissance n'est pas réaliste");
-            }
+        int updatedRows;
+        try {
+            updatedRows = personneRepository.updateFields(id, personneDTO, validation.getTelephoneNormalized(),
+                    fields, expectedVersion);
+        } catch (DataIntegrityViolationException ex) {
+            throw telephoneError(ex, TELEPHONE_DEJA_UTILISE);
         }
 
-        // Validation Téléphone
-        if (personneDTO.getTelephone() != null && !personneDTO.getTelephone().isEmpty()) {
-            if (!ValidationUtils.isValidTelephone(personneDTO.getTelephone())) {
-                throw new IllegalArgumentException(
-                        "Le numéro de téléphone doit être un numéro sénégalais valide (9 chiffres commençant par 7)");
-            }
-
-            // ========== VÉRIFIER UNICITÉ (CORRIGÉ) ==========
-            String telephoneCleaned = personneDTO.getTelephone().replaceAll("\\s+", "");
-
-            Optional<Personne> existingTelephone = personneRepository.findByTelephoneCleaned(telephoneCleaned);
-
-            // Vérifier si le téléphone existe ET qu'il n'appartient pas à la personne
-            // actuelle
-            if (existingTelephone.isPresent() && !existingTelephone.get().getId().equals(id)) {
-                throw new IllegalArgumentException(
-                        "Ce numéro de téléphone est déjà utilisé par une autre personne");
+        if (updatedRows == 0) {
+            if (expectedVersion == null || !personneRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Personne non trouvée avec l'ID : " + id);
             }
+            throw new PreconditionFailedException(PERSONNE_MODIFIEE);
         }
 
-        // Validation Adresse
-        if (personneDTO.getAdresse() != null && !personneDTO.getAdresse().isEmpty()) {
-            if (!ValidationUtils.isValidAdresse(personneDTO.getAdresse())) {
-                throw new IllegalArgumentException(
-                        "L'adresse contient des caractères invalides. Seuls les lettres, chiffres, espaces, tirets, virgules et points sont autorisés");
+        PersonneDTO updated;
+        if (expectedVersion != null && fields.containsAll(PersonneField.EDITABLE)) {
+            updated = PersonneDTO.builder()
+                    .id(id)
+                    .nom(personneDTO.getNom())
+                    .prenom(personneDTO.getPrenom())
+                    .dateNaissance(personneDTO.getDateNaissance())
+                    .adresse(personneDTO.getAdresse())
+                    .telephone(personneDTO.getTelephone())
+                    .version(expectedVersion + 1)
+                    .build();
+        } else {
+            // Supprimée entre l'UPDATE et la relecture : 404 plutôt qu'une erreur 500
+            List<PersonneDTO> rows = personneRepository.findAllByIdProjected(List.of(id), PersonneField.ALL);
+            if (rows.isEmpty()) {
+                throw new ResourceNotFoundException("Personne non trouvée avec l'ID : " + id);
             }
+            updated = rows.get(0);
         }
 
-        // Normaliser les données
-        personneDTO.setNom(personneDTO.getNom().trim().toUpperCase());
-        personneDTO.setPrenom(capitalizeFirstLetter(personneDTO.getPrenom().trim()));
+        log.debug("Personne modifiée avec succès : {}", id);
 
-        if (personneDTO.getAdresse() != null && !personneDTO.getAdresse().isEmpty()) {
-            personneDTO.setAdresse(personneDTO.getAdresse().trim());
-        }
+        eventPublisher.publishEvent(PersonneChangedEvent.updated(updated));
+        return updated;
+    }
 
-        if (personneDTO.getTelephone() != null && !personneDTO.getTelephone().isEmpty()) {
-            personneDTO.setTelephone(
-                    ValidationUtils.formatTelephone(
-                            personneDTO.getTelephone().replaceAll("\\s+", "")));
+    /**
+     * Enregistrer immédiatement (flush) pour que la contrainte unique sur
+     * telephone_normalized soit vérifiée ici : deux créations concurrentes
+     * avec le même numéro passent toutes deux la sonde exists, mais la base
+     * refuse la seconde, traduite en la même erreur métier.
+     */
+    private Personne saveAndCheckTelephone(Personne personne, String message) {
+        try {
+            return personneRepository.saveAndFlush(personne);
+        } catch (DataIntegrityViolationException ex) {
+            throw telephoneError(ex, message);
         }
-
-        // ========== FIN VALIDATIONS ==========
-
-        personneMapper.updateEntityFromDTO(personneDTO, existingPersonne);
-        Personne updatedPersonne = personneRepository.save(existingPersonne);
-
-        log.info("Personne modifiée avec succès : {}", id);
-
-        return personneMapper.toDTO(updatedPersonne);
     }
 
-    private String capitalizeFirstLetter(String text) {
-        if (text == null || text.isEmpty())
-            return text;
-        return text.substring(0, 1).toUpperCase() + text.substring(1).toLowerCase();
+    /**
+     * Violation de la contrainte unique du téléphone : même erreur métier que la sonde exists
+     */
+    private static RuntimeException telephoneError(DataIntegrityViolationException ex, String message) {
+        String cause = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase();
+        if (cause.contains(Personne.UK_TELEPHONE_NORMALIZED)) {
+            return new IllegalArgumentException(message);
+        }
+        return ex;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PERSONNES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PERSONNE_SEARCH, allEntries = true) })
     public void delete(Long id) {
-        log.info("Suppression de la personne avec l'ID : {}", id);
+        log.debug("Suppression de la personne avec l'ID : {}", id);
         if (!personneRepository.existsById(id)) {
             throw new ResourceNotFoundException("Personne non trouvée avec l'ID : " + id);
         }
         personneRepository.deleteById(id);
-        log.info("Personne supprimée avec succès : {}", id);
+        eventPublisher.publishEvent(PersonneChangedEvent.deleted(id));
+        log.debug("Personne supprimée avec succès : {}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PersonneDTO> findAll() {
-        log.info("Récupération de toutes les personnes");
-        List<Personne> personnes = personneRepository.findAll();
-        return personnes.stream().map(personneMapper::toDTO).collect(Collectors.toList());
+        return findAll(PersonneField.ALL);
+    }
+
+    /**
+     * Lecture des seules colonnes demandées, sans charger d'entités (voir PersonneProjectionRepository)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PersonneDTO> findAll(Set<PersonneField> fields) {
+        log.debug("Récupération de toutes les personnes - Champs: {}", fields);
+        return personneRepository.findAllProjected(fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PersonneDTO> findAll(Set<PersonneField> fields, int limit) {
+        log.debug("Récupération d'au plus {} personnes - Champs: {}", limit, fields);
+        return personneRepository.findAllProjected(fields, limit);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public PersonnePageDTO findPage(String nom, String prenom, String telephone,
+            PersonneOrder orderBy, Integer size, String after) {
+        return findPage(nom, prenom, telephone, orderBy, size, after, PersonneField.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PersonnePageDTO findPage(String nom, String prenom, String telephone,
+            PersonneOrder orderBy, Integer size, String after, Set<PersonneField> fields) {
+        PersonneOrder order = orderBy != null ? orderBy : PersonneOrder.ID;
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("La taille de page doit être supérieure à 0");
+        }
+        pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+
+        nom = SearchFilters.name(nom);
+        prenom = SearchFilters.name(prenom);
+        telephone = SearchFilters.telephone(telephone);
+        PersonneCursor cursor = after == null || after.isEmpty()
+                ? PersonneCursor.first(order)
+                : PersonneCursor.decode(after, order);
+
+        // Les colonnes de la clé de tri sont toujours lues : elles forment le curseur
+        Set<PersonneField> columns = EnumSet.noneOf(PersonneField.class);
+        columns.addAll(fields);
+        columns.add(PersonneField.ID);
+        if (order == PersonneOrder.NOM_PRENOM) {
+            columns.add(PersonneField.NOM);
+            columns.add(PersonneField.PRENOM);
+        }
+
+        log.debug("Récupération d'une page de personnes - Tri: {}, Taille: {}", order, pageSize);
+
+        // Lire une ligne de plus que demandé pour savoir s'il existe une page suivante
+        List<PersonneDTO> personnes = order == PersonneOrder.ID
+                ? personneRepository.findPageOrderByIdProjected(nom, prenom, telephone,
+                        cursor.getId(), pageSize + 1, columns)
+                : personneRepository.findPageOrderByNomPrenomProjected(nom, prenom, telephone,
+                        cursor.getNom(), cursor.getPrenom(), cursor.getId(), pageSize + 1, columns);
+
+        boolean hasNext = personnes.size() > pageSize;
+        List<PersonneDTO> content = hasNext ? personnes.subList(0, pageSize) : personnes;
+
+        return PersonnePageDTO.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? PersonneCursor.encode(content.get(content.size() - 1), order) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PERSONNES, key = "#id")
     public PersonneDTO findById(Long id) {
-        log.info("Récupération de la personne avec l'ID : {}", id);
+        log.debug("Récupération de la personne avec l'ID : {}", id);
         Personne personne = personneRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Personne non trouvée avec l'ID : " + id));
         return personneMapper.toDTO(personne);
     }
 
+    /**
+     * Lecture groupée par ids, partagée avec le cache de findById :
+     * les ids déjà en cache ne sont pas relus, les autres sont lus en un seul
+     * SELECT ... WHERE id IN (...) puis mis en cache.
+     */
     @Override
     @Transactional(readOnly = true)
+    public Map<Long, PersonneDTO> findAllById(Collection<Long> ids) {
+        if (ids.size() > MAX_IDS_PER_QUERY) {
+            throw new IllegalArgumentException(
+                    "Au plus " + MAX_IDS_PER_QUERY + " ids peuvent être lus en une requête");
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.PERSONNES);
+        Map<Long, PersonneDTO> personnes = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            PersonneDTO cached = cache.get(id, PersonneDTO.class);
+            if (cached != null) {
+                personnes.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        log.debug("Récupération de {} personne(s) par ID - {} en cache", ids.size(), personnes.size());
+
+        if (!misses.isEmpty()) {
+            for (PersonneDTO personne : personneRepository.findAllByIdProjected(misses, PersonneField.ALL)) {
+                cache.put(personne.getId(), personne);
+                personnes.put(personne.getId(), personne);
+            }
+        }
+        return personnes;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PERSONNE_SEARCH, keyGenerator = "personneSearchKeyGenerator")
     public List<PersonneDTO> search(String nom, String prenom, String telephone) {
-        log.info("Recherche de personnes avec filtres - Nom: {}, Prénom: {}, Tél: {}", nom, prenom, telephone);
-        List<Personne> personnes = personneRepository.searchPersonnes(nom, prenom, telephone);
-        return personnes.stream().map(personneMapper::toDTO).collect(Collectors.toList());
+        return searchProjected(nom, prenom, telephone, PersonneField.ALL);
+    }
+
+    /**
+     * Recherche limitée aux champs demandés. La clé de cache inclut les champs,
+     * sauf s'ils sont tous demandés (entrée partagée avec search sans sélection).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PERSONNE_SEARCH, keyGenerator = "personneSearchKeyGenerator")
+    public List<PersonneDTO> search(String nom, String prenom, String telephone, Set<PersonneField> fields) {
+        return searchProjected(nom, prenom, telephone, fields);
+    }
+
+    /**
+     * Recherche fuzzy : "Ndiaye", "N'Diaye" et "Njaay" trouvent les mêmes personnes (voir PhoneticKey).
+     * Lecture par les index des clés phonétiques, puis classement par distance d'édition au texte
+     * recherché (nom + prénom), à égalité par id. Sans nom ni prénom, recherche habituelle.
+     *
+     * La limite est appliquée par la requête (ou aux ids de l'index trigramme avant la lecture) :
+     * une recherche sans filtre ne lit pas toute la table. La recherche fuzzy lit au plus
+     * MAX_FUZZY_CANDIDATES candidats, classés avant d'être limités.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PERSONNE_SEARCH, keyGenerator = "personneSearchKeyGenerator")
+    public List<PersonneDTO> search(String nom, String prenom, String telephone, boolean fuzzy,
+            Set<PersonneField> fields, int limit) {
+        String nomPhonetic = fuzzy ? PhoneticKey.of(nom) : null;
+        String prenomPhonetic = fuzzy ? PhoneticKey.of(prenom) : null;
+        if (nomPhonetic == null && prenomPhonetic == null) {
+            return searchProjected(nom, prenom, telephone, fields, limit);
+        }
+
+        log.debug("Recherche fuzzy de personnes - Nom: {} ({}), Prénom: {} ({}), Tél: {}",
+                nom, nomPhonetic, prenom, prenomPhonetic, telephone);
+
+        // Le nom et le prénom sont lus même s'ils ne sont pas demandés : ils servent au classement
+        Set<PersonneField> columns = EnumSet.of(PersonneField.ID, PersonneField.NOM, PersonneField.PRENOM);
+        columns.addAll(fields);
+        List<PersonneDTO> candidates = personneRepository.searchPhoneticProjected(nomPhonetic, prenomPhonetic,
+                SearchFilters.telephone(telephone), MAX_FUZZY_CANDIDATES, columns);
+        if (candidates.size() == MAX_FUZZY_CANDIDATES) {
+            log.debug("Recherche fuzzy limitée à {} candidats (clés exactes d'abord) : {} {}",
+                    MAX_FUZZY_CANDIDATES, nomPhonetic, prenomPhonetic);
+        }
+
+        Map<Long, Integer> distances = new HashMap<>(candidates.size() * 2);
+        for (PersonneDTO candidate : candidates) {
+            distances.put(candidate.getId(), PhoneticKey.distance(nom, candidate.getNom())
+                    + PhoneticKey.distance(prenom, candidate.getPrenom()));
+        }
+        candidates.sort(Comparator.comparing((PersonneDTO candidate) -> distances.get(candidate.getId()))
+                .thenComparing(PersonneDTO::getId));
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    private List<PersonneDTO> searchProjected(String nom, String prenom, String telephone,
+            Set<PersonneField> fields) {
+        return searchProjected(nom, prenom, telephone, fields, null);
     }
 
+    /**
+     * @param limit nombre maximal de personnes (les premières par id), null : toutes
+     */
+    private List<PersonneDTO> searchProjected(String nom, String prenom, String telephone,
+            Set<PersonneField> fields, Integer limit) {
+        log.debug("Recherche de personnes avec filtres - Nom: {}, Prénom: {}, Tél: {}", nom, prenom, telephone);
+        nom = SearchFilters.name(nom);
+        prenom = SearchFilters.name(prenom);
+        telephone = SearchFilters.telephone(telephone);
+
+        // Index trigramme : ids candidats exacts, puis un seul SELECT ... WHERE id IN (...) ORDER BY id
+        List<Long> ids = trigramSearchIndex.search(nom, prenom, telephone);
+        if (ids != null) {
+            if (limit != null && ids.size() > limit) {
+                ids = ids.subList(0, limit);
+            }
+            return ids.isEmpty() ? List.of() : personneRepository.findAllByIdProjected(ids, fields);
+        }
+        return limit != null
+                ? personneRepository.searchProjected(nom, prenom, telephone, limit, fields)
+                : personneRepository.searchProjected(nom, prenom, telephone, fields);
+    }
+
+    /**
+     * Vider personne et duplicate_candidates. TRUNCATE valide implicitement la transaction en cours
+     * (instruction DDL) : la méthode s'exécute hors transaction, chaque TRUNCATE est validé
+     * séparément et aucun rollback ne rétablit les lignes.
+     */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PERSONNES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PERSONNE_SEARCH, allEntries = true) })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void resetTable() {
         log.warn("RESET de la table personne");
-        personneRepository.deleteAll();
-        personneRepository.resetAutoIncrement();
+        // Paires de doublons d'abord : si le TRUNCATE suivant échoue, aucune paire ne désigne
+        // des ids qui n'existent plus
+        duplicateCandidateRepository.truncate();
+        // Les ids ne repartent pas de 1 : la séquence est réservée par blocs en mémoire,
+        // la redémarrer ferait réattribuer des ids déjà distribués
+        personneRepository.truncate();
+        // Hors transaction : caches, index et abonnés sont prévenus aussitôt la table vidée
+        eventPublisher.publishEvent(PersonneChangedEvent.reset());
         log.info("Table réinitialisée");
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.leserviteurs.backend_rest_grapql.validation;
+
+import org.springframework.stereotype.Component;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Règles métier d'une personne, communes à la création, à la modification
+ * et à l'import en masse (l'unicité du téléphone est vérifiée par l'appelant).
+ *
+ * Chaque champ est parcouru une seule fois : le même passage vérifie le format
+ * et calcule la valeur normalisée (le téléphone une seconde fois pour ses seuls chiffres). Une valeur déjà normalisée est conservée telle
+ * quelle (aucune nouvelle chaîne). Toutes les erreurs sont réunies dans un
+ * ValidationResult, sans exception.
+ */
+@Component
+public class PersonneValidator {
+
+    public static final String NOM = "nom";
+    public static final String PRENOM = "prenom";
+    public static final String TELEPHONE = "telephone";
+    public static final String ADRESSE = "adresse";
+    public static final String DATE_NAISSANCE = "dateNaissance";
+
+    /**
+     * Valider une personne sans la modifier
+     */
+    public ValidationResult validate(PersonneDTO personneDTO) {
+        return check(personneDTO, PersonneField.ALL, false);
+    }
+
+    /**
+     * Valider une personne puis, si elle est valide, normaliser ses champs :
+     * NOM en majuscules, Prénom capitalisé, adresse sans espaces superflus, téléphone "77 123 45 67".
+     * Une personne invalide n'est pas modifiée.
+     */
+    public ValidationResult validateAndNormalize(PersonneDTO personneDTO) {
+        return check(personneDTO, PersonneField.ALL, true);
+    }
+
+    /**
+     * Valider et normaliser les seuls champs donnés (modification partielle, PATCH) :
+     * les autres champs du DTO sont ignorés et laissés tels quels.
+     */
+    public ValidationResult validateAndNormalize(PersonneDTO personneDTO, Set<PersonneField> fields) {
+        return check(personneDTO, fields, true);
+    }
+
+    private ValidationResult check(PersonneDTO personneDTO, Set<PersonneField> fields, boolean normalize) {
+        ValidationResult result = new ValidationResult();
+        boolean checkNom = fields.contains(PersonneField.NOM);
+        boolean checkPrenom = fields.contains(PersonneField.PRENOM);
+        boolean checkTelephone = fields.contains(PersonneField.TELEPHONE);
+        boolean checkAdresse = fields.contains(PersonneField.ADRESSE);
+
+        String nom = checkNom ? checkNom(personneDTO.getNom(), NOM, "Le nom", false, result) : null;
+        String prenom = checkPrenom ? checkNom(personneDTO.getPrenom(), PRENOM, "Le prénom", true, result) : null;
+        String telephone = checkTelephone ? checkTelephone(personneDTO.getTelephone(), result) : null;
+        String adresse = checkAdresse ? checkAdresse(personneDTO.getAdresse(), result) : null;
+        if (fields.contains(PersonneField.DATE_NAISSANCE)) {
+            checkDateNaissance(personneDTO.getDateNaissance(), result);
+        }
+
+        if (normalize && result.isValid()) {
+            if (checkNom) {
+                personneDTO.setNom(nom);
+            }
+            if (checkPrenom) {
+                personneDTO.setPrenom(prenom);
+            }
+            if (checkTelephone) {
+                personneDTO.setTelephone(telephone);
+            }
+            if (checkAdresse) {
+                personneDTO.setAdresse(adresse);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Nom ou prénom : non vide, lettres (accents autorisés) et espaces.
+     * Normalisation : trim, puis majuscules (nom) ou première lettre en majuscule (prénom).
+     */
+    private String checkNom(String value, String field, String label, boolean capitalize, ValidationResult result) {
+        int end = value == null ? 0 : ValidationUtils.trimmedEnd(value);
+        int start = value == null ? 0 : ValidationUtils.trimmedStart(value, end);
+        if (start == end) {
+            result.reject(field, label + " ne peut pas être vide");
+            return value;
+        }
+
+        boolean unchanged = start == 0 && end == value.length();
+        boolean sharpS = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (!ValidationUtils.isLetter(c) && !ValidationUtils.isWhitespace(c)) {
+                result.reject(field, label
+                        + " ne doit contenir que des lettres et des espaces (pas de chiffres ni symboles)");
+                return value;
+            }
+            char expected = capitalize && i > start ? Character.toLowerCase(c) : Character.toUpperCase(c);
+            unchanged &= expected == c;
+            sharpS |= c == 'ß';
+        }
+
+        // "ß" devient "SS" en majuscules : seul cas où la casse change la longueur
+        if (sharpS) {
+            String trimmed = value.substring(start, end);
+            return capitalize
+                    ? trimmed.substring(0, 1).toUpperCase() + trimmed.substring(1).toLowerCase()
+                    : trimmed.toUpperCase();
+        }
+        if (unchanged) {
+            return value;
+        }
+
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            chars[i - start] = capitalize && i > start ? Character.toLowerCase(c) : Character.toUpperCase(c);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Téléphone (optionnel) : règles et format de ValidationUtils.formatValidTelephone.
+     * Calcule aussi le téléphone normalisé (chiffres seuls).
+     */
+    private String checkTelephone(String value, ValidationResult result) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+
+        String formatted = ValidationUtils.formatValidTelephone(value);
+        if (formatted == null) {
+            result.reject(TELEPHONE,
+                    "Le numéro de téléphone doit être un numéro sénégalais valide (9 chiffres commençant par 7)");
+            return value;
+        }
+
+        result.setTelephoneNormalized(ValidationUtils.normalizeTelephone(value));
+        return formatted;
+    }
+
+    /**
+     * Adresse (optionnelle) : lettres, chiffres, espaces, tirets, virgules et points. Normalisation : trim.
+     */
+    private String checkAdresse(String value, ValidationResult result) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+
+        int end = ValidationUtils.trimmedEnd(value);
+        int start = ValidationUtils.trimmedStart(value, end);
+        boolean valid = start < end;
+        for (int i = start; i < end && valid; i++) {
+            char c = value.charAt(i);
+            valid = ValidationUtils.isLetter(c) || ValidationUtils.isWhitespace(c)
+                    || (c >= '0' && c <= '9') || c == ',' || c == '.' || c == '-';
+        }
+
+        if (!valid) {
+            result.reject(ADRESSE,
+                    "L'adresse contient des caractères invalides. Seuls les lettres, chiffres, espaces, tirets, virgules et points sont autorisés");
+            return value;
+        }
+        return start == 0 && end == value.length() ? value : value.substring(start, end);
+    }
+
+    /**
+     * Date de naissance (optionnelle) : pas dans le futur, âge entre 1 et 120 ans
+     */
+    private void checkDateNaissance(LocalDate dateNaissance, ValidationResult result) {
+        if (dateNaissance == null) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        if (dateNaissance.isAfter(today)) {
+            result.reject(DATE_NAISSANCE, "La date de naissance ne peut pas être dans le futur");
+        } else if (dateNaissance.isAfter(today.minusYears(1))) {
+            // Moins d'un an révolu
+            result.reject(DATE_NAISSANCE, "La personne doit avoir au moins 1 an");
+        } else if (!dateNaissance.isAfter(today.minusYears(121))) {
+            // 121 ans révolus ou plus
+            result.reject(DATE_NAISSANCE, "La date de naissance n'est pas réaliste");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.leserviteurs.backend_rest_grapql.validation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Résultat de la validation d'une personne : toutes les erreurs par champ
+ * (première erreur de chaque champ, dans l'ordre de vérification)
+ * et le téléphone normalisé calculé pendant le parcours.
+ */
+public final class ValidationResult {
+
+    // Créée à la première erreur : une personne valide ne coûte aucune map
+    private Map<String, String> errors;
+
+    private String telephoneNormalized;
+
+    public boolean isValid() {
+        return errors == null;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors == null ? Collections.emptyMap() : Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * Messages d'erreur séparés par "; " (message unique si un seul champ est en erreur)
+     */
+    public String getMessage() {
+        return errors == null ? null : String.join("; ", errors.values());
+    }
+
+    /**
+     * Téléphone réduit à ses chiffres (ex: "771234567"), null si absent
+     */
+    public String getTelephoneNormalized() {
+        return telephoneNormalized;
+    }
+
+    void reject(String field, String message) {
+        if (errors == null) {
+            errors = new LinkedHashMap<>(4);
+        }
+        errors.putIfAbsent(field, message);
+    }
+
+    void setTelephoneNormalized(String telephoneNormalized) {
+        this.telephoneNormalized = telephoneNormalized;
+    }
+}
@@ -1,50 +1,88 @@
 package com.leserviteurs.backend_rest_grapql.validation;
 
-import java.util.regex.Pattern;
-
+/**
+ * Règles de format des champs d'une personne.
+ * Chaque valeur est parcourue une seule fois caractère par caractère :
+ * pas d'expression régulière ni de chaîne intermédiaire (replaceAll, trim...).
+ */
 public class ValidationUtils {
-    
-    // Regex pour téléphone sénégalais (9 chiffres commençant par 7)
-    private static final Pattern TELEPHONE_PATTERN = Pattern.compile("^7[0-8]\\d{7}$");
-    
-    // Regex pour nom/prénom (lettres et espaces uniquement, accents autorisés)
-    private static final Pattern NOM_PATTERN = Pattern.compile("^[a-zA-ZÀ-ÿ\\s]+$");
-    
-    // Regex pour adresse (lettres, chiffres, espaces, tirets, virgules, points)
-    private static final Pattern ADRESSE_PATTERN = Pattern.compile("^[a-zA-Z0-9À-ÿ\\s,.-]+$");
-    
+
+    private static final int TELEPHONE_LENGTH = 9;
+
     /**
-     * Valider un numéro de téléphone sénégalais
-     * @param telephone Le numéro sans espaces (ex: "771234567")
+     * Valider un numéro de téléphone sénégalais : 9 chiffres, "7" puis 0 à 8, espaces ignorés
+     * @param telephone Le numéro (ex: "771234567" ou "77 123 45 67")
      * @return true si valide
      */
     public static boolean isValidTelephone(String telephone) {
         if (telephone == null || telephone.isEmpty()) {
             return true; // Optionnel
         }
-        
-        // Supprimer tous les espaces
-        String cleaned = telephone.replaceAll("\\s+", "");
-        
-        // Vérifier le format
-        return TELEPHONE_PATTERN.matcher(cleaned).matches();
+        return formatValidTelephone(telephone) != null;
+    }
+
+    /**
+     * Valider et formater un numéro de téléphone en un seul parcours :
+     * seul endroit où sont codées les règles du numéro sénégalais
+     * (9 chiffres, "7" puis 0 à 8, espaces ignorés) et son format d'affichage.
+     * @param telephone Le numéro, non vide
+     * @return le numéro au format "77 123 45 67" (la même instance s'il l'est déjà), null s'il est invalide
+     */
+    public static String formatValidTelephone(String telephone) {
+        // "77 123 45 67" : positions des espaces dans le format d'affichage
+        char[] formatted = new char[TELEPHONE_LENGTH + 3];
+        int digits = 0;
+        int n = 0;
+        for (int i = 0; i < telephone.length(); i++) {
+            char c = telephone.charAt(i);
+            if (isWhitespace(c)) {
+                continue;
+            }
+            if (c < '0' || c > '9' || digits == TELEPHONE_LENGTH) {
+                return null;
+            }
+            if ((digits == 0 && c != '7') || (digits == 1 && c == '9')) {
+                return null;
+            }
+            if (digits == 2 || digits == 5 || digits == 7) {
+                formatted[n++] = ' ';
+            }
+            formatted[n++] = c;
+            digits++;
+        }
+
+        if (digits != TELEPHONE_LENGTH) {
+            return null;
+        }
+        return sameChars(telephone, formatted) ? telephone : new String(formatted);
     }
-    
+
     /**
-     * Valider un nom ou prénom
+     * Valider un nom ou prénom : lettres (accents autorisés) et espaces, non vide
      * @param nom Le nom/prénom
      * @return true si valide
      */
     public static boolean isValidNom(String nom) {
-        if (nom == null || nom.trim().isEmpty()) {
+        if (nom == null) {
             return false;
         }
-        
-        return NOM_PATTERN.matcher(nom.trim()).matches();
+
+        int end = trimmedEnd(nom);
+        int start = trimmedStart(nom, end);
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = nom.charAt(i);
+            if (!isLetter(c) && !isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
     }
-    
+
     /**
-     * Valider une adresse
+     * Valider une adresse : lettres, chiffres, espaces, tirets, virgules et points
      * @param adresse L'adresse
      * @return true si valide
      */
@@ -52,28 +90,97 @@ public class ValidationUtils {
         if (adresse == null || adresse.isEmpty()) {
             return true; // Optionnel
         }
-        
-        return ADRESSE_PATTERN.matcher(adresse.trim()).matches();
+
+        int end = trimmedEnd(adresse);
+        int start = trimmedStart(adresse, end);
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = adresse.charAt(i);
+            if (!isLetter(c) && !isWhitespace(c) && (c < '0' || c > '9') && c != ',' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Normaliser un numéro de téléphone : ne garder que les chiffres
+     * Ex: "77 123 45 67" -> "771234567"
+     * Valeur stockée dans la colonne indexée telephone_normalized
+     * @return null si le numéro est absent ou ne contient aucun chiffre
+     */
+    public static String normalizeTelephone(String telephone) {
+        if (telephone == null || telephone.isEmpty()) {
+            return null;
+        }
+
+        char[] digits = new char[telephone.length()];
+        int n = 0;
+        for (int i = 0; i < telephone.length(); i++) {
+            char c = telephone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits[n++] = c;
+            }
+        }
+
+        if (n == 0) {
+            return null;
+        }
+        // Déjà normalisé : pas de nouvelle chaîne
+        return n == telephone.length() ? telephone : new String(digits, 0, n);
     }
-    
+
     /**
      * Formater un numéro de téléphone pour l'affichage
      * Ex: "771234567" -> "77 123 45 67"
+     * Les numéros invalides (voir formatValidTelephone) sont renvoyés tels quels
      */
     public static String formatTelephone(String telephone) {
         if (telephone == null || telephone.isEmpty()) {
             return telephone;
         }
-        
-        String cleaned = telephone.replaceAll("\\s+", "");
-        
-        if (cleaned.length() == 9) {
-            return cleaned.substring(0, 2) + " " + 
-                   cleaned.substring(2, 5) + " " + 
-                   cleaned.substring(5, 7) + " " + 
-                   cleaned.substring(7, 9);
-        }
-        
-        return telephone;
+        String formatted = formatValidTelephone(telephone);
+        return formatted != null ? formatted : telephone;
+    }
+
+    // Bornes de value.trim() sans créer la sous-chaîne
+    static int trimmedEnd(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    static int trimmedStart(String value, int end) {
+        int start = 0;
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    static boolean sameChars(String value, char[] chars) {
+        if (value.length() != chars.length) {
+            return false;
+        }
+        for (int i = 0; i < chars.length; i++) {
+            if (value.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Lettres acceptées dans un nom : a-z, A-Z et le bloc Latin-1 À-ÿ
+    static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= 'À' && c <= 'ÿ');
+    }
+
+    // Espaces au sens de \s : espace, tabulations, sauts de ligne et de page
+    static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,8 @@
 -- TRUNCATE TABLE personne;
 
 -- Insérer des données de test (optionnel)
-INSERT INTO personne (nom, prenom, date_naissance, adresse, telephone) VALUES
-('DIOP', 'Moussa', '1995-03-15', 'Dakar', '771234567'),
-('FALL', 'Fatou', '1998-06-20', 'Thiès', '779876543'),
-('NDIAYE', 'Amadou', '1992-11-10', 'Saint-Louis', '775551234');
\ No newline at end of file
+-- Ids explicites : personne_seq est réalignée sur MAX(id) au démarrage
+INSERT INTO personne (id, nom, prenom, date_naissance, adresse, telephone, telephone_normalized) VALUES
+(1, 'DIOP', 'Moussa', '1995-03-15', 'Dakar', '771234567', '771234567'),
+(2, 'FALL', 'Fatou', '1998-06-20', 'Thiès', '779876543', '779876543'),
+(3, 'NDIAYE', 'Amadou', '1992-11-10', 'Saint-Louis', '775551234', '775551234');
\ No newline at end of file
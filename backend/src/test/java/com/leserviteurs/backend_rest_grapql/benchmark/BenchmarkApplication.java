@@ -0,0 +1,116 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.leserviteurs.backend_rest_grapql.BackendRestGrapqlApplication;
+import com.leserviteurs.backend_rest_grapql.dto.ImportReportDTO;
+import com.leserviteurs.backend_rest_grapql.search.TrigramSearchIndex;
+import com.leserviteurs.backend_rest_grapql.service.PersonneImportService;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Application complète (services, JPA, GraphQL) sur une base H2 embarquée en mode MariaDB
+ * (profil perf, src/test/resources/application-perf.properties), sans serveur web,
+ * pour les benchmarks qui traversent Spring.
+ *
+ * Le cache des recherches est désactivé (taille 0) : les benchmarks mesurent la requête,
+ * pas un accès au cache.
+ */
+final class BenchmarkApplication {
+
+    static final String[] NOMS = { "DIOP", "NDIAYE", "FALL", "SOW", "BA", "SECK", "GUEYE", "MBAYE",
+            "FAYE", "SARR", "CISSE", "DIALLO", "THIAM", "KANE", "NIANG", "DIOUF", "WADE", "SY", "TOURE", "GAYE" };
+
+    static final String[] PRENOMS = { "Moussa", "Fatou", "Amadou", "Aminata", "Ousmane", "Awa",
+            "Mamadou", "Khady", "Cheikh", "Ndeye", "Ibrahima", "Mariama", "Abdoulaye", "Coumba", "Modou" };
+
+    // Seconde base embarquée, servant de réplica : remplie par copyToReplica, sans réplication ensuite
+    private static final String REPLICA_URL = "jdbc:h2:mem:benchmark_replica;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    /**
+     * Arguments de start() pour lire sur le réplica embarqué (transactions readOnly)
+     */
+    static final String[] REPLICA_ARGS = {
+            "--app.datasource.replicas.enabled=true",
+            "--app.datasource.replicas.urls=" + REPLICA_URL };
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        return start(new SpringApplicationBuilder(BackendRestGrapqlApplication.class)
+                .web(WebApplicationType.NONE), args);
+    }
+
+    /**
+     * Démarrer avec un builder déjà configuré (serveur web, initialiseurs...) et des arguments
+     * supplémentaires, ex: "--spring.profiles.active=virtual"
+     */
+    static ConfigurableApplicationContext start(SpringApplicationBuilder builder, String... args) {
+        // DevTools lit cette propriété avant les arguments ; lancé depuis le thread "main",
+        // il redémarrerait l'application dans un nouveau thread avec les arguments du main
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Arguments de ligne de commande : prioritaires sur application.properties
+        String[] defaults = {
+                "--app.cache.search.max-size=0",
+                "--logging.level.root=WARN" };
+        String[] all = Arrays.copyOf(defaults, defaults.length + args.length);
+        System.arraycopy(args, 0, all, defaults.length, args.length);
+        // Profil ajouté à ceux de spring.profiles.active (ex: virtual)
+        return builder.profiles("perf").run(all);
+    }
+
+    /**
+     * Insérer des personnes (noms et prénoms tirés des listes, téléphones 70xxxxxxx distincts)
+     * puis attendre que l'index trigramme soit prêt
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) throws IOException, InterruptedException {
+        StringBuilder csv = new StringBuilder("nom,prenom,dateNaissance,adresse,telephone\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(NOMS[i % NOMS.length]).append(',')
+                    .append(PRENOMS[(i / NOMS.length) % PRENOMS.length]).append(',')
+                    .append(1950 + i % 50).append("-01-01,Dakar,")
+                    .append(String.format("70%07d", i)).append('\n');
+        }
+
+        ImportReportDTO report = context.getBean(PersonneImportService.class)
+                .importCsv(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        if (report.getFailed() > 0) {
+            throw new IllegalStateException("Jeu de données invalide : " + report.getFailed() + " ligne(s) rejetée(s)");
+        }
+
+        TrigramSearchIndex index = context.getBean(TrigramSearchIndex.class);
+        while (!index.isReady()) {
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * Copier la base principale (schéma et données) dans le réplica embarqué, après seed
+     */
+    static void copyToReplica(ConfigurableApplicationContext context) throws IOException, SQLException {
+        Path script = Files.createTempFile("benchmark", ".sql");
+        String url = context.getEnvironment().getRequiredProperty("spring.datasource.url");
+        try (Connection primary = DriverManager.getConnection(url, "sa", "");
+                Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+                Statement dump = primary.createStatement();
+                Statement load = replica.createStatement()) {
+            dump.execute("SCRIPT TO '" + script + "'");
+            load.execute("RUNSCRIPT FROM '" + script + "'");
+        } finally {
+            Files.delete(script);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exécution GraphQL complète (analyse, validation, data fetchers, sérialisation du résultat)
+ * via ExecutionGraphQlService, sans la couche HTTP, sur H2 en mode MariaDB.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=GraphQlExecutionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphQlExecutionBenchmark {
+
+    private static final String ALL_PERSONNES = "{ allPersonnes { id nom prenom dateNaissance adresse telephone } }";
+    // Sélection étroite : seules les colonnes id et nom sont lues
+    private static final String ALL_PERSONNES_ID_NOM = "{ allPersonnes { id nom } }";
+    private static final String SEARCH_PERSONNES = "{ searchPersonnes(nom: \"ndia\") { id nom prenom telephone } }";
+
+    @Param({ "1000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ExecutionGraphQlService graphQlService;
+    private final AtomicLong requestId = new AtomicLong();
+
+    @Setup
+    public void setup() throws Exception {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, rows);
+        graphQlService = context.getBean(ExecutionGraphQlService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> allPersonnes() {
+        return execute(ALL_PERSONNES);
+    }
+
+    @Benchmark
+    public Map<String, Object> allPersonnesIdNom() {
+        return execute(ALL_PERSONNES_ID_NOM);
+    }
+
+    @Benchmark
+    public Map<String, Object> searchPersonnes() {
+        return execute(SEARCH_PERSONNES);
+    }
+
+    private Map<String, Object> execute(String document) {
+        ExecutionGraphQlResponse response = graphQlService.execute(new DefaultExecutionGraphQlRequest(
+                document, null, null, null, String.valueOf(requestId.incrementAndGet()), null)).block();
+        if (!response.isValid() || !response.getErrors().isEmpty()) {
+            throw new IllegalStateException("Erreur GraphQL : " + response.getErrors());
+        }
+        return response.toMap();
+    }
+}
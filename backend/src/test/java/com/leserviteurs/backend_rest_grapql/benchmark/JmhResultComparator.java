@@ -0,0 +1,81 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Comparaison de deux résultats JMH au format JSON (-rf json) : référence et nouvelle version.
+ * Affiche l'écart de chaque benchmark et se termine en erreur (code 1) si l'un d'eux
+ * se dégrade de plus du seuil donné.
+ *
+ * mvn -Pbenchmark test-compile exec:exec@jmh-compare -Djmh.baseline=jmh-result-precedent.json [-Djmh.threshold=10]
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : JmhResultComparator <reference.json> <nouveau.json> [seuil %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Référence", "Nouveau", "Écart");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double score = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s (nouveau)%n", entry.getKey(), "-", score, "", unit);
+                continue;
+            }
+
+            double reference = before.path("primaryMetric").path("score").asDouble();
+            double change = reference == 0 ? 0 : (score - reference) * 100 / reference;
+            // Débit (thrpt) : plus haut est meilleur ; temps (avgt, sample, ss) : plus bas est meilleur
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double degradation = higherIsBetter ? -change : change;
+            boolean regression = degradation > threshold;
+            if (regression) {
+                regressions++;
+            }
+
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), reference, score, change, unit,
+                    regression ? "  <-- RÉGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d régression(s) au-delà de %.0f %%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.printf("Aucune régression au-delà de %.0f %%%n", threshold);
+    }
+
+    // Clé : nom du benchmark, mode et paramètres (ex: ...search [avgt] term=ndia)
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.leserviteurs.backend_rest_grapql.benchmark.", ""))
+                    .append(" [").append(result.path("mode").asText()).append(']');
+            for (Map.Entry<String, JsonNode> param : result.path("params").properties()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,370 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leserviteurs.backend_rest_grapql.BackendRestGrapqlApplication;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test de charge HTTP, sans MariaDB : l'application démarre avec le profil perf (H2 en mode MariaDB,
+ * voir BenchmarkApplication), reçoit un jeu de données synthétique, puis N clients simultanés lui
+ * envoient un mélange de requêtes REST et GraphQL. Threads plateforme (pool Tomcat) ou virtuels
+ * (profil virtual, Java 21).
+ *
+ * Latence simulée sur chaque requête SQL (aller-retour réseau vers MariaDB) : les threads serveur
+ * passent l'essentiel de leur temps bloqués sur la base.
+ * Opérations, tirées au hasard selon leur poids dans load.mix :
+ * - byId : GraphQL personneById sur 100 ids fréquents (servis par le cache, sans base)
+ * - list : GET /api/personnes?size=20&orderBy=NOM_PRENOM (pagination keyset)
+ * - search : GraphQL searchPersonnes
+ * - create : POST /api/personnes
+ * - update : PATCH /api/personnes/{id} (adresse d'une personne du jeu initial)
+ *
+ * Débit et latences (p50, p95, p99, max) par opération : affichés, et écrits en JSON dans load.report.
+ *
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.mode=platform
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.mode=virtual
+ *     [-Dload.clients=1000] [-Dload.duration=20] [-Dload.db-latency=5] [-Dload.rows=10000]
+ *     [-Dload.mix=byId=40,list=20,search=20,create=10,update=10] [-Dload.report=target/load-test.json]
+ */
+public final class LoadTest {
+
+    private static final int HOT_IDS = 100;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private static final String PERSONNE_BY_ID = "{\"query\":\"{ personneById(id: %d) { id nom prenom } }\"}";
+    private static final String SEARCH = "{\"query\":\"{ searchPersonnes(nom: \\\"ndia\\\", prenom: \\\"awa\\\") { id nom prenom } }\"}";
+    private static final String CREATE = "{\"nom\":\"Diop\",\"prenom\":\"Moussa\",\"adresse\":\"Dakar\",\"telephone\":\"77%07d\"}";
+    private static final String UPDATE = "{\"adresse\":\"Dakar, lot %d\"}";
+
+    // Latence ajoutée à chaque exécution SQL, activée une fois le jeu de données inséré
+    private static volatile long dbLatencyMillis;
+
+    // Téléphones des personnes créées : 77xxxxxxx, distincts du jeu initial (70xxxxxxx)
+    private static final AtomicInteger nextTelephone = new AtomicInteger();
+
+    private LoadTest() {
+    }
+
+    enum Operation {
+        BY_ID("byId"), LIST("list"), SEARCH("search"), CREATE("create"), UPDATE("update");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Opération inconnue dans load.mix : " + key);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "platform";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 20);
+        long latency = args.length > 3 ? Long.parseLong(args[3]) : 5;
+        int rows = args.length > 4 ? Integer.parseInt(args[4]) : 10_000;
+        Mix mix = Mix.parse(args.length > 5 ? args[5] : "byId=40,list=20,search=20,create=10,update=10");
+        Path report = Path.of(args.length > 6 ? args[6] : "target/load-test.json");
+
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            System.err.println("Le mode virtual nécessite Java 21 (JVM actuelle : Java " + Runtime.version().feature() + ")");
+            System.exit(2);
+        }
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BackendRestGrapqlApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new SlowDataSourcePostProcessor()));
+        ConfigurableApplicationContext context = BenchmarkApplication.start(builder,
+                "--server.port=0",
+                "--spring.profiles.active=" + (virtual ? "virtual" : "default"),
+                "--logging.level.com.leserviteurs.backend_rest_grapql.config=INFO");
+
+        try {
+            BenchmarkApplication.seed(context, rows);
+            dbLatencyMillis = latency;
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            run(port, clients, WARMUP, mix, rows);
+            Samples[] results = run(port, clients, duration, mix, rows);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("mode", mode);
+            summary.put("clients", clients);
+            summary.put("durationSeconds", duration.toSeconds());
+            summary.put("dbLatencyMs", latency);
+            summary.put("rows", rows);
+            summary.put("mix", mix.weights());
+            summary.put("total", stats("total", Samples.merge(results), duration));
+            Map<String, Object> operations = new LinkedHashMap<>();
+            for (Operation operation : Operation.values()) {
+                if (results[operation.ordinal()].count > 0) {
+                    operations.put(operation.key, stats(operation.key, results[operation.ordinal()], duration));
+                }
+            }
+            summary.put("operations", operations);
+
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(report.toFile(), summary);
+            System.out.println("Rapport : " + report.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Faire tourner les clients pendant duration : échantillons de latence de toutes les requêtes,
+     * regroupés par opération
+     */
+    private static Samples[] run(int port, int clients, Duration duration, Mix mix, int rows)
+            throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        String base = "http://localhost:" + port;
+        long end = System.nanoTime() + duration.toNanos();
+
+        Samples[][] perClient = new Samples[clients][];
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Thread thread = new Thread(() -> {
+                Samples[] samples = new Samples[Operation.values().length];
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = new Samples();
+                }
+                while (System.nanoTime() < end) {
+                    Operation operation = mix.next();
+                    long start = System.nanoTime();
+                    boolean failed;
+                    try {
+                        HttpResponse<Void> response = http.send(request(base, operation, rows),
+                                HttpResponse.BodyHandlers.discarding());
+                        failed = response.statusCode() >= 400;
+                    } catch (Exception ex) {
+                        failed = true;
+                    }
+                    samples[operation.ordinal()].add(System.nanoTime() - start, failed);
+                }
+                perClient[client] = samples;
+                done.countDown();
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        Samples[] results = new Samples[Operation.values().length];
+        for (Operation operation : Operation.values()) {
+            Samples[] all = new Samples[clients];
+            for (int c = 0; c < clients; c++) {
+                all[c] = perClient[c][operation.ordinal()];
+            }
+            results[operation.ordinal()] = Samples.merge(all);
+        }
+        return results;
+    }
+
+    private static Map<String, Object> stats(String name, Samples samples, Duration duration) {
+        long[] sorted = samples.sorted();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", samples.count);
+        stats.put("errors", samples.errors);
+        stats.put("throughput", Math.round(samples.count / (double) duration.toSeconds() * 10) / 10.0);
+        stats.put("p50Ms", millis(sorted, 0.50));
+        stats.put("p95Ms", millis(sorted, 0.95));
+        stats.put("p99Ms", millis(sorted, 0.99));
+        stats.put("maxMs", sorted.length == 0 ? 0 : Math.round(sorted[sorted.length - 1] / 1e5) / 10.0);
+
+        if ("total".equals(name)) {
+            System.out.printf("%n%-8s %10s %8s %14s %10s %10s %10s %10s%n",
+                    "", "Requêtes", "Erreurs", "Débit (req/s)", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)");
+        }
+        System.out.printf("%-8s %10d %8d %14.0f %10.1f %10.1f %10.1f %10.1f%n", name, samples.count, samples.errors,
+                stats.get("throughput"), stats.get("p50Ms"), stats.get("p95Ms"), stats.get("p99Ms"), stats.get("maxMs"));
+        return stats;
+    }
+
+    private static HttpRequest request(String base, Operation operation, int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case BY_ID -> graphQl(base, String.format(PERSONNE_BY_ID, 1 + random.nextInt(HOT_IDS)));
+            case LIST -> HttpRequest.newBuilder(URI.create(base + "/api/personnes?size=20&orderBy=NOM_PRENOM")).build();
+            case SEARCH -> graphQl(base, SEARCH);
+            case CREATE -> json(base + "/api/personnes", "POST",
+                    String.format(CREATE, nextTelephone.getAndIncrement()));
+            case UPDATE -> json(base + "/api/personnes/" + (1 + random.nextInt(rows)), "PATCH",
+                    String.format(UPDATE, random.nextInt(1000)));
+        };
+    }
+
+    private static HttpRequest graphQl(String base, String body) {
+        return json(base + "/graphql", "POST", body);
+    }
+
+    private static HttpRequest json(String uri, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        long nanos = sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+        return Math.round(nanos / 1e5) / 10.0;
+    }
+
+    /**
+     * Poids des opérations, ex: "byId=40,list=20,search=20,create=10,update=10"
+     */
+    private record Mix(Map<String, Integer> weights, Operation[] wheel) {
+
+        static Mix parse(String spec) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            List<Operation> wheel = new ArrayList<>();
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                Operation operation = Operation.of(parts[0].trim());
+                int weight = Integer.parseInt(parts[1].trim());
+                weights.put(operation.key, weight);
+                for (int i = 0; i < weight; i++) {
+                    wheel.add(operation);
+                }
+            }
+            if (wheel.isEmpty()) {
+                throw new IllegalArgumentException("load.mix sans opération : " + spec);
+            }
+            return new Mix(weights, wheel.toArray(new Operation[0]));
+        }
+
+        Operation next() {
+            return wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+        }
+    }
+
+    /**
+     * Durées (ns) des requêtes d'une opération, pour un client puis fusionnées
+     */
+    private static final class Samples {
+
+        long[] nanos = new long[1024];
+        int count;
+        long errors;
+
+        void add(long duration, boolean failed) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = duration;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        static Samples merge(Samples[] parts) {
+            Samples merged = new Samples();
+            merged.nanos = new long[Math.max(1, Arrays.stream(parts).mapToInt(part -> part.count).sum())];
+            for (Samples part : parts) {
+                System.arraycopy(part.nanos, 0, merged.nanos, merged.count, part.count);
+                merged.count += part.count;
+                merged.errors += part.errors;
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * Remplace la DataSource par une DataSource dont chaque exécution SQL attend dbLatencyMillis
+     * avant de s'exécuter (aller-retour réseau simulé, thread bloqué comme avec MariaDB)
+     */
+    static final class SlowDataSourcePostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return slow(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return slow(super.getConnection(username, password));
+                }
+            };
+        }
+
+        private static Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(LoadTest.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        return result instanceof PreparedStatement statement ? slow(statement) : result;
+                    });
+        }
+
+        private static PreparedStatement slow(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(LoadTest.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute") && dbLatencyMillis > 0) {
+                            Thread.sleep(dbLatencyMillis);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
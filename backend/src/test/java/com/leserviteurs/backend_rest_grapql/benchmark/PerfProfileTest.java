@@ -0,0 +1,43 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Profil perf sans MariaDB : LoadTest démarre l'application sur H2, insère le jeu de données,
+ * fait tourner quelques clients sur toutes les opérations et écrit son rapport JSON.
+ * Courte durée, sans latence simulée : vérifie que la chaîne fonctionne, pas les performances.
+ */
+class PerfProfileTest {
+
+    private static final List<String> OPERATIONS = List.of("byId", "list", "search", "create", "update");
+
+    @Test
+    void loadTestRunsOnTheEmbeddedDatabaseAndWritesItsReport(@TempDir Path directory) throws Exception {
+        Path report = directory.resolve("load-test.json");
+
+        LoadTest.main(new String[] { "platform", "4", "1", "0", "200",
+                "byId=1,list=1,search=1,create=1,update=1", report.toString() });
+
+        JsonNode summary = new ObjectMapper().readTree(report.toFile());
+        assertThat(summary.get("rows").asInt()).isEqualTo(200);
+        assertThat(summary.get("total").get("requests").asLong()).isPositive();
+        assertThat(summary.get("operations").fieldNames()).toIterable().containsExactlyElementsOf(OPERATIONS);
+
+        for (String operation : OPERATIONS) {
+            JsonNode stats = summary.get("operations").get(operation);
+            assertThat(stats.get("errors").asLong()).as(operation).isZero();
+            assertThat(List.of("p50Ms", "p95Ms", "p99Ms", "maxMs").stream().map(key -> stats.get(key).asDouble()))
+                    .as(operation)
+                    .isSorted();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.mapper.PersonneMapper;
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions entité <-> DTO, appelées pour chaque personne lue ou écrite.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=PersonneMapperBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonneMapperBenchmark {
+
+    private final PersonneMapper mapper = new PersonneMapper();
+
+    private Personne personne;
+    private PersonneDTO personneDTO;
+
+    @Setup
+    public void setup() {
+        personne = Personne.builder()
+                .id(42L)
+                .nom("DIOP")
+                .prenom("Moussa")
+                .dateNaissance(LocalDate.of(1995, 3, 15))
+                .adresse("Dakar, Plateau")
+                .telephone("77 123 45 67")
+                .telephoneNormalized("771234567")
+                .build();
+        personneDTO = mapper.toDTO(personne);
+    }
+
+    @Benchmark
+    public PersonneDTO toDTO() {
+        return mapper.toDTO(personne);
+    }
+
+    @Benchmark
+    public Personne toEntity() {
+        return mapper.toEntity(personneDTO);
+    }
+}
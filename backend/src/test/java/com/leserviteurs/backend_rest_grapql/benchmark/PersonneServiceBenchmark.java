@@ -0,0 +1,89 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+import com.leserviteurs.backend_rest_grapql.service.PersonneServiceImpl;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PersonneServiceImpl.create et search (dont la recherche fuzzy) à travers Spring (transactions, cache, index trigramme)
+ * sur H2 en mode MariaDB. Les chiffres absolus ne valent pas ceux de MariaDB,
+ * mais les écarts entre deux versions du code sont significatifs.
+ * replica=true : lectures sur une seconde base H2 (copie de la première) via ReplicaRoutingDataSource.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=PersonneServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonneServiceBenchmark {
+
+    @Param({ "10000" })
+    public int rows;
+
+    @Param({ "false", "true" })
+    public boolean replica;
+
+    private ConfigurableApplicationContext context;
+    private PersonneService personneService;
+
+    // Téléphones des personnes créées par le benchmark : 78xxxxxxx, distincts du jeu initial (70xxxxxxx)
+    private int nextTelephone;
+
+    @Setup
+    public void setup() throws Exception {
+        context = replica ? BenchmarkApplication.start(BenchmarkApplication.REPLICA_ARGS) : BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, rows);
+        if (replica) {
+            BenchmarkApplication.copyToReplica(context);
+        }
+        personneService = context.getBean(PersonneService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PersonneDTO create() {
+        return personneService.create(PersonneDTO.builder()
+                .nom("diop")
+                .prenom("moussa")
+                .adresse("Dakar, Plateau")
+                .telephone(String.format("78%07d", nextTelephone++))
+                .build());
+    }
+
+    @Benchmark
+    public List<PersonneDTO> searchByNom() {
+        return personneService.search("ndia", null, null);
+    }
+
+    @Benchmark
+    public List<PersonneDTO> searchByTelephone() {
+        return personneService.search(null, null, "0001 2");
+    }
+
+    // Filtre trop court pour l'index trigramme : requête JPQL LIKE '%x%'
+    @Benchmark
+    public List<PersonneDTO> searchShortTerm() {
+        return personneService.search(null, "aw", null);
+    }
+
+    // Graphie wolof de NDIAYE : index des clés phonétiques, puis classement par distance d'édition
+    @Benchmark
+    public List<PersonneDTO> searchFuzzy() {
+        return personneService.search("njaay", "fatu", null, true, PersonneField.ALL,
+                PersonneServiceImpl.MAX_FUZZY_CANDIDATES);
+    }
+}
@@ -0,0 +1,167 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.validation.PersonneValidator;
+import com.leserviteurs.backend_rest_grapql.validation.ValidationResult;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Validation et normalisation d'une personne : PersonneValidator (un passage par champ,
+ * erreurs réunies dans un ValidationResult) contre l'ancien code de create()
+ * (expressions régulières, replaceAll, trim répétés, IllegalArgumentException à la première erreur).
+ *
+ * Latence et allocations par opération (gc.alloc.rate.norm) :
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=PersonneValidationBenchmark -Djmh.args="-prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonneValidationBenchmark {
+
+    private static final LocalDate DATE_NAISSANCE = LocalDate.of(1995, 3, 15);
+
+    private final PersonneValidator validator = new PersonneValidator();
+
+    /**
+     * VALID : saisie typique du formulaire ; INVALID : nom et téléphone incorrects
+     */
+    @Param({ "VALID", "INVALID" })
+    public String input;
+
+    @Benchmark
+    public Object personneValidator() {
+        PersonneDTO personne = newPersonne();
+        ValidationResult result = validator.validateAndNormalize(personne);
+        return result.isValid() ? personne : result.getErrors();
+    }
+
+    @Benchmark
+    public Object legacy() {
+        PersonneDTO personne = newPersonne();
+        try {
+            LegacyValidation.validateAndNormalize(personne);
+            return personne;
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    // Nouvelle instance à chaque appel : la normalisation modifie le DTO
+    private PersonneDTO newPersonne() {
+        boolean valid = "VALID".equals(input);
+        return PersonneDTO.builder()
+                .nom(valid ? " diop " : "Diop2")
+                .prenom("moussa")
+                .dateNaissance(DATE_NAISSANCE)
+                .adresse("Dakar, Plateau ")
+                .telephone(valid ? "77 123 45 67" : "66 123 45 67")
+                .build();
+    }
+
+    /**
+     * Validations et normalisation de PersonneServiceImpl.create() avant PersonneValidator
+     */
+    static final class LegacyValidation {
+
+        private static final Pattern TELEPHONE_PATTERN = Pattern.compile("^7[0-8]\\d{7}$");
+        private static final Pattern NOM_PATTERN = Pattern.compile("^[a-zA-ZÀ-ÿ\\s]+$");
+        private static final Pattern ADRESSE_PATTERN = Pattern.compile("^[a-zA-Z0-9À-ÿ\\s,.-]+$");
+
+        static void validateAndNormalize(PersonneDTO personneDTO) {
+            if (!isValidNom(personneDTO.getNom())) {
+                throw new IllegalArgumentException(
+                        "Le nom ne doit contenir que des lettres et des espaces (pas de chiffres ni symboles)");
+            }
+            if (!isValidNom(personneDTO.getPrenom())) {
+                throw new IllegalArgumentException(
+                        "Le prénom ne doit contenir que des lettres et des espaces (pas de chiffres ni symboles)");
+            }
+            if (personneDTO.getTelephone() != null && !personneDTO.getTelephone().isEmpty()) {
+                if (!isValidTelephone(personneDTO.getTelephone())) {
+                    throw new IllegalArgumentException(
+                            "Le numéro de téléphone doit être un numéro sénégalais valide (9 chiffres commençant par 7)");
+                }
+                // Calcul de la clé d'unicité (la requête en base n'est pas mesurée)
+                normalizeTelephone(personneDTO.getTelephone());
+            }
+            if (personneDTO.getAdresse() != null && !personneDTO.getAdresse().isEmpty()
+                    && !isValidAdresse(personneDTO.getAdresse())) {
+                throw new IllegalArgumentException(
+                        "L'adresse contient des caractères invalides. Seuls les lettres, chiffres, espaces, tirets, virgules et points sont autorisés");
+            }
+            if (personneDTO.getDateNaissance() != null) {
+                LocalDate today = LocalDate.now();
+                if (personneDTO.getDateNaissance().isAfter(today)) {
+                    throw new IllegalArgumentException("La date de naissance ne peut pas être dans le futur");
+                }
+                int age = Period.between(personneDTO.getDateNaissance(), today).getYears();
+                if (age < 1) {
+                    throw new IllegalArgumentException("La personne doit avoir au moins 1 an");
+                }
+                if (age > 120) {
+                    throw new IllegalArgumentException("La date de naissance n'est pas réaliste");
+                }
+            }
+
+            personneDTO.setNom(personneDTO.getNom().trim().toUpperCase());
+            personneDTO.setPrenom(capitalizeFirstLetter(personneDTO.getPrenom().trim()));
+            if (personneDTO.getAdresse() != null && !personneDTO.getAdresse().isEmpty()) {
+                personneDTO.setAdresse(personneDTO.getAdresse().trim());
+            }
+            if (personneDTO.getTelephone() != null && !personneDTO.getTelephone().isEmpty()) {
+                personneDTO.setTelephone(formatTelephone(personneDTO.getTelephone().replaceAll("\\s+", "")));
+            }
+        }
+
+        private static boolean isValidTelephone(String telephone) {
+            String cleaned = telephone.replaceAll("\\s+", "");
+            return TELEPHONE_PATTERN.matcher(cleaned).matches();
+        }
+
+        private static boolean isValidNom(String nom) {
+            if (nom == null || nom.trim().isEmpty()) {
+                return false;
+            }
+            return NOM_PATTERN.matcher(nom.trim()).matches();
+        }
+
+        private static boolean isValidAdresse(String adresse) {
+            return ADRESSE_PATTERN.matcher(adresse.trim()).matches();
+        }
+
+        private static String normalizeTelephone(String telephone) {
+            StringBuilder digits = new StringBuilder(telephone.length());
+            for (int i = 0; i < telephone.length(); i++) {
+                char c = telephone.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    digits.append(c);
+                }
+            }
+            return digits.length() == 0 ? null : digits.toString();
+        }
+
+        private static String formatTelephone(String telephone) {
+            String cleaned = telephone.replaceAll("\\s+", "");
+            if (cleaned.length() == 9) {
+                return cleaned.substring(0, 2) + " " + cleaned.substring(2, 5) + " "
+                        + cleaned.substring(5, 7) + " " + cleaned.substring(7, 9);
+            }
+            return telephone;
+        }
+
+        private static String capitalizeFirstLetter(String text) {
+            if (text == null || text.isEmpty())
+                return text;
+            return text.substring(0, 1).toUpperCase() + text.substring(1).toLowerCase();
+        }
+    }
+}
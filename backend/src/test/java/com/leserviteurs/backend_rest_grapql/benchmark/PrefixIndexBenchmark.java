@@ -0,0 +1,78 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.leserviteurs.backend_rest_grapql.search.PrefixIndex;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saisie semi-automatique (suggest) : index de complétion contre parcours complet.
+ *
+ * Le parcours complet compte les valeurs de chaque ligne commençant par le préfixe,
+ * ce que ferait un SELECT nom, COUNT(*) ... WHERE nom LIKE 'x%' GROUP BY nom sans index :
+ * c'est une borne basse du coût en base.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=PrefixIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrefixIndexBenchmark {
+
+    private static final String[] NOMS = { "DIOP", "NDIAYE", "FALL", "SOW", "BA", "SECK", "GUEYE", "MBAYE",
+            "FAYE", "SARR", "CISSE", "DIALLO", "THIAM", "KANE", "NIANG", "DIOUF", "WADE", "SY", "TOURE", "GAYE" };
+
+    @Param({ "200000" })
+    public int rows;
+
+    // Lettres : nom ; chiffres : téléphone (toutes les valeurs distinctes)
+    @Param({ "D", "NDI", "77", "7712" })
+    public String prefix;
+
+    private PrefixIndex index;
+    private String[] noms;
+    private String[] telephones;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new PrefixIndex(2);
+        noms = new String[rows];
+        telephones = new String[rows];
+
+        for (int i = 0; i < rows; i++) {
+            noms[i] = NOMS[random.nextInt(NOMS.length)];
+            telephones[i] = String.format("7%d%07d", random.nextInt(9), i);
+            index.put(i + 1, new String[] { noms[i], telephones[i] }, new String[] { noms[i], telephones[i] });
+        }
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Completion> prefixIndex() {
+        return index.complete(field(), prefix, 10);
+    }
+
+    @Benchmark
+    public Map<String, Integer> fullScan() {
+        String[] values = field() == 0 ? noms : telephones;
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            if (values[i].startsWith(prefix)) {
+                counts.merge(values[i], 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private int field() {
+        return Character.isDigit(prefix.charAt(0)) ? 1 : 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.leserviteurs.backend_rest_grapql.search.TrigramIndex;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche par sous-chaîne : index trigramme contre parcours complet.
+ *
+ * Le parcours complet reproduit en mémoire ce que fait la requête JPQL
+ * LOWER(col) LIKE '%x%' : tester chaque ligne de la table. Le coût réel en base
+ * est plus élevé (lecture des pages, transfert), c'est donc une borne basse.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=TrigramSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrigramSearchBenchmark {
+
+    private static final String[] NOMS = { "DIOP", "NDIAYE", "FALL", "SOW", "BA", "SECK", "GUEYE", "MBAYE",
+            "FAYE", "SARR", "CISSE", "DIALLO", "THIAM", "KANE", "NIANG", "DIOUF", "WADE", "SY", "TOURE", "GAYE" };
+
+    private static final String[] PRENOMS = { "Moussa", "Fatou", "Amadou", "Aminata", "Ousmane", "Awa",
+            "Mamadou", "Khady", "Cheikh", "Ndeye", "Ibrahima", "Mariama", "Abdoulaye", "Coumba", "Modou" };
+
+    @Param({ "200000" })
+    public int rows;
+
+    @Param({ "ndia", "ousm", "4567" })
+    public String term;
+
+    private TrigramIndex index;
+    private String[] noms;
+    private String[] prenoms;
+    private String[] telephones;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new TrigramIndex(3);
+        noms = new String[rows];
+        prenoms = new String[rows];
+        telephones = new String[rows];
+
+        for (int i = 0; i < rows; i++) {
+            noms[i] = NOMS[random.nextInt(NOMS.length)].toLowerCase(Locale.ROOT);
+            prenoms[i] = PRENOMS[random.nextInt(PRENOMS.length)].toLowerCase(Locale.ROOT);
+            telephones[i] = "7" + (random.nextInt(9)) + String.format("%07d", random.nextInt(10_000_000));
+            index.put(i + 1, noms[i], prenoms[i], telephones[i]);
+        }
+    }
+
+    @Benchmark
+    public int[] trigramIndex() {
+        return index.search(fieldTerms());
+    }
+
+    @Benchmark
+    public void fullScan(Blackhole blackhole) {
+        String[] terms = fieldTerms();
+        for (int i = 0; i < rows; i++) {
+            if ((terms[0] == null || noms[i].contains(terms[0]))
+                    && (terms[1] == null || prenoms[i].contains(terms[1]))
+                    && (terms[2] == null || telephones[i].contains(terms[2]))) {
+                blackhole.consume(i);
+            }
+        }
+    }
+
+    // Chiffres : filtre téléphone ; "ousm" : prénom ; sinon : nom
+    private String[] fieldTerms() {
+        if (Character.isDigit(term.charAt(0))) {
+            return new String[] { null, null, term };
+        }
+        return term.startsWith("ousm") ? new String[] { null, term, null } : new String[] { term, null, null };
+    }
+}
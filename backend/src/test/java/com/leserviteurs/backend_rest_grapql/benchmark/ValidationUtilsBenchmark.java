@@ -0,0 +1,52 @@
+package com.leserviteurs.backend_rest_grapql.benchmark;
+
+import com.leserviteurs.backend_rest_grapql.validation.ValidationUtils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Règles de format de ValidationUtils, sur des valeurs typiques du formulaire.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=ValidationUtilsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationUtilsBenchmark {
+
+    // Champs non final : empêchent le JIT de traiter les valeurs comme des constantes
+    private String telephone = "77 123 45 67";
+    private String telephoneDigits = "771234567";
+    private String nom = "Ndeye Fatou";
+    private String adresse = "Saint-Louis, Rue 15";
+
+    @Benchmark
+    public boolean isValidTelephone() {
+        return ValidationUtils.isValidTelephone(telephone);
+    }
+
+    @Benchmark
+    public boolean isValidNom() {
+        return ValidationUtils.isValidNom(nom);
+    }
+
+    @Benchmark
+    public boolean isValidAdresse() {
+        return ValidationUtils.isValidAdresse(adresse);
+    }
+
+    @Benchmark
+    public String normalizeTelephone() {
+        return ValidationUtils.normalizeTelephone(telephone);
+    }
+
+    @Benchmark
+    public String formatTelephone() {
+        return ValidationUtils.formatTelephone(telephoneDigits);
+    }
+}
@@ -0,0 +1,47 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import com.leserviteurs.backend_rest_grapql.service.PersonneDataGenerator;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Génération au démarrage : rien sans app.generator.rows, RESET avant la génération si demandé
+ */
+class PersonneDataGeneratorRunnerTest {
+
+    private final PersonneDataGenerator generator = mock(PersonneDataGenerator.class);
+    private final PersonneService personneService = mock(PersonneService.class);
+
+    @Test
+    void withoutRowsDoesNothing() {
+        new PersonneDataGeneratorRunner(generator, personneService, 0, true).run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(generator, personneService);
+    }
+
+    @Test
+    void generatesWithoutResetByDefault() {
+        new PersonneDataGeneratorRunner(generator, personneService, 500, false).run(new DefaultApplicationArguments());
+
+        verify(generator).generate(500);
+        verify(personneService, never()).resetTable();
+    }
+
+    @Test
+    void resetsBeforeGenerating() {
+        new PersonneDataGeneratorRunner(generator, personneService, 500, true).run(new DefaultApplicationArguments());
+
+        InOrder order = inOrder(personneService, generator);
+        order.verify(personneService).resetTable();
+        order.verify(generator).generate(500);
+    }
+}
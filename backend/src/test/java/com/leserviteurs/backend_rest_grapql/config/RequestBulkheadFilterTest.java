@@ -0,0 +1,94 @@
+package com.leserviteurs.backend_rest_grapql.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.servlet.FilterChain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Places du bulkhead : rendues à la fin de la réponse (synchrone ou asynchrone),
+ * 503 au-delà de max-concurrent, flux SSE et chemins hors API non limités
+ */
+class RequestBulkheadFilterTest {
+
+    private final RequestBulkheadFilter filter = new RequestBulkheadFilter(1, Duration.ofMillis(50),
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void synchronousRequestReleasesItsPermit() throws Exception {
+        assertThat(perform(get("/api/personnes"), new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(perform(get("/api/personnes"), new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void saturatedBulkheadAnswers503() throws Exception {
+        MockHttpServletRequest running = get("/graphql");
+        perform(running, startAsync());
+
+        MockHttpServletResponse rejected = perform(get("/api/personnes"), new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"status\":503");
+    }
+
+    @Test
+    void asynchronousRequestKeepsItsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest running = get("/api/personnes/export");
+        perform(running, startAsync());
+        assertThat(perform(get("/api/personnes"), new MockFilterChain()).getStatus()).isEqualTo(503);
+
+        ((MockAsyncContext) running.getAsyncContext()).complete();
+
+        assertThat(perform(get("/api/personnes"), new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void changeStreamIsNotLimited() throws Exception {
+        perform(get("/graphql"), startAsync());
+
+        MockHttpServletRequest changes = get("/api/personnes/changes");
+        assertThat(perform(changes, startAsync()).getStatus()).isEqualTo(200);
+
+        MockHttpServletRequest eventStream = get("/graphql");
+        eventStream.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(perform(eventStream, startAsync()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void pathsOutsideApiAreNotLimited() throws Exception {
+        perform(get("/graphql"), startAsync());
+
+        assertThat(perform(get("/actuator/health"), new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(perform(get("/graphiql"), new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    // Réponse terminée plus tard, comme GraphQL, l'export en flux ou SseEmitter
+    private static FilterChain startAsync() {
+        return (request, response) -> request.startAsync();
+    }
+}
@@ -0,0 +1,38 @@
+package com.leserviteurs.backend_rest_grapql.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Fin du flux SSE : client parti ou abonné trop lent
+ */
+class PersonneChangeStreamTest {
+
+    private final SseEmitter emitter = mock(SseEmitter.class);
+
+    @Test
+    void clientGoneCompletesWithoutOverflow() throws IOException {
+        PersonneChangeStream.end(emitter, Exceptions.propagate(new IOException("Broken pipe")));
+
+        verify(emitter).complete();
+        verify(emitter, never()).send(any(SseEventBuilder.class));
+    }
+
+    @Test
+    void slowSubscriberReceivesOverflow() throws IOException {
+        PersonneChangeStream.end(emitter, new IllegalStateException("Plus de 256 modifications en attente"));
+
+        verify(emitter).send(any(SseEventBuilder.class));
+        verify(emitter).complete();
+    }
+}
@@ -0,0 +1,120 @@
+package com.leserviteurs.backend_rest_grapql.controller;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Une écriture validée arrive aux abonnés : flux SSE (GET /api/personnes/changes, vrai serveur HTTP)
+ * et subscription GraphQL personneChanged
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.changes.sse-heartbeat=200ms")
+@ActiveProfiles("test")
+class PersonneChangesDeliveryTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private ExecutionGraphQlService graphQlService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private int subscribersBefore;
+
+    @BeforeEach
+    void resetTable() throws InterruptedException {
+        personneService.resetTable();
+        // Le flux SSE d'un test précédent n'est vu fermé qu'à l'envoi du heartbeat suivant
+        for (int i = 0; i < 100 && subscribers() > 0; i++) {
+            Thread.sleep(50);
+        }
+        subscribersBefore = subscribers();
+    }
+
+    @Test
+    void sseStreamDeliversCreatedEvent() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<Stream<String>> response = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/personnes/changes"))
+                .header("Accept", "text/event-stream").build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        try (Stream<String> lines = response.body()) {
+            CompletableFuture<List<String>> created = CompletableFuture.supplyAsync(() -> lines
+                    .dropWhile(line -> !line.equals("event:CREATED"))
+                    .limit(2)
+                    .toList());
+            awaitSubscriber();
+
+            PersonneDTO personne = create();
+
+            List<String> event = created.get(5, TimeUnit.SECONDS);
+            assertThat(event.get(1)).startsWith("data:")
+                    .contains("\"type\":\"CREATED\"", "\"id\":" + personne.getId(), "\"nom\":\"DIOP\"");
+        }
+    }
+
+    @Test
+    void subscriptionDeliversCreatedEvent() throws Exception {
+        CompletableFuture<Map<String, Object>> change = ExecutionGraphQlServiceTester.create(graphQlService)
+                .document("subscription { personneChanged { type id personne { nom } } }")
+                .executeSubscription()
+                .toFlux("personneChanged", Map.class)
+                .next()
+                .<Map<String, Object>>map(value -> value)
+                .toFuture();
+        awaitSubscriber();
+
+        PersonneDTO personne = create();
+
+        Map<String, Object> received = change.get(5, TimeUnit.SECONDS);
+        assertThat(received).containsEntry("type", "CREATED")
+                .containsEntry("id", String.valueOf(personne.getId()))
+                .containsEntry("personne", Map.of("nom", "DIOP"));
+    }
+
+    private PersonneDTO create() {
+        return personneService.create(PersonneDTO.builder()
+                .nom("DIOP").prenom("Awa").adresse("Dakar").telephone("770000001").build());
+    }
+
+    // L'abonnement est pris en compte avant l'écriture : sinon l'événement ne lui serait pas diffusé
+    private void awaitSubscriber() throws InterruptedException {
+        for (int i = 0; i < 100 && subscribers() <= subscribersBefore; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(subscribers()).isGreaterThan(subscribersBefore);
+    }
+
+    private int subscribers() {
+        return (int) meterRegistry.get("personne.changes.subscribers").gauge().value();
+    }
+}
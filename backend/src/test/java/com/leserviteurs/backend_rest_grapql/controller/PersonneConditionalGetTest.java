@@ -0,0 +1,121 @@
+package com.leserviteurs.backend_rest_grapql.controller;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET conditionnels sur H2 : ETag d'une personne (sa version) et des listes (PersonneChangeCounter),
+ * 304 sur If-None-Match tant que rien n'a changé, 412 sur If-Match périmé
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class PersonneConditionalGetTest {
+
+    private static final String PUT_BODY = """
+            {"nom": "DIOP", "prenom": "Awa", "adresse": "Dakar", "telephone": "771234567"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonneService personneService;
+
+    private PersonneDTO personne;
+
+    @BeforeEach
+    void createPersonne() {
+        personneService.resetTable();
+        personne = personneService.create(PersonneDTO.builder()
+                .nom("FALL").prenom("Moussa").adresse("Thiès").telephone("770000001").build());
+    }
+
+    @Test
+    void personneIsNotModifiedUntilItChanges() throws Exception {
+        String etag = etag(get("/api/personnes/{id}", personne.getId()));
+        assertThat(etag).isEqualTo("\"" + personne.getVersion() + "\"");
+
+        mockMvc.perform(get("/api/personnes/{id}", personne.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        update();
+
+        mockMvc.perform(get("/api/personnes/{id}", personne.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (personne.getVersion() + 1) + "\""));
+    }
+
+    @Test
+    void listIsNotModifiedUntilAnyWriteWhateverTheFilters() throws Exception {
+        String etag = etag(get("/api/personnes").param("nom", "fall"));
+
+        mockMvc.perform(get("/api/personnes").param("nom", "diop").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        personneService.create(PersonneDTO.builder()
+                .nom("SARR").prenom("Ibou").adresse("Dakar").telephone("770000002").build());
+
+        String changed = etag(get("/api/personnes").param("nom", "fall").header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void exportIsNotModifiedWithoutStreaming() throws Exception {
+        String etag = etag(get("/api/personnes"));
+
+        mockMvc.perform(get("/api/personnes/export").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void staleIfMatchIsRejectedWithoutChangingTheListEtag() throws Exception {
+        String personneEtag = etag(get("/api/personnes/{id}", personne.getId()));
+        update();
+        String listEtag = etag(get("/api/personnes"));
+
+        mockMvc.perform(put("/api/personnes/{id}", personne.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content(PUT_BODY.replace("Awa", "Fatou"))
+                        .header(HttpHeaders.IF_MATCH, personneEtag))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(personneService.findById(personne.getId()).getPrenom()).isEqualTo("Awa");
+        mockMvc.perform(get("/api/personnes").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    private void update() throws Exception {
+        mockMvc.perform(put("/api/personnes/{id}", personne.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content(PUT_BODY))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,164 @@
+package com.leserviteurs.backend_rest_grapql.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leserviteurs.backend_rest_grapql.dto.ExportFormat;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneExportService;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/personnes/export sur H2 : contenu NDJSON et CSV, en-têtes,
+ * et écriture au fil de la lecture sans garder les entités en mémoire
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class PersonneExportTest {
+
+    // Au-delà de PersonneExportService.FLUSH_EVERY (1000) : plusieurs écritures avant la fin
+    private static final int LARGE_EXPORT_SIZE = 2500;
+    private static final long FIRST_BULK_ID = 1_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private PersonneExportService personneExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private PersonneDTO diop;
+    private PersonneDTO fall;
+
+    @BeforeEach
+    void createPersonnes() {
+        personneService.resetTable();
+        diop = personneService.create(PersonneDTO.builder()
+                .nom("DIOP").prenom("Awa").adresse("12, rue Carnot").telephone("770000001").build());
+        fall = personneService.create(PersonneDTO.builder()
+                .nom("FALL").prenom("Moussa").adresse("Thiès").telephone("770000002").build());
+    }
+
+    @Test
+    void ndjsonHasOnePersonnePerLineInIdOrder() throws Exception {
+        MvcResult result = export("ndjson");
+
+        assertThat(result.getResponse().getContentType()).isEqualTo("application/x-ndjson;charset=UTF-8");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"personnes.ndjson\"");
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], PersonneDTO.class)).isEqualTo(diop);
+        assertThat(objectMapper.readValue(lines[1], PersonneDTO.class)).isEqualTo(fall);
+    }
+
+    @Test
+    void csvHasHeaderAndQuotesSpecialCharacters() throws Exception {
+        // Guillemets refusés par la validation : écrits directement en base
+        jdbcTemplate.update("UPDATE personne SET prenom = 'Awa \"Ami\"' WHERE id = ?", diop.getId());
+
+        MvcResult result = export("csv");
+
+        assertThat(result.getResponse().getContentType()).isEqualTo("text/csv;charset=UTF-8");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"personnes.csv\"");
+        assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,nom,prenom,dateNaissance,adresse,telephone
+                %d,DIOP,"Awa ""Ami\""",,"12, rue Carnot",77 000 00 01
+                %d,FALL,Moussa,,Thiès,77 000 00 02
+                """.formatted(diop.getId(), fall.getId()));
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/personnes/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void largeExportIsWrittenInChunksWithoutKeepingEntities() throws Exception {
+        jdbcTemplate.batchUpdate("INSERT INTO personne (id, nom, prenom, version) VALUES (?, 'NDIAYE', 'Fatou', 0)",
+                LongStream.range(FIRST_BULK_ID, FIRST_BULK_ID + LARGE_EXPORT_SIZE).boxed()
+                        .map(id -> new Object[] { id }).toList());
+
+        FlushRecordingOutputStream output = new FlushRecordingOutputStream();
+        int managedEntities = transactionTemplate.execute(status -> {
+            try {
+                assertThat(personneExportService.export(ExportFormat.CSV, output)).isEqualTo(LARGE_EXPORT_SIZE + 2);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+
+        assertThat(managedEntities).isZero();
+        // Une écriture par tranche de 1000 lignes, la dernière à la fin de l'export
+        assertThat(output.sizesAtFlush).hasSizeGreaterThanOrEqualTo(3);
+        assertThat(output.sizesAtFlush.get(0)).isPositive().isLessThan(output.size());
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")).hasSize(LARGE_EXPORT_SIZE + 3);
+    }
+
+    private MvcResult export(String format) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/personnes/export").param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+    }
+
+    /**
+     * Taille du contenu déjà écrit à chaque flush()
+     */
+    private static class FlushRecordingOutputStream extends ByteArrayOutputStream {
+
+        private final List<Integer> sizesAtFlush = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            sizesAtFlush.add(size());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.leserviteurs.backend_rest_grapql.controller;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT et PATCH /api/personnes/{id} sur H2 : UPDATE direct, avec ou sans If-Match
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class PersonneUpdateTest {
+
+    private static final String PUT_BODY = """
+            {"nom": "DIOP", "prenom": "Awa", "adresse": "Dakar", "telephone": "771234567"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonneService personneService;
+
+    private PersonneDTO personne;
+
+    @BeforeEach
+    void createPersonne() {
+        personneService.resetTable();
+        personne = personneService.create(PersonneDTO.builder()
+                .nom("FALL").prenom("Moussa").adresse("Thiès").telephone("770000001").build());
+    }
+
+    @Test
+    void putWithoutIfMatchUpdatesAndReturnsNewVersion() throws Exception {
+        mockMvc.perform(putJson(personne.getId(), PUT_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(personne.getVersion() + 1)))
+                .andExpect(jsonPath("$.nom").value("DIOP"))
+                .andExpect(jsonPath("$.adresse").value("Dakar"))
+                .andExpect(jsonPath("$.telephone").value("77 123 45 67"))
+                .andExpect(jsonPath("$.version").value(personne.getVersion() + 1));
+
+        PersonneDTO stored = personneService.findById(personne.getId());
+        assertThat(stored.getNom()).isEqualTo("DIOP");
+        assertThat(stored.getVersion()).isEqualTo(personne.getVersion() + 1);
+    }
+
+    @Test
+    void putWithCurrentIfMatchUpdates() throws Exception {
+        mockMvc.perform(putJson(personne.getId(), PUT_BODY).header(HttpHeaders.IF_MATCH, etag(personne.getVersion())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(personne.getVersion() + 1)))
+                .andExpect(jsonPath("$.id").value(personne.getId()))
+                .andExpect(jsonPath("$.prenom").value("Awa"));
+    }
+
+    @Test
+    void putWithStaleIfMatchIsRejected() throws Exception {
+        mockMvc.perform(putJson(personne.getId(), PUT_BODY).header(HttpHeaders.IF_MATCH, etag(personne.getVersion())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(putJson(personne.getId(), PUT_BODY).header(HttpHeaders.IF_MATCH, etag(personne.getVersion())))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void putWithForeignIfMatchIsRejected() throws Exception {
+        mockMvc.perform(putJson(personne.getId(), PUT_BODY).header(HttpHeaders.IF_MATCH, "W/\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(personneService.findById(personne.getId()).getNom()).isEqualTo("FALL");
+    }
+
+    @Test
+    void putUnknownIdIsNotFound() throws Exception {
+        mockMvc.perform(putJson(personne.getId() + 100, PUT_BODY))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(putJson(personne.getId() + 100, PUT_BODY).header(HttpHeaders.IF_MATCH, etag(0)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchUpdatesOnlyGivenFields() throws Exception {
+        mockMvc.perform(patchJson(personne.getId(), "{\"adresse\": \"Saint-Louis\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(personne.getVersion() + 1)))
+                .andExpect(jsonPath("$.adresse").value("Saint-Louis"))
+                .andExpect(jsonPath("$.nom").value("FALL"))
+                .andExpect(jsonPath("$.prenom").value("Moussa"))
+                .andExpect(jsonPath("$.telephone").value(personne.getTelephone()));
+    }
+
+    @Test
+    void patchNullClearsField() throws Exception {
+        mockMvc.perform(patchJson(personne.getId(), "{\"adresse\": null}").header(HttpHeaders.IF_MATCH,
+                        etag(personne.getVersion())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.adresse").doesNotExist())
+                .andExpect(jsonPath("$.nom").value("FALL"));
+    }
+
+    @Test
+    void patchWithStaleIfMatchIsRejected() throws Exception {
+        mockMvc.perform(patchJson(personne.getId(), "{\"adresse\": \"Kaolack\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patchJson(personne.getId(), "{\"adresse\": \"Louga\"}").header(HttpHeaders.IF_MATCH,
+                        etag(personne.getVersion())))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(personneService.findById(personne.getId()).getAdresse()).isEqualTo("Kaolack");
+    }
+
+    @Test
+    void patchUnknownIdIsNotFound() throws Exception {
+        mockMvc.perform(patchJson(personne.getId() + 100, "{\"adresse\": \"Louga\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patchJson(personne.getId() + 100, "{\"adresse\": \"Louga\"}").header(HttpHeaders.IF_MATCH,
+                        etag(0)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchNonEditableFieldIsBadRequest() throws Exception {
+        mockMvc.perform(patchJson(personne.getId(), "{\"version\": 7}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static MockHttpServletRequestBuilder putJson(Long id, String body) {
+        return put("/api/personnes/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private static MockHttpServletRequestBuilder patchJson(Long id, String body) {
+        return patch("/api/personnes/{id}", id)
+                .contentType("application/merge-patch+json")
+                .content(body);
+    }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,92 @@
+package com.leserviteurs.backend_rest_grapql.datasource;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Application complète sur deux bases H2 (profil replicas) : les lectures du service passent
+ * par le réplica, les écritures par le primaire. Le réplica n'étant pas alimenté par réplication,
+ * une ligne insérée seulement dans une des deux bases montre laquelle a répondu.
+ */
+@SpringBootTest
+@ActiveProfiles({ "test", "replicas" })
+class ReadReplicaConfigTest {
+
+    private static final long REPLICA_ONLY_ID = 999_999L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Value("${app.datasource.replicas.urls}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replicas.sticky-window}")
+    private Duration stickyWindow;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void copySchemaToReplica() throws InterruptedException {
+        personneService.resetTable();
+
+        replica = new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", ""));
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA", String.class)) {
+            replica.execute(statement);
+        }
+        replica.update("INSERT INTO personne (id, nom, prenom, version) VALUES (?, 'REPLICA', 'Seule', 0)",
+                REPLICA_ONLY_ID);
+
+        // RESET ci-dessus : fenêtre read-your-writes ouverte
+        Thread.sleep(stickyWindow.toMillis() + 100);
+    }
+
+    @Test
+    void applicationDataSourceRoutesToReplicas() {
+        assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+    }
+
+    @Test
+    void readOnlyReadsComeFromTheReplica() {
+        assertThat(personneService.findById(REPLICA_ONLY_ID).getNom()).isEqualTo("REPLICA");
+        assertThat(personneService.findAll()).extracting(PersonneDTO::getId).containsExactly(REPLICA_ONLY_ID);
+    }
+
+    @Test
+    void writesGoToThePrimaryAndAreReadBackDuringTheStickyWindow() throws InterruptedException {
+        PersonneDTO created = personneService.create(PersonneDTO.builder()
+                .nom("DIOP").prenom("Awa").adresse("Dakar").telephone("770000001").build());
+
+        assertThat(new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT COUNT(*) FROM personne WHERE id = ?", Long.class, created.getId())).isEqualTo(1);
+        assertThat(replica.queryForObject(
+                "SELECT COUNT(*) FROM personne WHERE id = ?", Long.class, created.getId())).isZero();
+        assertThat(personneService.findAll()).extracting(PersonneDTO::getId).containsExactly(created.getId());
+
+        Thread.sleep(stickyWindow.toMillis() + 100);
+
+        assertThat(personneService.findAll()).extracting(PersonneDTO::getId).containsExactly(REPLICA_ONLY_ID);
+    }
+}
@@ -0,0 +1,136 @@
+package com.leserviteurs.backend_rest_grapql.datasource;
+
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routage sur deux bases H2 embarquées, l'une jouant le primaire, l'autre le réplica :
+ * chacune a une table "origin" dont l'unique ligne donne son nom
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration STICKY_WINDOW = Duration.ofMillis(300);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        ReplicaRoutingDataSource routing = routing(database("replica"));
+
+        assertThat(origin(routing, true)).isEqualTo("replica");
+        assertThat(reads("replica")).isEqualTo(1);
+    }
+
+    @Test
+    void writeTransactionsAndQueriesWithoutTransactionGoToThePrimary() {
+        ReplicaRoutingDataSource routing = routing(database("replica"));
+
+        assertThat(origin(routing, false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(routing).queryForObject("SELECT name FROM origin", String.class))
+                .isEqualTo("primary");
+        assertThat(reads("replica")).isZero();
+    }
+
+    @Test
+    void unreachableReplicaIsEjectedAndReadsFallBackToThePrimary() {
+        ReplicaRoutingDataSource routing = routing(unreachable());
+
+        assertThat(origin(routing, true)).isEqualTo("primary");
+        assertThat(origin(routing, true)).isEqualTo("primary");
+
+        assertThat(reads("fallback")).isEqualTo(2);
+        assertThat(meterRegistry.get("personne.datasource.replicas.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void reachableReplicaServesReadsWhileTheOtherIsEjected() {
+        ReplicaRoutingDataSource routing = routing(unreachable(), database("replica"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(origin(routing, true)).isEqualTo("replica");
+        }
+        assertThat(meterRegistry.get("personne.datasource.replicas.available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void readsStayOnThePrimaryDuringTheStickyWindowAfterAWrite() throws InterruptedException {
+        ReplicaRoutingDataSource routing = routing(database("replica"));
+
+        routing.onPersonneChanged(PersonneChangedEvent.deleted(1L));
+
+        assertThat(origin(routing, true)).isEqualTo("primary");
+        assertThat(reads("sticky")).isEqualTo(1);
+
+        Thread.sleep(STICKY_WINDOW.toMillis() + 100);
+
+        assertThat(origin(routing, true)).isEqualTo("replica");
+    }
+
+    private ReplicaRoutingDataSource routing(HikariDataSource... replicas) {
+        return new ReplicaRoutingDataSource(database("primary"), List.of(replicas), Duration.ofMinutes(1),
+                STICKY_WINDOW, meterRegistry);
+    }
+
+    /**
+     * Nom de la base qui a servi la requête, lu dans une transaction readOnly ou non
+     */
+    private static String origin(ReplicaRoutingDataSource routing, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(routing).queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private double reads(String route) {
+        return meterRegistry.get("personne.datasource.reads").tag("route", route).counter().count();
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource pool = pool(name, "jdbc:h2:mem:routing-" + name + "-" + System.nanoTime()
+                + ";DB_CLOSE_DELAY=-1", Duration.ofSeconds(5));
+        JdbcTemplate jdbc = new JdbcTemplate(pool);
+        jdbc.execute("CREATE TABLE origin (name VARCHAR(20))");
+        jdbc.update("INSERT INTO origin VALUES (?)", name);
+        return pool;
+    }
+
+    // Aucun serveur H2 sur ce port : chaque connexion échoue
+    private HikariDataSource unreachable() {
+        return pool("unreachable", "jdbc:h2:tcp://localhost:1/unreachable", Duration.ofMillis(250));
+    }
+
+    private HikariDataSource pool(String name, String url, Duration connectionTimeout) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setInitializationFailTimeout(-1);
+        HikariDataSource pool = new HikariDataSource(config);
+        pools.add(pool);
+        return pool;
+    }
+}
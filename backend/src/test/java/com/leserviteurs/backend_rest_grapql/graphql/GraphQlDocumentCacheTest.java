@@ -0,0 +1,122 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /graphql : requêtes persistées Apollo (hash seul, puis hash et texte après PersistedQueryNotFound)
+ * et cache des documents analysés. Stockage des requêtes persistées limité à 2 pour ce test.
+ */
+@SpringBootTest(properties = "app.graphql.persisted-queries.max-size=2")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class GraphQlDocumentCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GraphQlDocumentCache documentCache;
+
+    @Test
+    void unknownHashIsPersistedQueryNotFoundThenHashAloneIsEnough() throws Exception {
+        String query = "{ allPersonnes { id nom } }";
+
+        execute(null, sha256(query))
+                .andExpect(jsonPath("$.errors[0].message").value("PersistedQueryNotFound"))
+                .andExpect(jsonPath("$.errors[0].extensions.classification").value("PersistedQueryNotFound"))
+                .andExpect(jsonPath("$.data").doesNotExist());
+
+        execute(query, sha256(query))
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.allPersonnes").isArray());
+
+        execute(null, sha256(query))
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.allPersonnes").isArray());
+    }
+
+    @Test
+    void hashNotMatchingTheQueryIsRejected() throws Exception {
+        String query = "{ allPersonnes { id prenom } }";
+
+        execute(query, sha256("{ allPersonnes { id } }"))
+                .andExpect(jsonPath("$.errors[0].message").value("PersistedQueryIdInvalid"))
+                .andExpect(jsonPath("$.data").doesNotExist());
+
+        assertThat(documentCache.getPersistedQueries().getIfPresent(sha256("{ allPersonnes { id } }"))).isNull();
+    }
+
+    @Test
+    void persistedQueriesAreBounded() throws Exception {
+        for (String field : new String[] { "adresse", "telephone", "dateNaissance", "nom prenom" }) {
+            String query = "{ allPersonnes { " + field + " } }";
+            execute(query, sha256(query)).andExpect(jsonPath("$.errors").doesNotExist());
+        }
+
+        documentCache.getPersistedQueries().cleanUp();
+        assertThat(documentCache.getPersistedQueries().estimatedSize()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void validDocumentsAreCachedByTextInvalidOnesAreNot() throws Exception {
+        String valid = "{ allPersonnes { __typename id } }";
+        String invalid = "{ allPersonnes { inconnu } }";
+
+        execute(valid, null).andExpect(jsonPath("$.errors").doesNotExist());
+        execute(invalid, null).andExpect(jsonPath("$.errors[0].extensions.classification").value("ValidationError"));
+
+        assertThat(documentCache.getDocuments().getIfPresent(valid)).isNotNull();
+        assertThat(documentCache.getDocuments().getIfPresent(invalid)).isNull();
+
+        long hits = documentCache.getDocuments().stats().hitCount();
+        execute(valid, null).andExpect(jsonPath("$.errors").doesNotExist());
+        assertThat(documentCache.getDocuments().stats().hitCount()).isEqualTo(hits + 1);
+    }
+
+    /**
+     * Requête au format Apollo : query absente quand seul le hash est envoyé
+     */
+    private ResultActions execute(String query, String sha256Hash) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (query != null) {
+            body.put("query", query);
+        }
+        if (sha256Hash != null) {
+            body.put("extensions", Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", sha256Hash)));
+        }
+
+        return mockMvc.perform(post("/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk());
+    }
+
+    private static String sha256(String query) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+}
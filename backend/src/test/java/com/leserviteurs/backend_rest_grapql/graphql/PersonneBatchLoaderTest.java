@@ -0,0 +1,116 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ResponseError;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * DataLoader des personnes (PersonneBatchLoader) : personneById, alias compris, et personnesByIds
+ * d'un même document lus en un seul appel à findAllById, résultats dans l'ordre demandé
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureGraphQlTester
+class PersonneBatchLoaderTest {
+
+    private static final long UNKNOWN_ID = 999_999L;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoSpyBean
+    private PersonneService personneService;
+
+    private long diop;
+    private long fall;
+    private long sarr;
+
+    @BeforeEach
+    void createPersonnes() {
+        personneService.resetTable();
+        diop = create("DIOP", "770000001");
+        fall = create("FALL", "770000002");
+        sarr = create("SARR", "770000003");
+        clearInvocations(personneService);
+    }
+
+    @Test
+    void aliasesAndListAreLoadedInOneBatch() {
+        GraphQlTester.Response response = graphQlTester.document("""
+                {
+                  a: personneById(id: %d) { nom }
+                  b: personneById(id: %d) { nom }
+                  c: personnesByIds(ids: [%d, %d]) { nom }
+                }
+                """.formatted(sarr, diop, fall, diop))
+                .execute();
+
+        response.path("a.nom").entity(String.class).isEqualTo("SARR");
+        response.path("b.nom").entity(String.class).isEqualTo("DIOP");
+        response.path("c[*].nom").entityList(String.class).containsExactly("FALL", "DIOP");
+
+        verify(personneService, times(1)).findAllById(anyCollection());
+        verify(personneService).findAllById(argThat((Collection<Long> ids) ->
+                ids.size() == 3 && ids.containsAll(List.of(diop, fall, sarr))));
+    }
+
+    @Test
+    void listKeepsRequestedOrderDuplicatesAndUnknownIds() {
+        graphQlTester.document("{ personnesByIds(ids: [%d, %d, %d, %d]) { id } }"
+                        .formatted(fall, UNKNOWN_ID, diop, fall))
+                .execute()
+                .path("personnesByIds").entityList(Object.class).hasSize(4)
+                .path("personnesByIds[1]").valueIsNull()
+                .path("personnesByIds[*].id").entityList(Long.class).containsExactly(fall, diop, fall);
+    }
+
+    @Test
+    void unknownIdIsNotFoundForItsAliasOnly() {
+        graphQlTester.document("{ a: personneById(id: %d) { nom } b: personneById(id: %d) { nom } }"
+                        .formatted(UNKNOWN_ID, diop))
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.NOT_FOUND
+                        && error.getPath().equals("a"))
+                .verify()
+                .path("b.nom").entity(String.class).isEqualTo("DIOP");
+    }
+
+    @Test
+    void nonNumericIdIsAValidationError() {
+        graphQlTester.document("{ personnesByIds(ids: [\"abc\"]) { id } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertThat(errors).hasSize(1);
+                    ResponseError error = errors.get(0);
+                    assertThat(error.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+                    assertThat(error.getMessage()).isEqualTo("Valeur invalide pour personnesByIds : 'abc'");
+                });
+    }
+
+    private long create(String nom, String telephone) {
+        return personneService.create(PersonneDTO.builder()
+                .nom(nom).prenom("Awa").adresse("Dakar").telephone(telephone).build()).getId();
+    }
+}
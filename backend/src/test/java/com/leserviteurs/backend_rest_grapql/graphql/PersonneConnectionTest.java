@@ -0,0 +1,121 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query personnes (pagination keyset) sur H2 : hasNextPage, curseurs, départage par id
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureGraphQlTester
+class PersonneConnectionTest {
+
+    private static final String PAGE = """
+            query Page($first: Int, $after: String, $orderBy: PersonneOrder) {
+              personnes(first: $first, after: $after, orderBy: $orderBy) {
+                edges { cursor node { id nom prenom } }
+                pageInfo { hasNextPage hasPreviousPage endCursor }
+              }
+            }
+            """;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @BeforeEach
+    void resetTable() {
+        personneService.resetTable();
+    }
+
+    @Test
+    void exactlyFirstRowsHasNoNextPage() {
+        create("DIOP", "Awa", "770000001");
+        create("FALL", "Moussa", "770000002");
+
+        GraphQlTester.Response page = page(2, null, "ID");
+
+        page.path("personnes.edges").entityList(Object.class).hasSize(2);
+        page.path("personnes.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(false);
+        page.path("personnes.pageInfo.hasPreviousPage").entity(Boolean.class).isEqualTo(false);
+    }
+
+    @Test
+    void oneMoreRowThanFirstHasNextPage() {
+        create("DIOP", "Awa", "770000001");
+        create("FALL", "Moussa", "770000002");
+        create("SOW", "Fatou", "770000003");
+
+        GraphQlTester.Response first = page(2, null, "ID");
+        first.path("personnes.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true);
+        String endCursor = first.path("personnes.pageInfo.endCursor").entity(String.class).get();
+
+        GraphQlTester.Response second = page(2, endCursor, "ID");
+        second.path("personnes.edges[*].node.nom").entityList(String.class).containsExactly("SOW");
+        second.path("personnes.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(false);
+        second.path("personnes.pageInfo.hasPreviousPage").entity(Boolean.class).isEqualTo(true);
+    }
+
+    @Test
+    void nomPrenomOrderBreaksTiesOnId() {
+        Long premier = create("DIOP", "Awa", "770000001").getId();
+        create("BA", "Moussa", "770000002");
+        Long second = create("DIOP", "Awa", "770000003").getId();
+
+        String after = null;
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            GraphQlTester.Response page = page(1, after, "NOM_PRENOM");
+            ids.add(page.path("personnes.edges[0].node.id").entity(String.class).get());
+            after = page.path("personnes.pageInfo.endCursor").entity(String.class).get();
+        }
+
+        assertThat(ids).element(1).isEqualTo(String.valueOf(premier));
+        assertThat(ids).element(2).isEqualTo(String.valueOf(second));
+        page(1, after, "NOM_PRENOM").path("personnes.edges").entityList(Object.class).hasSize(0);
+    }
+
+    @Test
+    void cursorOfAnotherOrderIsABadRequest() {
+        create("DIOP", "Awa", "770000001");
+        create("FALL", "Moussa", "770000002");
+        String endCursor = page(1, null, "ID").path("personnes.pageInfo.endCursor").entity(String.class).get();
+
+        graphQlTester.document(PAGE)
+                .variable("first", 1)
+                .variable("after", endCursor)
+                .variable("orderBy", "NOM_PRENOM")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).singleElement()
+                        .satisfies(error -> assertThat(error.getMessage()).contains("tri demandé")));
+    }
+
+    private GraphQlTester.Response page(int first, String after, String orderBy) {
+        return graphQlTester.document(PAGE)
+                .variable("first", first)
+                .variable("after", after)
+                .variable("orderBy", orderBy)
+                .execute();
+    }
+
+    private PersonneDTO create(String nom, String prenom, String telephone) {
+        return personneService.create(PersonneDTO.builder().nom(nom).prenom(prenom).telephone(telephone).build());
+    }
+}
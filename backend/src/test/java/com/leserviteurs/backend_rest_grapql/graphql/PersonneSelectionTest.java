@@ -0,0 +1,123 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.search.SuggestIndex;
+import com.leserviteurs.backend_rest_grapql.search.TrigramSearchIndex;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requêtes GraphQL sur H2 : seuls les attributs des champs demandés sont lus (requêtes relevées
+ * par les statistiques Hibernate), sans charger d'entité Personne dans le contexte de persistance
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureGraphQlTester
+class PersonneSelectionTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private TrigramSearchIndex trigramSearchIndex;
+
+    @Autowired
+    private SuggestIndex suggestIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void createPersonnes() throws InterruptedException {
+        personneService.resetTable();
+        personneService.create(PersonneDTO.builder()
+                .nom("DIOP").prenom("Awa").adresse("Dakar").telephone("770000001").build());
+        personneService.create(PersonneDTO.builder()
+                .nom("FALL").prenom("Moussa").adresse("Thiès").telephone("770000002").build());
+
+        // Reconstruction des index après le RESET terminée : ses lectures ne se mêlent pas à celles du test
+        for (int i = 0; i < 100 && !(trigramSearchIndex.isReady() && suggestIndex.isReady()); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(trigramSearchIndex.isReady()).isTrue();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listReadsOnlySelectedFields() {
+        graphQlTester.document("{ allPersonnes { id nom } }")
+                .execute()
+                .path("allPersonnes[*].nom").entityList(String.class).containsExactly("DIOP", "FALL");
+
+        assertSelected("id", "nom");
+    }
+
+    @Test
+    void connectionReadsTheFieldsOfItsNodesAndTheCursorId() {
+        graphQlTester.document("{ personnes(first: 10) { edges { cursor node { prenom } } } }")
+                .execute()
+                .path("personnes.edges[*].node.prenom").entityList(String.class).containsExactly("Awa", "Moussa");
+
+        assertSelected("id", "prenom");
+    }
+
+    @Test
+    void searchThroughTheIndexReadsOnlySelectedFields() {
+        graphQlTester.document("{ searchPersonnes(nom: \"fal\") { __typename telephone } }")
+                .execute()
+                .path("searchPersonnes[*].telephone").entityList(String.class).containsExactly("77 000 00 02");
+
+        assertSelected("telephone");
+    }
+
+    @Test
+    void typenameOnlyReadsTheId() {
+        graphQlTester.document("{ allPersonnes { __typename } }")
+                .execute()
+                .path("allPersonnes").entityList(Object.class).hasSize(2);
+
+        assertSelected("id");
+    }
+
+    /**
+     * Chaque requête de lecture des personnes ne sélectionne que ces attributs,
+     * et aucune entité n'est chargée
+     */
+    private void assertSelected(String... attributes) {
+        List<String> queries = Stream.of(statistics.getQueries())
+                .filter(query -> query.startsWith("SELECT p.") && query.contains(" FROM Personne p"))
+                .toList();
+
+        assertThat(queries).isNotEmpty();
+        for (String query : queries) {
+            String selectList = query.substring("SELECT ".length(), query.indexOf(" FROM "));
+            assertThat(Arrays.stream(selectList.split(",\\s*")).map(column -> column.substring("p.".length())))
+                    .as(query)
+                    .containsExactly(attributes);
+        }
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ResponseError;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Budgets d'un document GraphQL (QueryLimitsInstrumentation) : chaque limite est acceptée
+ * telle quelle et refusée au-delà, avant exécution.
+ *
+ * Le schéma ne dépasse pas 4 niveaux : la profondeur maximale est abaissée à 3 pour ce test,
+ * le nombre d'alias (20) et le coût (1000) gardent leur valeur par défaut.
+ */
+@SpringBootTest(properties = "app.graphql.limits.max-depth=3")
+@ActiveProfiles("test")
+@AutoConfigureGraphQlTester
+class QueryLimitsTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Test
+    void depthAtLimitIsAccepted() {
+        graphQlTester.document("{ personnes(first: 1) { edges { cursor } } }")
+                .execute()
+                .path("personnes.edges").hasValue();
+    }
+
+    @Test
+    void depthAboveLimitIsRejected() {
+        ResponseError error = rejected("{ personnes(first: 1) { edges { node { id } } } }");
+
+        assertThat(error.getExtensions()).containsEntry("depth", 4L).containsEntry("maxDepth", 3L);
+    }
+
+    @Test
+    void aliasesAtLimitAreAccepted() {
+        graphQlTester.document(aliases(20))
+                .execute()
+                .errors().verify();
+    }
+
+    @Test
+    void aliasesAboveLimitAreRejected() {
+        ResponseError error = rejected(aliases(21));
+
+        assertThat(error.getExtensions()).containsEntry("aliases", 21L).containsEntry("maxAliases", 20L);
+    }
+
+    @Test
+    void costAtLimitIsAccepted() {
+        // 2 x allPersonnes (@cost(weight: 500)) = 1000
+        graphQlTester.document("{ a: allPersonnes { id } b: allPersonnes { id } }")
+                .execute()
+                .errors().verify();
+    }
+
+    @Test
+    void costAboveLimitIsRejected() {
+        ResponseError error = rejected("{ a: allPersonnes { id } b: allPersonnes { id } c: allPersonnes { id } }");
+
+        assertThat(error.getExtensions()).containsEntry("cost", 1500L).containsEntry("maxCost", 1000L);
+    }
+
+    @Test
+    void sizedByMultipliesChildrenCost() {
+        // personnes : 1 + first x (edges : 1, cursor : 0) = 1 + first
+        String query = "query Page($first: Int) { personnes(first: $first) { edges { cursor } } }";
+
+        graphQlTester.document(query).variable("first", 999)
+                .execute()
+                .errors().verify();
+
+        ResponseError error = rejectedWith(graphQlTester.document(query).variable("first", 1000));
+        assertThat(error.getExtensions()).containsEntry("cost", 1001L);
+    }
+
+    @Test
+    void sizedByDefaultArgumentIsUsed() {
+        // 2 x 500 + personnes sans first (20 par défaut) : 1 + 20 x 1
+        ResponseError error = rejected(
+                "{ a: allPersonnes { id } b: allPersonnes { id } p: personnes { edges { cursor } } }");
+
+        assertThat(error.getExtensions()).containsEntry("cost", 1021L);
+    }
+
+    private ResponseError rejected(String document) {
+        return rejectedWith(graphQlTester.document(document));
+    }
+
+    private static ResponseError rejectedWith(GraphQlTester.Request<?> request) {
+        ResponseError[] rejection = new ResponseError[1];
+        request.execute()
+                .errors().satisfy(errors -> {
+                    assertThat(errors).hasSize(1);
+                    assertThat(errors.get(0).getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+                    rejection[0] = errors.get(0);
+                });
+        return rejection[0];
+    }
+
+    // n alias de suggest (coût 1 chacun, aucune erreur même sans données)
+    private static String aliases(int count) {
+        StringBuilder document = new StringBuilder("{");
+        for (int i = 0; i < count; i++) {
+            document.append(" s").append(i).append(": suggest(prefix: \"A\", field: NOM) { value }");
+        }
+        return document.append(" }").toString();
+    }
+}
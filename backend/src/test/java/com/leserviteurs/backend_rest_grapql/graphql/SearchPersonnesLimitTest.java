@@ -0,0 +1,84 @@
+package com.leserviteurs.backend_rest_grapql.graphql;
+
+import com.leserviteurs.backend_rest_grapql.config.CacheConfig;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * searchPersonnes lit au plus max-list-size + 1 lignes : par la requête JPQL (sans filtre)
+ * comme par l'index trigramme, et c'est cette liste bornée qui est mise en cache
+ */
+@SpringBootTest(properties = "app.graphql.limits.max-list-size=2")
+@ActiveProfiles("test")
+@AutoConfigureGraphQlTester
+class SearchPersonnesLimitTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void createPersonnes() {
+        personneService.resetTable();
+        for (int i = 1; i <= 5; i++) {
+            personneService.create(PersonneDTO.builder()
+                    .nom("DIOP").prenom("Awa").adresse("Dakar").telephone("77000000" + i).build());
+        }
+    }
+
+    @Test
+    void searchWithoutFilterReadsOneRowMoreThanTheLimit() {
+        graphQlTester.document("{ searchPersonnes { id } }")
+                .execute()
+                .path("searchPersonnes").entityList(Object.class).hasSize(2);
+
+        assertThat(cachedSearchSizes()).containsExactly(3);
+    }
+
+    @Test
+    void searchThroughTheIndexReadsOneRowMoreThanTheLimit() {
+        graphQlTester.document("{ searchPersonnes(nom: \"diop\") { id } }")
+                .execute()
+                .path("searchPersonnes").entityList(Object.class).hasSize(2);
+
+        assertThat(cachedSearchSizes()).containsExactly(3);
+    }
+
+    @Test
+    void fuzzySearchIsLimitedAfterRanking() {
+        graphQlTester.document("{ searchPersonnes(nom: \"Dyop\", fuzzy: true) { id } }")
+                .execute()
+                .path("searchPersonnes").entityList(Object.class).hasSize(2);
+
+        assertThat(cachedSearchSizes()).containsExactly(3);
+    }
+
+    private List<Integer> cachedSearchSizes() {
+        @SuppressWarnings("unchecked")
+        Cache<Object, Object> cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.PERSONNE_SEARCH)
+                .getNativeCache();
+        return cache.asMap().values().stream()
+                .map(value -> ((List<?>) value).size())
+                .toList();
+    }
+}
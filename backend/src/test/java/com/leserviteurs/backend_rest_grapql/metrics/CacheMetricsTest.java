@@ -0,0 +1,50 @@
+package com.leserviteurs.backend_rest_grapql.metrics;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.service.PersonneService;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Caches de Spring (personnes, personneSearch) et caches de documents GraphQL
+ * exposés ensemble sur /actuator/prometheus
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureObservability
+@AutoConfigureGraphQlTester
+class CacheMetricsTest {
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Test
+    void springAndGraphQlCachesAreBothScraped() {
+        PersonneDTO personne = personneService.create(PersonneDTO.builder()
+                .nom("DIOP").prenom("Awa").adresse("Dakar").telephone("770000091").build());
+        personneService.findById(personne.getId());
+        graphQlTester.document("{ suggest(prefix: \"D\", field: NOM) { value } }").execute();
+
+        String scrape = prometheusMeterRegistry.scrape();
+
+        assertThat(scrape).containsPattern("cache_gets_total\\{[^}]*cache=\"personnes\"");
+        assertThat(scrape).containsPattern("cache_gets_total\\{[^}]*cache=\"graphqlDocuments\",cache_manager=\"graphql\"");
+        assertThat(scrape).containsPattern("cache_size\\{[^}]*cache=\"graphqlPersistedQueries\"");
+    }
+}
@@ -0,0 +1,79 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lecture des candidats de la recherche fuzzy (searchPhoneticProjected) sur H2
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PersonneProjectionRepositoryImplTest {
+
+    private static final Set<PersonneField> FIELDS = EnumSet.of(PersonneField.ID, PersonneField.NOM,
+            PersonneField.PRENOM);
+
+    @Autowired
+    private PersonneRepository personneRepository;
+
+    @BeforeEach
+    void clearTable() {
+        personneRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void exactKeysComeFirstThenById() {
+        long sissoko = save("SISSOKO", "Awa");
+        long cisse = save("CISSE", "Awa");
+        long sisse = save("SISSE", "Fatou");
+
+        List<PersonneDTO> rows = personneRepository.searchPhoneticProjected("SIS", null, null, 10, FIELDS);
+
+        assertThat(rows).extracting(PersonneDTO::getId).containsExactly(cisse, sisse, sissoko);
+    }
+
+    @Test
+    void limitKeepsExactKeysBeforeLongerPrefixes() {
+        for (int i = 0; i < 3; i++) {
+            save("SISSOKO", "Awa");
+        }
+        long cisse = save("CISSE", "Awa");
+
+        List<PersonneDTO> rows = personneRepository.searchPhoneticProjected("SIS", null, null, 1, FIELDS);
+
+        assertThat(rows).extracting(PersonneDTO::getId).containsExactly(cisse);
+    }
+
+    @Test
+    void bothExactKeysRankBeforeOne() {
+        long nomOnly = save("DIOP", "Awaou");
+        long both = save("JOP", "Awa");
+        save("FALL", "Awa");
+
+        List<PersonneDTO> rows = personneRepository.searchPhoneticProjected("JOP", "AWA", null, 10, FIELDS);
+
+        assertThat(rows).extracting(PersonneDTO::getId).containsExactly(both, nomOnly);
+    }
+
+    private long save(String nom, String prenom) {
+        return personneRepository.saveAndFlush(Personne.builder()
+                .nom(nom).prenom(prenom)
+                .nomPhonetic(PhoneticKey.of(nom)).prenomPhonetic(PhoneticKey.of(prenom))
+                .build()).getId();
+    }
+}
@@ -0,0 +1,146 @@
+package com.leserviteurs.backend_rest_grapql.repository;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * UPDATE construit à partir des champs donnés (PersonneUpdateRepositoryImpl) sur H2
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PersonneUpdateRepositoryImplTest {
+
+    @Autowired
+    private PersonneRepository personneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Personne personne;
+
+    @BeforeEach
+    void createPersonne() {
+        personneRepository.deleteAllInBatch();
+        personne = personneRepository.saveAndFlush(Personne.builder()
+                .nom("FALL").prenom("Moussa").nomPhonetic(PhoneticKey.of("FALL"))
+                .prenomPhonetic(PhoneticKey.of("Moussa"))
+                .dateNaissance(LocalDate.of(1990, 1, 1)).adresse("Thiès")
+                .telephone("77 000 00 01").telephoneNormalized("770000001")
+                .build());
+    }
+
+    @Test
+    void updatesOnlyGivenFieldsAndIncrementsVersion() {
+        PersonneDTO values = PersonneDTO.builder().adresse("Dakar").nom("ignoré").build();
+
+        int rows = personneRepository.updateFields(personne.getId(), values, null,
+                EnumSet.of(PersonneField.ADRESSE), null);
+
+        Personne stored = reload();
+        assertThat(rows).isEqualTo(1);
+        assertThat(stored.getAdresse()).isEqualTo("Dakar");
+        assertThat(stored.getNom()).isEqualTo("FALL");
+        assertThat(stored.getNomPhonetic()).isEqualTo(PhoneticKey.of("FALL"));
+        assertThat(stored.getTelephoneNormalized()).isEqualTo("770000001");
+        assertThat(stored.getDateNaissance()).isEqualTo(LocalDate.of(1990, 1, 1));
+        assertThat(stored.getVersion()).isEqualTo(personne.getVersion() + 1);
+    }
+
+    @Test
+    void derivedColumnsFollowTheirField() {
+        PersonneDTO values = PersonneDTO.builder().nom("NDIAYE").prenom("Cissé").telephone("78 111 22 33").build();
+
+        personneRepository.updateFields(personne.getId(), values, "781112233",
+                EnumSet.of(PersonneField.NOM, PersonneField.PRENOM, PersonneField.TELEPHONE), null);
+
+        Personne stored = reload();
+        assertThat(stored.getNom()).isEqualTo("NDIAYE");
+        assertThat(stored.getNomPhonetic()).isEqualTo(PhoneticKey.of("NDIAYE"));
+        assertThat(stored.getPrenomPhonetic()).isEqualTo(PhoneticKey.of("Cissé"));
+        assertThat(stored.getTelephone()).isEqualTo("78 111 22 33");
+        assertThat(stored.getTelephoneNormalized()).isEqualTo("781112233");
+        assertThat(stored.getAdresse()).isEqualTo("Thiès");
+    }
+
+    @Test
+    void nullValueClearsField() {
+        personneRepository.updateFields(personne.getId(), PersonneDTO.builder().build(), null,
+                EnumSet.of(PersonneField.ADRESSE, PersonneField.DATE_NAISSANCE), null);
+
+        Personne stored = reload();
+        assertThat(stored.getAdresse()).isNull();
+        assertThat(stored.getDateNaissance()).isNull();
+    }
+
+    @Test
+    void versionConditionMatchesCurrentVersionOnly() {
+        PersonneDTO values = PersonneDTO.builder().adresse("Dakar").build();
+        Set<PersonneField> fields = EnumSet.of(PersonneField.ADRESSE);
+        long version = personne.getVersion();
+
+        assertThat(personneRepository.updateFields(personne.getId(), values, null, fields, version)).isEqualTo(1);
+        assertThat(personneRepository.updateFields(personne.getId(), values, null, fields, version)).isZero();
+        assertThat(reload().getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void unknownIdUpdatesNothing() {
+        PersonneDTO values = PersonneDTO.builder().adresse("Dakar").build();
+
+        assertThat(personneRepository.updateFields(personne.getId() + 100, values, null,
+                EnumSet.of(PersonneField.ADRESSE), null)).isZero();
+    }
+
+    @Test
+    void duplicateTelephoneViolatesUniqueConstraint() {
+        personneRepository.saveAndFlush(Personne.builder()
+                .nom("SOW").prenom("Awa").telephone("77 000 00 02").telephoneNormalized("770000002").build());
+        PersonneDTO values = PersonneDTO.builder().telephone("77 000 00 02").build();
+
+        assertThatThrownBy(() -> personneRepository.updateFields(personne.getId(), values, "770000002",
+                EnumSet.of(PersonneField.TELEPHONE), null))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void nonEditableOrEmptyFieldsAreRejected() {
+        assertRejected(EnumSet.of(PersonneField.VERSION));
+        assertRejected(EnumSet.of(PersonneField.ID, PersonneField.NOM));
+        assertRejected(EnumSet.noneOf(PersonneField.class));
+    }
+
+    // IllegalArgumentException traduite par le proxy du repository
+    private void assertRejected(Set<PersonneField> fields) {
+        PersonneDTO values = PersonneDTO.builder().id(99L).nom("SOW").version(5L).build();
+
+        assertThatThrownBy(() -> personneRepository.updateFields(personne.getId(), values, null, fields, null))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    // L'UPDATE JPQL contourne le contexte de persistance : relire depuis la base
+    private Personne reload() {
+        entityManager.clear();
+        return personneRepository.findById(personne.getId()).orElseThrow();
+    }
+}
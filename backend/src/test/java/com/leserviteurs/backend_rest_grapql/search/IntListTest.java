@@ -0,0 +1,59 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntListTest {
+
+    @Test
+    void addKeepsValuesSortedAndDistinct() {
+        IntList list = new IntList();
+        for (int value : new int[] { 5, 1, 9, 5, 3, 9, 7 }) {
+            list.add(value);
+        }
+
+        assertThat(list.toArray()).containsExactly(1, 3, 5, 7, 9);
+        assertThat(list.size()).isEqualTo(5);
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        IntList list = new IntList();
+        for (int value = 1000; value > 0; value--) {
+            list.add(value);
+        }
+
+        assertThat(list.size()).isEqualTo(1000);
+        assertThat(list.get(0)).isEqualTo(1);
+        assertThat(list.get(999)).isEqualTo(1000);
+    }
+
+    @Test
+    void removeReportsWhetherTheValueWasPresent() {
+        IntList list = new IntList();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        assertThat(list.remove(2)).isTrue();
+        assertThat(list.remove(2)).isFalse();
+        assertThat(list.toArray()).containsExactly(1, 3);
+
+        list.remove(1);
+        list.remove(3);
+        assertThat(list.isEmpty()).isTrue();
+    }
+
+    @Test
+    void intersectMergesSortedArrays() {
+        IntList list = new IntList();
+        for (int value : new int[] { 2, 4, 6, 8, 10 }) {
+            list.add(value);
+        }
+
+        assertThat(list.intersect(new int[] { 1, 2, 3, 8, 10, 12 })).containsExactly(2, 8, 10);
+        assertThat(list.intersect(new int[] { 1, 3, 5 })).isEmpty();
+        assertThat(new IntList().intersect(new int[] { 1, 2 })).isEmpty();
+    }
+}
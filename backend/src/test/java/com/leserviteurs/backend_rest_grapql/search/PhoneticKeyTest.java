@@ -0,0 +1,78 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhoneticKeyTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "Ndiaye, NJAI",
+            "N'Diaye, NJAI",
+            "Njaay, NJAI",
+            "Diop, JOP",
+            "Jop, JOP",
+            "Jóob, JOP",
+            "Cheikh, SEX",
+            "Seex, SEX",
+            "Khady, XADI",
+            "Xadi, XADI",
+            "Ousmane, USMAN",
+            "Usman, USMAN",
+            "Cissé, SIS",
+            "Sisse, SIS",
+            "Guèye, GE",
+            "Gey, GE",
+            "Diagne, JANI",
+            "Jaañ, JANI"
+    })
+    void frenchAndWolofSpellingsShareTheKey(String name, String key) {
+        assertThat(PhoneticKey.of(name)).isEqualTo(key);
+    }
+
+    @Test
+    void caseAndAccentsAreIgnored() {
+        assertThat(PhoneticKey.of("  marème ")).isEqualTo(PhoneticKey.of("MAREME"));
+        assertThat(PhoneticKey.of("SECK")).isEqualTo(PhoneticKey.of("Sekk"));
+    }
+
+    @Test
+    void compoundNameStartsWithFirstWordKey() {
+        assertThat(PhoneticKey.of("Ndiaye-Diop")).isEqualTo("NJAI JOP");
+        assertThat(PhoneticKey.of("Mame Diarra")).startsWith(PhoneticKey.of("Mame") + " ");
+    }
+
+    @Test
+    void nameWithoutLettersHasNoKey() {
+        assertThat(PhoneticKey.of(null)).isNull();
+        assertThat(PhoneticKey.of("   ")).isNull();
+        assertThat(PhoneticKey.of("123 - '")).isNull();
+        // Seulement des lettres muettes
+        assertThat(PhoneticKey.of("h")).isNull();
+    }
+
+    @Test
+    void keyIsCutToColumnLength() {
+        String key = PhoneticKey.of("Diop ".repeat(40));
+
+        assertThat(key).hasSizeLessThanOrEqualTo(PhoneticKey.MAX_LENGTH).doesNotEndWith(" ");
+    }
+
+    @Test
+    void lettersKeepsOnlyUppercaseWords() {
+        assertThat(PhoneticKey.letters(" N'Diaye-Fall ")).isEqualTo("NDIAYE FALL");
+        assertThat(PhoneticKey.letters("Ñaañ")).isEqualTo("NYAANY");
+        assertThat(PhoneticKey.letters("42")).isNull();
+    }
+
+    @Test
+    void distanceIgnoresCaseAndAccents() {
+        assertThat(PhoneticKey.distance("cisse", "Cissé")).isZero();
+        assertThat(PhoneticKey.distance("Ndiaye", "Njaay")).isEqualTo(3);
+        assertThat(PhoneticKey.distance(null, "Diop")).isZero();
+        assertThat(PhoneticKey.distance("Diop", null)).isEqualTo(4);
+    }
+}
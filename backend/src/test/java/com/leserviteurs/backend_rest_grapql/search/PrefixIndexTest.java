@@ -0,0 +1,175 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import com.leserviteurs.backend_rest_grapql.search.PrefixIndex.Completion;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrefixIndexTest {
+
+    private final PrefixIndex index = new PrefixIndex(2);
+
+    @Test
+    void mostFrequentFirstThenAlphabetical() {
+        put(1, "DIOP");
+        put(2, "DIALLO");
+        put(3, "DIOUF");
+        put(4, "DIOUF");
+        put(5, "DIENG");
+        put(6, "FALL");
+
+        assertThat(index.complete(0, "DI", 10)).containsExactly(
+                new Completion("DIOUF", 2),
+                new Completion("DIALLO", 1),
+                new Completion("DIENG", 1),
+                new Completion("DIOP", 1));
+    }
+
+    @Test
+    void limitKeepsTheBestRanked() {
+        put(1, "SOW");
+        put(2, "SALL");
+        put(3, "SALL");
+        put(4, "SECK");
+        put(5, "SARR");
+        put(6, "SARR");
+        put(7, "SARR");
+
+        assertThat(index.complete(0, "S", 2)).containsExactly(new Completion("SARR", 3), new Completion("SALL", 2));
+        // Égalité de nombre : ordre alphabétique des clés
+        assertThat(index.complete(0, "SE", 1)).containsExactly(new Completion("SECK", 1));
+        assertThat(index.complete(0, "S", 4)).extracting(Completion::value)
+                .containsExactly("SARR", "SALL", "SECK", "SOW");
+    }
+
+    @Test
+    void earlyExitDoesNotSkipBetterLaterKeys() {
+        // Tas plein dès BADJI, mais pas de valeurs au nombre maximal du champ (2) :
+        // le parcours continue jusqu'à BEYE, la dernière clé de la plage
+        put(1, "BA");
+        put(2, "BADJI");
+        put(3, "BEYE");
+        put(4, "BEYE");
+
+        assertThat(index.complete(0, "B", 2)).containsExactly(new Completion("BEYE", 2), new Completion("BA", 1));
+    }
+
+    @Test
+    void earlyExitWithTiesKeepsAlphabeticalOrder() {
+        // Toutes les clés ont le nombre maximal : les premières de la plage, qui sont aussi
+        // les premières dans l'ordre alphabétique, sont gardées dès que le tas est plein
+        put(1, "771111111");
+        put(2, "772222222");
+        put(3, "773333333");
+
+        assertThat(index.complete(0, "77", 2)).extracting(Completion::value)
+                .containsExactly("771111111", "772222222");
+    }
+
+    @Test
+    void maximumCountFollowsRemovals() {
+        put(1, "FALL");
+        put(2, "FALL");
+        put(3, "DIOP");
+        put(4, "DIOUF");
+
+        // FALL supprimé : le nombre maximal du champ redescend à 1, DIOP suffit à remplir le tas
+        index.remove(1);
+        index.remove(2);
+        assertThat(index.complete(0, "DIO", 1)).containsExactly(new Completion("DIOP", 1));
+
+        // DIOUF passe à 2 : le parcours ne s'arrête plus sur DIOP
+        put(5, "DIOUF");
+        assertThat(index.complete(0, "DIO", 1)).containsExactly(new Completion("DIOUF", 2));
+    }
+
+    @Test
+    void valueIsTheMostFrequentSpelling() {
+        index.put(1, new String[] { "MAREME", null }, new String[] { "Marème", null });
+        index.put(2, new String[] { "MAREME", null }, new String[] { "MAREME", null });
+
+        // Égalité : ordre alphabétique des orthographes
+        assertThat(index.complete(0, "MAR", 5)).containsExactly(new Completion("MAREME", 2));
+
+        index.put(3, new String[] { "MAREME", null }, new String[] { "Marème", null });
+        assertThat(index.complete(0, "MAR", 5)).containsExactly(new Completion("Marème", 3));
+    }
+
+    @Test
+    void valueFollowsRenamesAndDeletions() {
+        index.put(1, new String[] { "NDIAYE", null }, new String[] { "Ndiaye", null });
+        index.put(2, new String[] { "NDIAYE", null }, new String[] { "NDIAYE", null });
+        index.put(3, new String[] { "NDIAYE", null }, new String[] { "NDIAYE", null });
+
+        // La première orthographe indexée disparaît de la clé
+        index.put(1, new String[] { "NDIAYE", null }, new String[] { "NDIAYE", null });
+        assertThat(index.complete(0, "ND", 5)).containsExactly(new Completion("NDIAYE", 3));
+
+        index.put(2, new String[] { "NDIAYE", null }, new String[] { "N'Diaye", null });
+        index.put(3, new String[] { "NDIAYE", null }, new String[] { "N'Diaye", null });
+        assertThat(index.complete(0, "ND", 5)).containsExactly(new Completion("N'Diaye", 3));
+
+        index.remove(2);
+        index.remove(3);
+        assertThat(index.complete(0, "ND", 5)).containsExactly(new Completion("NDIAYE", 1));
+    }
+
+    @Test
+    void putReplacesAndRemoveForgetsTheDocument() {
+        put(1, "DIOP");
+        put(1, "FALL");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.complete(0, "D", 5)).isEmpty();
+        assertThat(index.complete(0, "F", 5)).containsExactly(new Completion("FALL", 1));
+
+        index.remove(1);
+        index.remove(1);
+
+        assertThat(index.contains(1)).isFalse();
+        assertThat(index.complete(0, "F", 5)).isEmpty();
+    }
+
+    @Test
+    void fieldsAreIndependentAndNullKeysSkipped() {
+        index.put(1, new String[] { "DIOP", "DIARRA" }, new String[] { "DIOP", "Diarra" });
+        index.put(2, new String[] { null, "DIOP" }, new String[] { null, "Diop" });
+
+        assertThat(index.complete(0, "DI", 5)).containsExactly(new Completion("DIOP", 1));
+        assertThat(index.complete(1, "DI", 5)).extracting(Completion::value).containsExactly("Diarra", "Diop");
+    }
+
+    @Test
+    void prefixWithoutMatchOrEmptyIndex() {
+        assertThat(index.complete(0, "A", 5)).isEmpty();
+
+        put(1, "DIOP");
+
+        assertThat(index.complete(0, "DIOPA", 5)).isEmpty();
+        assertThat(index.complete(0, "E", 5)).isEmpty();
+        assertThat(index.complete(1, "D", 5)).isEmpty();
+    }
+
+    @Test
+    void clearEmptiesAllFields() {
+        index.put(1, new String[] { "DIOP", "AWA" }, new String[] { "DIOP", "Awa" });
+
+        index.clear();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.complete(0, "D", 5)).isEmpty();
+        assertThat(index.complete(1, "A", 5)).isEmpty();
+    }
+
+    @Test
+    void wrongFieldCountIsRejected() {
+        assertThatThrownBy(() -> index.put(1, new String[] { "DIOP" }, new String[] { "DIOP" }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void put(int id, String nom) {
+        index.put(id, new String[] { nom, null }, new String[] { nom, null });
+    }
+}
@@ -0,0 +1,148 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import com.leserviteurs.backend_rest_grapql.dto.SuggestField;
+import com.leserviteurs.backend_rest_grapql.dto.SuggestionDTO;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneSearchRow;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static com.leserviteurs.backend_rest_grapql.search.TrigramSearchIndexTest.personne;
+import static com.leserviteurs.backend_rest_grapql.search.TrigramSearchIndexTest.row;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cycle de vie de l'index de complétion : construction, événements, RESET pendant la construction
+ */
+class SuggestIndexTest {
+
+    private final PersonneRepository repository = mock(PersonneRepository.class);
+    private final SuggestIndex index = new SuggestIndex(repository, true, 50);
+
+    @Test
+    void noSuggestionBeforeBuild() {
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.suggest("DI", SuggestField.NOM, 10)).isEmpty();
+    }
+
+    @Test
+    void buildLoadsTheTable() {
+        rows(row(1, "NDIAYE", "Marème", "771234567"), row(2, "NDIAYE", "Awa", "78 111 22 33"),
+                row(3, "NDAO", "Moussa", null));
+
+        index.build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.suggest("nd", SuggestField.NOM, 10))
+                .containsExactly(new SuggestionDTO("NDIAYE", 2), new SuggestionDTO("NDAO", 1));
+        assertThat(index.suggest("mare", SuggestField.PRENOM, 10)).containsExactly(new SuggestionDTO("Marème", 1));
+        assertThat(index.suggest("78 11", SuggestField.TELEPHONE, 10))
+                .containsExactly(new SuggestionDTO("78 111 22 33", 1));
+    }
+
+    @Test
+    void prefixWithoutLettersHasNoSuggestion() {
+        rows(row(1, "DIOP", "Awa", "771234567"));
+        index.build();
+
+        assertThat(index.suggest("12", SuggestField.NOM, 10)).isEmpty();
+        assertThat(index.suggest("ab", SuggestField.TELEPHONE, 10)).isEmpty();
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThatThrownBy(() -> index.suggest(" ", SuggestField.NOM, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.suggest("DI", null, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.suggest("DI", SuggestField.NOM, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.suggest("DI", SuggestField.NOM, 51)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void eventsKeepTheIndexUpToDate() {
+        rows(row(1, "DIOP", "Awa", "771234567"));
+        index.build();
+
+        index.onPersonneChanged(PersonneChangedEvent.created(personne(2, "DIOUF", "Moussa", "77 000 11 22")));
+        index.onPersonneChanged(PersonneChangedEvent.updated(personne(1, "SOW", "Awa", "77 123 45 67")));
+
+        assertThat(index.suggest("DIO", SuggestField.NOM, 10)).containsExactly(new SuggestionDTO("DIOUF", 1));
+        assertThat(index.suggest("S", SuggestField.NOM, 10)).containsExactly(new SuggestionDTO("SOW", 1));
+        assertThat(index.suggest("7700", SuggestField.TELEPHONE, 10))
+                .containsExactly(new SuggestionDTO("77 000 11 22", 1));
+
+        index.onPersonneChanged(PersonneChangedEvent.deleted(2L));
+        assertThat(index.suggest("DIO", SuggestField.NOM, 10)).isEmpty();
+        assertThat(index.suggest("7700", SuggestField.TELEPHONE, 10)).isEmpty();
+    }
+
+    @Test
+    void renamedPersonneNoLongerShowsItsOldSpelling() {
+        rows(row(1, "Ndiaye", "Awa", null), row(2, "NDIAYE", "Fatou", null));
+        index.build();
+
+        index.onPersonneChanged(PersonneChangedEvent.updated(personne(1, "NDIAYE", "Awa", null)));
+
+        assertThat(index.suggest("ndi", SuggestField.NOM, 10)).containsExactly(new SuggestionDTO("NDIAYE", 2));
+    }
+
+    @Test
+    void rowDeletedDuringBuildIsNotReinserted() {
+        when(repository.findSearchRowsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            index.onPersonneChanged(PersonneChangedEvent.deleted(1L));
+            return List.of(row(1, "DIOP", "Awa", null), row(2, "FALL", "Moussa", null));
+        });
+
+        index.build();
+
+        assertThat(index.suggest("DIOP", SuggestField.NOM, 10)).isEmpty();
+        assertThat(index.suggest("FALL", SuggestField.NOM, 10)).containsExactly(new SuggestionDTO("FALL", 1));
+    }
+
+    @Test
+    void resetDuringBuildStopsTheStaleBuild() {
+        // Page lue avant le TRUNCATE, RESET reçu avant son insertion dans l'index
+        when(repository.findSearchRowsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            index.onPersonneChanged(PersonneChangedEvent.reset());
+            return List.of(row(1, "DIOP", "Awa", null));
+        });
+
+        index.build();
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.size()).isZero();
+
+        // Construction suivante : la table après le RESET
+        rows(row(5, "FALL", "Moussa", null));
+        index.build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.suggest("DI", SuggestField.NOM, 10)).isEmpty();
+        assertThat(index.suggest("FA", SuggestField.NOM, 10)).containsExactly(new SuggestionDTO("FALL", 1));
+    }
+
+    @Test
+    void disabledIndexIgnoresEvents() {
+        SuggestIndex disabled = new SuggestIndex(repository, false, 50);
+
+        disabled.buildOnStartup();
+        disabled.onPersonneChanged(PersonneChangedEvent.created(personne(1, "DIOP", "Awa", null)));
+
+        assertThat(disabled.size()).isZero();
+        assertThat(disabled.suggest("DI", SuggestField.NOM, 10)).isEmpty();
+    }
+
+    private void rows(PersonneSearchRow... rows) {
+        when(repository.findSearchRowsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of(rows));
+    }
+}
@@ -0,0 +1,86 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex(3);
+
+    @Test
+    void findsSubstringsInEachField() {
+        index.put(1, "NDIAYE", "FATOU", "771234567");
+        index.put(2, "DIOP", "AWA", "781112233");
+        index.put(3, "NDIAYE FALL", "MOUSSA", "701234500");
+
+        assertThat(index.search("DIAY", null, null)).containsExactly(1, 3);
+        assertThat(index.search("DIAY", "FAT", null)).containsExactly(1);
+        assertThat(index.search(null, null, "12345")).containsExactly(1, 3);
+        assertThat(index.search("YE FA", null, null)).containsExactly(3);
+    }
+
+    @Test
+    void verifiesCandidatesAgainstStoredValues() {
+        // Tous les trigrammes de "ABCAB" sont dans "ABCXCAB", pas la sous-chaîne
+        index.put(1, "ABCXCAB", null, null);
+
+        assertThat(index.search("ABCAB", null, null)).isEmpty();
+        assertThat(index.search("XCA", null, null)).containsExactly(1);
+    }
+
+    @Test
+    void termsShorterThanThreeCharactersCannotBeAnswered() {
+        index.put(1, "BA", "AWA", null);
+
+        assertThat(index.search("BA", null, null)).isNull();
+        assertThat(index.search(null, null, null)).isNull();
+        // Le terme court est tout de même vérifié quand un autre champ réduit la recherche
+        assertThat(index.search("BA", "AWA", null)).containsExactly(1);
+        assertThat(index.search("SY", "AWA", null)).isEmpty();
+    }
+
+    @Test
+    void unknownTrigramGivesNoResult() {
+        index.put(1, "DIOP", "AWA", null);
+
+        assertThat(index.search("ZZZ", null, null)).isEmpty();
+    }
+
+    @Test
+    void putReplacesPreviousValues() {
+        index.put(1, "DIOP", "AWA", "771234567");
+        index.put(1, "FALL", "AWA", "771234567");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("DIOP", null, null)).isEmpty();
+        assertThat(index.search("FALL", null, null)).containsExactly(1);
+    }
+
+    @Test
+    void removeAndClear() {
+        index.put(1, "DIOP", "AWA", null);
+        index.put(2, "DIOP", "FATOU", null);
+
+        index.remove(1);
+        assertThat(index.contains(1)).isFalse();
+        assertThat(index.search("DIOP", null, null)).containsExactly(2);
+
+        index.clear();
+        assertThat(index.size()).isZero();
+        assertThat(index.search("DIOP", null, null)).isEmpty();
+    }
+
+    @Test
+    void fullIndexRejectsNewDocumentsOnly() {
+        TrigramIndex small = new TrigramIndex(3, 1);
+        small.put(1, "DIOP", "AWA", null);
+
+        small.put(1, "FALL", "AWA", null);
+        assertThatThrownBy(() -> small.put(2, "SOW", "AWA", null)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(small.search("FALL", null, null)).containsExactly(1);
+    }
+}
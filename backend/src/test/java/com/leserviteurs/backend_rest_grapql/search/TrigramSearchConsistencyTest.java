@@ -0,0 +1,91 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.validation.ValidationUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index trigramme et requête JPQL (PersonneRepository.SEARCH_FILTER) renvoient les mêmes personnes
+ * pour les mêmes filtres, sur H2. Filtres sans pliage d'accents : H2 les distingue, MariaDB non.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TrigramSearchConsistencyTest {
+
+    @Autowired
+    private PersonneRepository personneRepository;
+
+    private TrigramSearchIndex index;
+
+    @BeforeEach
+    void buildIndex() {
+        personneRepository.deleteAllInBatch();
+        save("N'DIAYE", "Fatou", "77 123 45 67");
+        save("Ndiaye", "Awa", "781112233");
+        save("DIOP", "Marème", "+221 70 123 45 00");
+        save("SARR", "Jean-Pierre", null);
+        save("Ba", "Ndeye Awa", "76 000 11 22");
+
+        index = new TrigramSearchIndex(personneRepository, true, 5000, 1000);
+        index.build();
+    }
+
+    @Test
+    void namesMatchLikeTheQuery() {
+        assertSameResults("diaye", null, null);
+        assertSameResults("NDIAYE", null, null);
+        assertSameResults("ndia", null, null);
+        assertSameResults("n'dia", null, null);
+        assertSameResults(null, "rème", null);
+        assertSameResults(null, "AWA", null);
+        assertSameResults(null, "jean-p", null);
+        assertSameResults(null, "jean p", null);
+        assertSameResults(null, "ye aw", null);
+        assertSameResults("dio", "zzz", null);
+    }
+
+    @Test
+    void telephoneAndCombinedFiltersMatchLikeTheQuery() {
+        assertSameResults(null, null, "77 12");
+        assertSameResults(null, null, "123");
+        assertSameResults(null, null, "2217");
+        assertSameResults("ba", "awa", "76");
+        assertSameResults("diaye", "awa", null);
+    }
+
+    private void assertSameResults(String nom, String prenom, String telephone) {
+        String nomFilter = SearchFilters.name(nom);
+        String prenomFilter = SearchFilters.name(prenom);
+        String telephoneFilter = SearchFilters.telephone(telephone);
+
+        List<Long> fromIndex = index.search(nomFilter, prenomFilter, telephoneFilter);
+        List<Long> fromQuery = personneRepository
+                .searchProjected(nomFilter, prenomFilter, telephoneFilter, EnumSet.of(PersonneField.ID))
+                .stream().map(PersonneDTO::getId).toList();
+
+        assertThat(fromIndex).as("index : %s / %s / %s", nom, prenom, telephone).isNotNull();
+        assertThat(fromIndex).as("%s / %s / %s", nom, prenom, telephone).isEqualTo(fromQuery);
+    }
+
+    private void save(String nom, String prenom, String telephone) {
+        personneRepository.saveAndFlush(Personne.builder()
+                .nom(nom).prenom(prenom).telephone(telephone)
+                .telephoneNormalized(ValidationUtils.normalizeTelephone(telephone))
+                .build());
+    }
+}
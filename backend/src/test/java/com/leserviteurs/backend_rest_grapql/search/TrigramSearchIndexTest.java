@@ -0,0 +1,228 @@
+package com.leserviteurs.backend_rest_grapql.search;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneSearchRow;
+import com.leserviteurs.backend_rest_grapql.validation.ValidationUtils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cycle de vie de l'index : construction, événements, RESET pendant la construction
+ */
+class TrigramSearchIndexTest {
+
+    private final PersonneRepository repository = mock(PersonneRepository.class);
+    private final TrigramSearchIndex index = new TrigramSearchIndex(repository, true, 5000, 100);
+
+    @Test
+    void notReadyBeforeBuild() {
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.search("DIOP", null, null)).isNull();
+    }
+
+    @Test
+    void buildLoadsTheTable() {
+        rows(row(1, "NDIAYE", "Fatou", "771234567"), row(2, "DIOP", "Awa", "78 111 22 33"));
+
+        index.build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("diay", null, null)).containsExactly(1L);
+        assertThat(index.search(null, null, "11122")).containsExactly(2L);
+    }
+
+    @Test
+    void matchesWithoutCaseOrAccentsLikeTheQuery() {
+        rows(row(1, "N'DIAYE", "Marème", null), row(2, "GUÈYE", "Awa", null));
+        index.build();
+
+        assertThat(index.search(null, "mareme", null)).containsExactly(1L);
+        assertThat(index.search(null, "MARÈME", null)).containsExactly(1L);
+        assertThat(index.search("gueye", null, null)).containsExactly(2L);
+        // Apostrophes conservées, comme dans LIKE
+        assertThat(index.search("n'dia", null, null)).containsExactly(1L);
+        assertThat(index.search("ndia", null, null)).isEmpty();
+    }
+
+    @Test
+    void likeWildcardsFallBackToTheQuery() {
+        rows(row(1, "DIOP", "Awa", null));
+        index.build();
+
+        assertThat(index.search("DI%P", null, null)).isNull();
+        assertThat(index.search(null, "A_A", null)).isNull();
+        assertThat(index.search("123", null, null)).isEmpty();
+    }
+
+    @Test
+    void tooManyResultsFallBackToTheQuery() {
+        TrigramSearchIndex small = new TrigramSearchIndex(repository, true, 1, 100);
+        rows(row(1, "DIOP", "Awa", null), row(2, "DIOP", "Fatou", null));
+        small.build();
+
+        assertThat(small.search("DIOP", null, null)).isNull();
+        assertThat(small.search("DIOP", "awa", null)).containsExactly(1L);
+    }
+
+    @Test
+    void eventsKeepTheIndexUpToDate() {
+        rows(row(1, "DIOP", "Awa", "771234567"));
+        index.build();
+
+        index.onPersonneChanged(PersonneChangedEvent.created(personne(2, "FALL", "Moussa", "77 000 11 22")));
+        index.onPersonneChanged(PersonneChangedEvent.updated(personne(1, "SOW", "Awa", "77 123 45 67")));
+
+        assertThat(index.search("FALL", null, null)).containsExactly(2L);
+        assertThat(index.search(null, null, "0001122")).containsExactly(2L);
+        assertThat(index.search("DIOP", null, null)).isEmpty();
+        assertThat(index.search("SOW", "awa", null)).containsExactly(1L);
+
+        index.onPersonneChanged(PersonneChangedEvent.deleted(2L));
+        assertThat(index.search("FALL", null, null)).isEmpty();
+    }
+
+    @Test
+    void rowDeletedDuringBuildIsNotReinserted() {
+        // La page est lue, puis la suppression est validée avant son insertion dans l'index
+        when(repository.findSearchRowsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            index.onPersonneChanged(PersonneChangedEvent.deleted(1L));
+            return List.of(row(1, "DIOP", "Awa", null), row(2, "FALL", "Moussa", null));
+        });
+
+        index.build();
+
+        assertThat(index.search("DIOP", null, null)).isEmpty();
+        assertThat(index.search("FALL", null, null)).containsExactly(2L);
+    }
+
+    @Test
+    void resetDuringBuildStopsTheStaleBuild() {
+        // Page lue avant le TRUNCATE, RESET reçu avant son insertion dans l'index
+        when(repository.findSearchRowsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            index.onPersonneChanged(PersonneChangedEvent.reset());
+            return List.of(row(1, "DIOP", "Awa", null));
+        });
+
+        index.build();
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.size()).isZero();
+
+        // Construction suivante : la table après le RESET
+        rows(row(5, "FALL", "Moussa", null));
+        index.build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("DIOP", null, null)).isEmpty();
+        assertThat(index.search("FALL", null, null)).containsExactly(5L);
+    }
+
+    @Test
+    void resetClearsTheIndex() {
+        rows(row(1, "DIOP", "Awa", null));
+        index.build();
+
+        index.onPersonneChanged(PersonneChangedEvent.reset());
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void tableLargerThanMaxDocumentsLeavesTheIndexEmpty() {
+        TrigramSearchIndex small = new TrigramSearchIndex(repository, true, 5000, 1);
+        rows(row(1, "DIOP", "Awa", null), row(2, "FALL", "Moussa", null));
+
+        small.build();
+
+        assertThat(small.isReady()).isFalse();
+        assertThat(small.size()).isZero();
+        small.onPersonneChanged(PersonneChangedEvent.created(personne(3, "SOW", "Awa", null)));
+        assertThat(small.size()).isZero();
+
+        // Le RESET suivant reconstruit l'index sur la table qui tient dans la limite
+        rows(row(5, "SOW", "Awa", null));
+        small.onPersonneChanged(PersonneChangedEvent.reset());
+        small.build();
+
+        assertThat(small.isReady()).isTrue();
+        assertThat(small.search("SOW", null, null)).containsExactly(5L);
+    }
+
+    @Test
+    void creationBeyondMaxDocumentsEmptiesTheIndex() {
+        TrigramSearchIndex small = new TrigramSearchIndex(repository, true, 5000, 2);
+        rows(row(1, "DIOP", "Awa", null), row(2, "FALL", "Moussa", null));
+        small.build();
+
+        small.onPersonneChanged(PersonneChangedEvent.updated(personne(1, "SOW", "Awa", null)));
+        assertThat(small.isReady()).isTrue();
+
+        small.onPersonneChanged(PersonneChangedEvent.created(personne(3, "SECK", "Awa", null)));
+
+        assertThat(small.isReady()).isFalse();
+        assertThat(small.size()).isZero();
+        assertThat(small.search("FALL", null, null)).isNull();
+    }
+
+    @Test
+    void disabledIndexIgnoresEvents() {
+        TrigramSearchIndex disabled = new TrigramSearchIndex(repository, false, 5000, 100);
+
+        disabled.buildOnStartup();
+        disabled.onPersonneChanged(PersonneChangedEvent.created(personne(1, "DIOP", "Awa", null)));
+
+        assertThat(disabled.size()).isZero();
+        assertThat(disabled.search("DIOP", null, null)).isNull();
+    }
+
+    private void rows(PersonneSearchRow... rows) {
+        when(repository.findSearchRowsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of(rows));
+    }
+
+    static PersonneSearchRow row(long id, String nom, String prenom, String telephone) {
+        return new PersonneSearchRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getNom() {
+                return nom;
+            }
+
+            @Override
+            public String getPrenom() {
+                return prenom;
+            }
+
+            @Override
+            public String getTelephone() {
+                return telephone;
+            }
+
+            @Override
+            public String getTelephoneNormalized() {
+                return ValidationUtils.normalizeTelephone(telephone);
+            }
+        };
+    }
+
+    static PersonneDTO personne(long id, String nom, String prenom, String telephone) {
+        return PersonneDTO.builder().id(id).nom(nom).prenom(prenom).telephone(telephone).build();
+    }
+}
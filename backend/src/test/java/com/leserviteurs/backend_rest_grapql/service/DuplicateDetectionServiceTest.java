@@ -0,0 +1,142 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.dto.DuplicateCandidateDTO;
+import com.leserviteurs.backend_rest_grapql.dto.DuplicateScanDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.model.DuplicateReason;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recherche de doublons sur H2 : blocs, score et paires comparées une seule fois
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DuplicateDetectionServiceTest {
+
+    private static final LocalDate BIRTH = LocalDate.of(1990, 5, 1);
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @BeforeEach
+    void resetTable() {
+        personneService.resetTable();
+    }
+
+    @Test
+    void identicalPersonsScoreOne() {
+        DuplicateDetectionService.Row a = row(1, "DIOP", "Awa", BIRTH, "1234567");
+
+        assertThat(DuplicateDetectionService.score(a, row(2, "DIOP", "Awa", BIRTH, "1234567"))).isEqualTo(1.0);
+    }
+
+    @Test
+    void sameSoundScoresAboveDifferentSpelling() {
+        DuplicateDetectionService.Row ndiaye = row(1, "NDIAYE", "Awa", BIRTH, null);
+
+        double sameSound = DuplicateDetectionService.score(ndiaye, row(2, "NJAAY", "Awa", BIRTH, null));
+        double typo = DuplicateDetectionService.score(ndiaye, row(3, "NDIAYA", "Awa", BIRTH, null));
+
+        // Nom : 0.9 + 0.1 x (1 - 3/6) = 0.95 ; 0.6 x 0.975 + 0.25 + 0.15 x 0.5
+        assertThat(sameSound).isEqualTo(0.91);
+        assertThat(typo).isLessThan(sameSound);
+    }
+
+    @Test
+    void missingDateOrTelephoneCountsHalf() {
+        DuplicateDetectionService.Row a = row(1, "FALL", "Moussa", null, null);
+
+        // 0.6 + 0.25 x 0.5 + 0.15 x 0.5
+        assertThat(DuplicateDetectionService.score(a, row(2, "FALL", "Moussa", BIRTH, "1234567"))).isEqualTo(0.8);
+    }
+
+    @Test
+    void differentDateAndTelephoneScoreZeroOnThem() {
+        DuplicateDetectionService.Row a = row(1, "FALL", "Moussa", BIRTH, "1234567");
+
+        assertThat(DuplicateDetectionService.score(a,
+                row(2, "FALL", "Moussa", BIRTH.plusDays(1), "7654321"))).isEqualTo(0.6);
+    }
+
+    @Test
+    void pairInBothBlocksIsReportedOnceAsNomNaissance() throws InterruptedException {
+        // Même bloc NOM_NAISSANCE (NJAI|AWA|1990) et même numéro hors indicatif
+        long ndiaye = create("NDIAYE", "Awa", BIRTH, "771234567");
+        long njaay = create("NJAAY", "Awa", BIRTH, "781234567");
+        create("SOW", "Binta", BIRTH, "770000099");
+
+        List<DuplicateCandidateDTO> candidates = scan();
+
+        assertThat(candidates).singleElement().satisfies(candidate -> {
+            assertThat(candidate.getReason()).isEqualTo(DuplicateReason.NOM_NAISSANCE);
+            assertThat(candidate.getPersonneId()).isEqualTo(Math.min(ndiaye, njaay));
+            assertThat(candidate.getDuplicateId()).isEqualTo(Math.max(ndiaye, njaay));
+        });
+        // Comparée dans le bloc NOM_NAISSANCE seulement, pas à nouveau dans le bloc TELEPHONE
+        assertThat(duplicateDetectionService.status().getComparisons()).isEqualTo(1);
+    }
+
+    @Test
+    void telephoneBlockFindsPairOutsideNameBlock() throws InterruptedException {
+        // Naissance inconnue pour l'une : blocs NOM_NAISSANCE différents, même numéro hors indicatif
+        long withoutDate = create("SOW", "Awa", null, "770000022");
+        long withDate = create("SOW", "Awa", BIRTH, "780000022");
+
+        List<DuplicateCandidateDTO> candidates = scan();
+
+        assertThat(candidates).singleElement().satisfies(candidate -> {
+            assertThat(candidate.getReason()).isEqualTo(DuplicateReason.TELEPHONE);
+            assertThat(candidate.getPersonneId()).isEqualTo(Math.min(withoutDate, withDate));
+            // 0.6 + 0.25 x 0.5 + 0.15
+            assertThat(candidate.getScore()).isEqualTo(0.875);
+        });
+    }
+
+    @Test
+    void differentBirthYearsAreNotCompared() throws InterruptedException {
+        create("DIOP", "Awa", BIRTH, "770000031");
+        create("DIOP", "Awa", BIRTH.minusYears(30), "770000032");
+
+        assertThat(scan()).isEmpty();
+        assertThat(duplicateDetectionService.status().getComparisons()).isZero();
+    }
+
+    private List<DuplicateCandidateDTO> scan() throws InterruptedException {
+        duplicateDetectionService.start();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (duplicateDetectionService.status().getState() == DuplicateScanDTO.State.RUNNING) {
+            assertThat(System.currentTimeMillis()).as("fin de la recherche").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        assertThat(duplicateDetectionService.status().getState()).isEqualTo(DuplicateScanDTO.State.DONE);
+        return duplicateDetectionService.findCandidates(0, 100);
+    }
+
+    private long create(String nom, String prenom, LocalDate dateNaissance, String telephone) {
+        return personneService.create(PersonneDTO.builder()
+                .nom(nom).prenom(prenom).dateNaissance(dateNaissance).telephone(telephone).build()).getId();
+    }
+
+    private static DuplicateDetectionService.Row row(long id, String nom, String prenom, LocalDate dateNaissance,
+            String subscriber) {
+        String nomPhonetic = PhoneticKey.of(nom);
+        String prenomPhonetic = PhoneticKey.of(prenom);
+        return new DuplicateDetectionService.Row(id, nom, prenom, nomPhonetic, prenomPhonetic, dateNaissance,
+                subscriber, nomPhonetic + '|' + prenomPhonetic + '|'
+                        + (dateNaissance != null ? dateNaissance.getYear() : ""));
+    }
+}
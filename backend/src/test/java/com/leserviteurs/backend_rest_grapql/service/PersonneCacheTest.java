@@ -0,0 +1,115 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.config.CacheConfig;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.exception.ResourceNotFoundException;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Caches personnes et personneSearch sur H2 : une modification faite en SQL, hors du service,
+ * n'est pas vue tant que l'entrée est en cache ; chaque écriture du service la remplace ou l'invalide
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PersonneCacheTest {
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private PersonneDTO personne;
+
+    @BeforeEach
+    void createPersonne() {
+        personneService.resetTable();
+        personne = personneService.create(dto("DIOP", "770000001"));
+    }
+
+    @Test
+    void findByIdIsServedFromTheCache() {
+        assertThat(cacheManager.getCache(CacheConfig.PERSONNES).get(personne.getId())).isNotNull();
+
+        renameInDatabase("FALL");
+
+        assertThat(personneService.findById(personne.getId()).getNom()).isEqualTo("DIOP");
+    }
+
+    @Test
+    void updateAndPatchPutTheNewVersion() {
+        renameInDatabase("FALL");
+        personneService.update(personne.getId(), dto("SOW", "770000001"));
+        assertThat(personneService.findById(personne.getId()).getNom()).isEqualTo("SOW");
+
+        personneService.patch(personne.getId(), PersonneDTO.builder().prenom("Fatou").build(),
+                Set.of(PersonneField.PRENOM), null);
+        PersonneDTO cached = personneService.findById(personne.getId());
+        assertThat(cached.getNom()).isEqualTo("SOW");
+        assertThat(cached.getPrenom()).isEqualTo("Fatou");
+    }
+
+    @Test
+    void deleteEvictsTheId() {
+        personneService.findById(personne.getId());
+
+        personneService.delete(personne.getId());
+
+        assertThatThrownBy(() -> personneService.findById(personne.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void rolledBackUpdateLeavesTheCacheUntouched() {
+        transactionTemplate.executeWithoutResult(status -> {
+            personneService.update(personne.getId(), dto("SOW", "770000001"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(personneService.findById(personne.getId()).getNom()).isEqualTo("DIOP");
+    }
+
+    @Test
+    void searchIsCachedUnderNormalizedFiltersUntilTheNextWrite() {
+        assertThat(personneService.search("diop", null, null)).extracting(PersonneDTO::getPrenom)
+                .containsExactly("Awa");
+
+        jdbcTemplate.update("UPDATE personne SET prenom = 'Fatou' WHERE id = ?", personne.getId());
+        // Même clé normalisée : casse et espaces de bord ignorés
+        assertThat(personneService.search(" DIOP ", null, null)).extracting(PersonneDTO::getPrenom)
+                .containsExactly("Awa");
+
+        personneService.create(dto("DIOP", "770000002"));
+
+        assertThat(personneService.search("diop", null, null)).extracting(PersonneDTO::getPrenom)
+                .containsExactly("Fatou", "Awa");
+    }
+
+    private void renameInDatabase(String nom) {
+        jdbcTemplate.update("UPDATE personne SET nom = ? WHERE id = ?", nom, personne.getId());
+    }
+
+    private static PersonneDTO dto(String nom, String telephone) {
+        return PersonneDTO.builder().nom(nom).prenom("Awa").adresse("Dakar").telephone(telephone).build();
+    }
+}
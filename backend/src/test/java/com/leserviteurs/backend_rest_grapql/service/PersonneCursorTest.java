@@ -0,0 +1,89 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneOrder;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersonneCursorTest {
+
+    private static final PersonneDTO DIOP = PersonneDTO.builder().id(42L).nom("DIOP").prenom("Awa").build();
+
+    @Test
+    void encodeDecodeIdOrder() {
+        PersonneCursor cursor = PersonneCursor.decode(PersonneCursor.encode(DIOP, PersonneOrder.ID), PersonneOrder.ID);
+
+        assertThat(cursor.getOrder()).isEqualTo(PersonneOrder.ID);
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void encodeDecodeNomPrenomOrderKeepsTieBreakId() {
+        String encoded = PersonneCursor.encode(DIOP, PersonneOrder.NOM_PRENOM);
+        PersonneCursor cursor = PersonneCursor.decode(encoded, PersonneOrder.NOM_PRENOM);
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(cursor.getNom()).isEqualTo("DIOP");
+        assertThat(cursor.getPrenom()).isEqualTo("Awa");
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void accentsSurviveEncoding() {
+        PersonneDTO personne = PersonneDTO.builder().id(7L).nom("GUÈYE").prenom("Marème").build();
+        PersonneCursor cursor = PersonneCursor.decode(PersonneCursor.encode(personne, PersonneOrder.NOM_PRENOM),
+                PersonneOrder.NOM_PRENOM);
+
+        assertThat(cursor.getNom()).isEqualTo("GUÈYE");
+        assertThat(cursor.getPrenom()).isEqualTo("Marème");
+    }
+
+    @Test
+    void firstCursorIsBeforeEveryRow() {
+        PersonneCursor cursor = PersonneCursor.first(PersonneOrder.NOM_PRENOM);
+
+        assertThat(cursor.getId()).isZero();
+        assertThat(cursor.getNom()).isEmpty();
+        assertThat(cursor.getPrenom()).isEmpty();
+    }
+
+    @Test
+    void cursorOfAnotherOrderIsRejected() {
+        String encoded = PersonneCursor.encode(DIOP, PersonneOrder.ID);
+
+        assertThatThrownBy(() -> PersonneCursor.decode(encoded, PersonneOrder.NOM_PRENOM))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("tri demandé");
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertInvalid("pas du base64 !", PersonneOrder.ID);
+        assertInvalid(raw("ID"), PersonneOrder.ID);
+        assertInvalid(raw("ID\u001Fabc"), PersonneOrder.ID);
+        assertInvalid(raw("ID\u001F1\u001F2"), PersonneOrder.ID);
+        assertInvalid(raw("NOM_PRENOM\u001FDIOP\u001F12"), PersonneOrder.NOM_PRENOM);
+        assertInvalid(raw("NOM_PRENOM\u001FDIOP\u001FAwa\u001Fx"), PersonneOrder.NOM_PRENOM);
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertInvalid(raw("ID\u001F42 OR 1=1"), PersonneOrder.ID);
+        assertInvalid(raw("id\u001F42"), PersonneOrder.ID);
+    }
+
+    private static void assertInvalid(String cursor, PersonneOrder order) {
+        assertThatThrownBy(() -> PersonneCursor.decode(cursor, order))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
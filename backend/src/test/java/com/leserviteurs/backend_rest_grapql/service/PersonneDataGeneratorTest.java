@@ -0,0 +1,117 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.dto.GenerationReportDTO;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.search.PhoneticKey;
+import com.leserviteurs.backend_rest_grapql.validation.PersonneValidator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Génération de données synthétiques sur H2 : lots partiels, lignes valides et stockées comme
+ * par la création, séquence repoussée, caches vidés après la génération
+ */
+@SpringBootTest(properties = {
+        "app.generator.chunk-size=10",
+        "app.generator.threads=2",
+        "app.generator.max-rows=100" })
+@ActiveProfiles("test")
+class PersonneDataGeneratorTest {
+
+    @Autowired
+    private PersonneDataGenerator personneDataGenerator;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private PersonneValidator personneValidator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void resetTable() {
+        personneService.resetTable();
+    }
+
+    @Test
+    void generatesEveryRowOfThePartialLastChunk() {
+        GenerationReportDTO report = personneDataGenerator.generate(25);
+
+        assertThat(report.getRows()).isEqualTo(25);
+        assertThat(report.getLastId() - report.getFirstId()).isEqualTo(24);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM personne WHERE id BETWEEN ? AND ?", Long.class,
+                report.getFirstId(), report.getLastId())).isEqualTo(25);
+    }
+
+    @Test
+    void generatedRowsPassValidation() {
+        personneDataGenerator.generate(30);
+
+        for (PersonneDTO personne : personneService.findAll()) {
+            assertThat(personneValidator.validate(personne).isValid())
+                    .as("personne %s", personne).isTrue();
+            assertThat(personne.getNom()).isUpperCase();
+            assertThat(personne.getVersion()).isZero();
+        }
+    }
+
+    @Test
+    void generatedRowsAreStoredLikeCreatedOnes() {
+        personneDataGenerator.generate(30);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT nom, prenom, nom_phonetic, prenom_phonetic, telephone, telephone_normalized FROM personne");
+        for (Map<String, Object> row : rows) {
+            assertThat(row.get("nom_phonetic")).isEqualTo(PhoneticKey.of((String) row.get("nom")));
+            assertThat(row.get("prenom_phonetic")).isEqualTo(PhoneticKey.of((String) row.get("prenom")));
+            if (row.get("telephone") != null) {
+                assertThat(((String) row.get("telephone")).replace(" ", ""))
+                        .isEqualTo(row.get("telephone_normalized"));
+            }
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT telephone_normalized) = COUNT(telephone_normalized) FROM personne",
+                Boolean.class)).isTrue();
+    }
+
+    @Test
+    void creationAfterGenerationTakesTheNextIds() {
+        GenerationReportDTO report = personneDataGenerator.generate(20);
+
+        PersonneDTO created = personneService.create(PersonneDTO.builder()
+                .nom("FALL").prenom("Moussa").adresse("Thiès").telephone("700000001").build());
+
+        assertThat(created.getId()).isGreaterThan(report.getLastId());
+    }
+
+    @Test
+    void generationEvictsCachedSearches() {
+        assertThat(personneService.search(null, null, null)).isEmpty();
+
+        personneDataGenerator.generate(15);
+
+        assertThat(personneService.search(null, null, null)).hasSize(15);
+    }
+
+    @Test
+    void rowsOutsideTheAllowedRangeAreRejected() {
+        assertThatThrownBy(() -> personneDataGenerator.generate(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> personneDataGenerator.generate(101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,156 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.dto.ImportReportDTO;
+import com.leserviteurs.backend_rest_grapql.dto.ImportRowResultDTO;
+import com.leserviteurs.backend_rest_grapql.dto.ImportRowResultDTO.Status;
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Import en masse sur H2, par lots de 2 lignes : rapport ligne par ligne, unicité du téléphone
+ * dans le fichier et en base, reprise ligne par ligne quand la base refuse un lot
+ */
+@SpringBootTest(properties = "app.import.chunk-size=2")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class PersonneImportServiceTest {
+
+    @Autowired
+    private PersonneImportService personneImportService;
+
+    @Autowired
+    private PersonneService personneService;
+
+    @MockitoSpyBean
+    private PersonneRepository personneRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void resetTable() {
+        personneService.resetTable();
+    }
+
+    @Test
+    void jsonReportHasOneResultPerElement() throws IOException {
+        personneService.create(PersonneDTO.builder().nom("SARR").prenom("Ibou").telephone("770000009").build());
+
+        ImportReportDTO report = personneImportService.importJson(stream("""
+                [
+                  {"nom": "DIOP", "prenom": "Awa", "telephone": "770000001", "dateNaissance": "1990-05-12"},
+                  {"prenom": "Sans nom"},
+                  {"nom": "FALL", "prenom": "Moussa", "telephone": "77 000 00 01"},
+                  {"nom": "SARR", "prenom": "Fatou", "telephone": "77 000 00 09"},
+                  {"nom": "BA", "prenom": "Ndeye", "dateNaissance": "pas une date"},
+                  "texte",
+                  {"nom": "NDIAYE", "prenom": "Modou", "adresse": "Dakar"}
+                ]
+                """));
+
+        assertThat(report.getTotal()).isEqualTo(7);
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(5);
+        assertThat(report.getRows()).extracting(ImportRowResultDTO::getLine).containsExactly(1, 2, 3, 4, 5, 6, 7);
+        assertThat(report.getRows()).extracting(ImportRowResultDTO::getStatus).containsExactly(
+                Status.CREATED, Status.ERROR, Status.ERROR, Status.ERROR, Status.ERROR, Status.ERROR, Status.CREATED);
+
+        List<ImportRowResultDTO> rows = report.getRows();
+        assertThat(rows.get(1).getError()).contains("Le nom est obligatoire");
+        assertThat(rows.get(2).getError()).isEqualTo("Ce numéro de téléphone apparaît plusieurs fois dans le fichier");
+        assertThat(rows.get(3).getError()).isEqualTo("Ce numéro de téléphone existe déjà");
+        assertThat(rows.get(4).getError()).startsWith("Valeur invalide");
+        assertThat(rows.get(5).getError()).isEqualTo("Objet personne attendu");
+
+        PersonneDTO diop = personneService.findById(rows.get(0).getId());
+        assertThat(diop.getNom()).isEqualTo("DIOP");
+        assertThat(diop.getTelephone()).isEqualTo("77 000 00 01");
+        assertThat(diop.getDateNaissance()).isEqualTo(LocalDate.of(1990, 5, 12));
+        assertThat(personneService.findById(rows.get(6).getId()).getAdresse()).isEqualTo("Dakar");
+    }
+
+    @Test
+    void csvColumnsAreReadByHeaderName() throws IOException {
+        ImportReportDTO report = personneImportService.importCsv(stream("""
+                telephone,prenom,nom,date_naissance,adresse
+                770000001,Awa,DIOP,1990-05-12,"12, rue Carnot"
+                ,Moussa,FALL,,
+
+                770000002,Fatou,SARR,12/05/1990,
+                """));
+
+        assertThat(report.getRows()).extracting(ImportRowResultDTO::getStatus)
+                .containsExactly(Status.CREATED, Status.CREATED, Status.ERROR);
+        assertThat(report.getRows().get(2).getLine()).isEqualTo(3);
+        assertThat(report.getRows().get(2).getError()).contains("12/05/1990");
+
+        PersonneDTO diop = personneService.findById(report.getRows().get(0).getId());
+        assertThat(diop.getAdresse()).isEqualTo("12, rue Carnot");
+        assertThat(diop.getDateNaissance()).isEqualTo(LocalDate.of(1990, 5, 12));
+        assertThat(personneService.findById(report.getRows().get(1).getId()).getTelephone()).isNull();
+    }
+
+    @Test
+    void csvWithoutNomAndPrenomColumnsIsRejected() {
+        assertThatThrownBy(() -> personneImportService.importCsv(stream("nom,telephone\nDIOP,770000001\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("En-tête CSV invalide");
+    }
+
+    @Test
+    void chunkRefusedByTheDatabaseIsReplayedRowByRow() throws IOException {
+        personneService.create(PersonneDTO.builder().nom("SARR").prenom("Ibou").telephone("770000002").build());
+        // Téléphone créé entre la requête IN (...) et l'insertion : seule la contrainte unique le voit
+        doReturn(List.of()).when(personneRepository).findExistingTelephonesNormalized(anyCollection());
+
+        ImportReportDTO report = personneImportService.importJson(stream("""
+                [
+                  {"nom": "DIOP", "prenom": "Awa", "telephone": "770000001"},
+                  {"nom": "FALL", "prenom": "Moussa", "telephone": "770000002"}
+                ]
+                """));
+
+        assertThat(report.getRows()).extracting(ImportRowResultDTO::getStatus)
+                .containsExactly(Status.CREATED, Status.ERROR);
+        assertThat(report.getRows().get(1).getError()).isEqualTo("Ce numéro de téléphone existe déjà");
+        assertThat(personneService.findAll()).extracting(PersonneDTO::getNom).containsExactlyInAnyOrder("SARR", "DIOP");
+    }
+
+    @Test
+    void bulkEndpointAcceptsCsv() throws Exception {
+        mockMvc.perform(post("/api/personnes/bulk").contentType("text/csv")
+                        .content("nom,prenom\nDIOP,Awa\nFALL,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rows[1].status").value("ERROR"))
+                .andExpect(jsonPath("$.rows[1].error").value("prenom : Le prénom est obligatoire"));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,186 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.event.PersonneChangedEvent;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Regroupement des lectures findAll identiques simultanées
+ */
+class PersonneReadCoalescingTest {
+
+    private static final Object[] ARGS = { PersonneField.ALL, 100 };
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PersonneReadCoalescing coalescing = new PersonneReadCoalescing(
+            (target, method, params) -> List.of(params), meterRegistry, true, Duration.ofSeconds(5));
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    // Lecture du leader, bloquée jusqu'à release
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void identicalCallsShareOneRead() throws Throwable {
+        ProceedingJoinPoint leaderRead = blockingRead(new ArrayList<>(List.of("DIOP")));
+        Future<Object> leader = executor.submit(() -> coalesce(leaderRead));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ProceedingJoinPoint followerRead = read(new ArrayList<>(List.of("autre")));
+        Future<Object> follower = submitWaiting(followerRead);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(List.of("DIOP"));
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(List.of("DIOP"));
+        verify(followerRead, never()).proceed();
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("merged")).isEqualTo(1);
+    }
+
+    @Test
+    void mergedCallersGetAnUnmodifiableCopy() throws Throwable {
+        List<String> leaderList = new ArrayList<>(List.of("FALL", "DIOP"));
+        ProceedingJoinPoint leaderRead = blockingRead(leaderList);
+        Future<Object> leader = executor.submit(() -> coalesce(leaderRead));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Object> follower = submitWaiting(read(List.of()));
+        release.countDown();
+
+        @SuppressWarnings("unchecked")
+        List<String> leaderResult = (List<String>) leader.get(5, TimeUnit.SECONDS);
+        @SuppressWarnings("unchecked")
+        List<String> merged = (List<String>) follower.get(5, TimeUnit.SECONDS);
+
+        // Le leader trie sa liste (comme search) : la copie du regroupé ne bouge pas
+        assertThat(leaderResult).isSameAs(leaderList);
+        leaderResult.sort(null);
+        assertThat(merged).containsExactly("FALL", "DIOP");
+        assertThatThrownBy(() -> merged.add("SOW")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void changeStopsSharingTheReadInProgress() throws Throwable {
+        ProceedingJoinPoint before = blockingRead(List.of("avant"));
+        Future<Object> leader = executor.submit(() -> coalesce(before));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        coalescing.onPersonneChanged(PersonneChangedEvent.reset());
+
+        // Arrivé après le commit : sa propre lecture, sans attendre celle commencée avant
+        ProceedingJoinPoint after = read(List.of("après"));
+        assertThat(coalescing.coalesce(after)).isEqualTo(List.of("après"));
+        verify(after).proceed();
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(List.of("avant"));
+        assertThat(count("leader")).isEqualTo(2);
+    }
+
+    @Test
+    void mergedCallersGetTheLeaderException() throws Throwable {
+        ProceedingJoinPoint failing = read(null);
+        IllegalStateException failure = new IllegalStateException("base indisponible");
+        when(failing.proceed()).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await();
+            throw failure;
+        });
+        Future<Object> leader = executor.submit(() -> coalesce(failing));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Object> follower = submitWaiting(read(List.of()));
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+    }
+
+    @Test
+    void disabledCoalescingAlwaysReads() throws Throwable {
+        PersonneReadCoalescing disabled = new PersonneReadCoalescing(
+                (target, method, params) -> List.of(params), meterRegistry, false, Duration.ofSeconds(5));
+        ProceedingJoinPoint read = read(List.of("DIOP"));
+
+        assertThat(disabled.coalesce(read)).isEqualTo(List.of("DIOP"));
+        verify(read).proceed();
+    }
+
+    // Appel regroupé : rendu quand il attend le résultat du leader
+    private Future<Object> submitWaiting(ProceedingJoinPoint joinPoint) throws InterruptedException {
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        Future<Object> future = executor.submit(() -> {
+            thread.complete(Thread.currentThread());
+            return coalesce(joinPoint);
+        });
+        Thread waiting = thread.join();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (waiting.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return future;
+    }
+
+    private Object coalesce(ProceedingJoinPoint joinPoint) throws Exception {
+        try {
+            return coalescing.coalesce(joinPoint);
+        } catch (Exception ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ProceedingJoinPoint blockingRead(Object result) throws Throwable {
+        ProceedingJoinPoint joinPoint = read(null);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await();
+            return result;
+        });
+        return joinPoint;
+    }
+
+    private static ProceedingJoinPoint read(Object result) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getName()).thenReturn("findAll");
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(ARGS);
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+
+    private double count(String role) {
+        return meterRegistry.get(PersonneReadCoalescing.COALESCING).tag("role", role).counter().count();
+    }
+}
@@ -0,0 +1,97 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.exception.ResourceNotFoundException;
+import com.leserviteurs.backend_rest_grapql.model.DuplicateCandidate;
+import com.leserviteurs.backend_rest_grapql.model.DuplicateReason;
+import com.leserviteurs.backend_rest_grapql.repository.DuplicateCandidateRepository;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+import com.leserviteurs.backend_rest_grapql.search.TrigramSearchIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * resetTable sur H2 : tables vidées hors transaction, caches et index remis à zéro
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PersonneResetTest {
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private PersonneRepository personneRepository;
+
+    @Autowired
+    private DuplicateCandidateRepository duplicateCandidateRepository;
+
+    @Autowired
+    private TrigramSearchIndex trigramSearchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private PersonneDTO personne;
+
+    @BeforeEach
+    void createPersonnes() {
+        personneService.resetTable();
+        personne = create("DIOP", "Awa", "770000001");
+        PersonneDTO other = create("DIOP", "Awa", "770000002");
+        duplicateCandidateRepository.save(DuplicateCandidate.builder()
+                .personneId(personne.getId()).duplicateId(other.getId())
+                .score(0.9).reason(DuplicateReason.NOM_NAISSANCE).build());
+    }
+
+    @Test
+    void resetEmptiesBothTables() {
+        personneService.resetTable();
+
+        assertThat(personneRepository.count()).isZero();
+        assertThat(duplicateCandidateRepository.count()).isZero();
+    }
+
+    @Test
+    void resetEvictsCachedPersonnesAndSearches() {
+        assertThat(personneService.findById(personne.getId()).getNom()).isEqualTo("DIOP");
+        assertThat(personneService.search("DIOP", null, null)).hasSize(2);
+
+        personneService.resetTable();
+
+        assertThatThrownBy(() -> personneService.findById(personne.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(personneService.search("DIOP", null, null)).isEmpty();
+    }
+
+    @Test
+    void resetClearsTheTrigramIndex() {
+        personneService.resetTable();
+
+        assertThat(trigramSearchIndex.size()).isZero();
+    }
+
+    @Test
+    void resetIsNotUndoneByTheCallersRollback() {
+        transactionTemplate.executeWithoutResult(status -> {
+            personneService.resetTable();
+            status.setRollbackOnly();
+        });
+
+        assertThat(personneRepository.count()).isZero();
+        assertThat(duplicateCandidateRepository.count()).isZero();
+    }
+
+    private PersonneDTO create(String nom, String prenom, String telephone) {
+        return personneService.create(PersonneDTO.builder()
+                .nom(nom).prenom(prenom).adresse("Dakar").telephone(telephone).build());
+    }
+}
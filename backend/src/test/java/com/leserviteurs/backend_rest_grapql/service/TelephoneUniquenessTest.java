@@ -0,0 +1,86 @@
+package com.leserviteurs.backend_rest_grapql.service;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.model.Personne;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unicité du téléphone sur H2 : la contrainte uk_personne_telephone_normalized rejette la création
+ * concurrente que la sonde exists ne voit pas encore, avec la même erreur métier
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TelephoneUniquenessTest {
+
+    @Autowired
+    private PersonneService personneService;
+
+    @Autowired
+    private PersonneRepository personneRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void resetTable() {
+        personneService.resetTable();
+    }
+
+    @Test
+    void existingTelephoneIsRejectedWhateverItsFormat() {
+        personneService.create(personne("771234567"));
+
+        assertThatThrownBy(() -> personneService.create(personne("77 123 45 67")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ce numéro de téléphone existe déjà");
+    }
+
+    @Test
+    void concurrentCreationIsRejectedByTheUniqueIndex() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+
+        // Autre transaction : ligne insérée, pas encore validée quand la sonde exists s'exécute
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    personneRepository.saveAndFlush(Personne.builder()
+                            .nom("FALL").prenom("Moussa").telephone("771234567")
+                            .telephoneNormalized("771234567").build());
+                    inserted.countDown();
+                    sleep(500);
+                }));
+        assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> personneService.create(personne("77 123 45 67")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ce numéro de téléphone existe déjà");
+
+        other.get(5, TimeUnit.SECONDS);
+        assertThat(personneRepository.count()).isEqualTo(1);
+    }
+
+    private static PersonneDTO personne(String telephone) {
+        return PersonneDTO.builder().nom("DIOP").prenom("Awa").adresse("Dakar").telephone(telephone).build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.leserviteurs.backend_rest_grapql.validation;
+
+import com.leserviteurs.backend_rest_grapql.dto.PersonneDTO;
+import com.leserviteurs.backend_rest_grapql.repository.PersonneField;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersonneValidatorTest {
+
+    private final PersonneValidator validator = new PersonneValidator();
+
+    @Test
+    void validPersonneIsNormalized() {
+        PersonneDTO personne = PersonneDTO.builder()
+                .nom("  ndiaye ")
+                .prenom("mARÈME")
+                .adresse("  Dakar, Plateau ")
+                .telephone("771234567")
+                .dateNaissance(LocalDate.of(1990, 5, 17))
+                .build();
+
+        ValidationResult result = validator.validateAndNormalize(personne);
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.getMessage()).isNull();
+        assertThat(result.getTelephoneNormalized()).isEqualTo("771234567");
+        assertThat(personne.getNom()).isEqualTo("NDIAYE");
+        assertThat(personne.getPrenom()).isEqualTo("Marème");
+        assertThat(personne.getAdresse()).isEqualTo("Dakar, Plateau");
+        assertThat(personne.getTelephone()).isEqualTo("77 123 45 67");
+    }
+
+    @Test
+    void alreadyNormalizedValuesAreKept() {
+        String nom = "DIOP";
+        String telephone = "77 123 45 67";
+        PersonneDTO personne = PersonneDTO.builder().nom(nom).prenom("Awa").telephone(telephone).build();
+
+        ValidationResult result = validator.validateAndNormalize(personne);
+
+        assertThat(personne.getNom()).isSameAs(nom);
+        assertThat(personne.getTelephone()).isSameAs(telephone);
+        assertThat(result.getTelephoneNormalized()).isEqualTo("771234567");
+    }
+
+    @Test
+    void allErrorsAreReportedInFieldOrder() {
+        PersonneDTO personne = PersonneDTO.builder()
+                .nom("Diop2")
+                .prenom("  ")
+                .telephone("66 123 45 67")
+                .adresse("Rue #12")
+                .dateNaissance(LocalDate.now().plusDays(1))
+                .build();
+
+        ValidationResult result = validator.validate(personne);
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getErrors().keySet()).containsExactly(PersonneValidator.NOM, PersonneValidator.PRENOM,
+                PersonneValidator.TELEPHONE, PersonneValidator.ADRESSE, PersonneValidator.DATE_NAISSANCE);
+        assertThat(result.getMessage().split("; ")).hasSize(5);
+        assertThat(result.getTelephoneNormalized()).isNull();
+    }
+
+    @Test
+    void invalidPersonneIsNotModified() {
+        PersonneDTO personne = PersonneDTO.builder().nom("  diop ").prenom("awa").telephone("7712").build();
+
+        ValidationResult result = validator.validateAndNormalize(personne);
+
+        assertThat(result.getErrors()).containsOnlyKeys(PersonneValidator.TELEPHONE);
+        assertThat(personne.getNom()).isEqualTo("  diop ");
+        assertThat(personne.getPrenom()).isEqualTo("awa");
+    }
+
+    @Test
+    void telephoneRules() {
+        assertTelephone("781234567", true);
+        assertTelephone(" 70 000 00 00 ", true);
+        assertTelephone("791234567", false);
+        assertTelephone("671234567", false);
+        assertTelephone("7712345678", false);
+        assertTelephone("77-123-45-67", false);
+        assertTelephone("", true);
+        assertTelephone(null, true);
+    }
+
+    @Test
+    void onlyGivenFieldsAreCheckedAndNormalized() {
+        PersonneDTO changes = PersonneDTO.builder().nom("123").prenom("awa").telephone("77 000 00 01").build();
+
+        ValidationResult result = validator.validateAndNormalize(changes,
+                EnumSet.of(PersonneField.PRENOM, PersonneField.TELEPHONE));
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(changes.getNom()).isEqualTo("123");
+        assertThat(changes.getPrenom()).isEqualTo("Awa");
+        assertThat(changes.getTelephone()).isEqualTo("77 000 00 01");
+    }
+
+    @Test
+    void ageLimits() {
+        assertThat(validator.validate(withBirth(LocalDate.now().minusMonths(6))).getErrors())
+                .containsKey(PersonneValidator.DATE_NAISSANCE);
+        assertThat(validator.validate(withBirth(LocalDate.now().minusYears(130))).getErrors())
+                .containsKey(PersonneValidator.DATE_NAISSANCE);
+        assertThat(validator.validate(withBirth(LocalDate.now().minusYears(120))).isValid()).isTrue();
+    }
+
+    @Test
+    void utilsAgreeWithTheValidator() {
+        assertThat(ValidationUtils.formatTelephone("771234567")).isEqualTo("77 123 45 67");
+        assertThat(ValidationUtils.formatTelephone("991234567")).isEqualTo("991234567");
+        assertThat(ValidationUtils.isValidTelephone("77 123 45 67")).isTrue();
+        assertThat(ValidationUtils.isValidTelephone("77 123 45 6")).isFalse();
+    }
+
+    private void assertTelephone(String telephone, boolean valid) {
+        PersonneDTO personne = PersonneDTO.builder().nom("DIOP").prenom("Awa").telephone(telephone).build();
+        assertThat(validator.validate(personne).isValid()).as(telephone).isEqualTo(valid);
+        assertThat(ValidationUtils.isValidTelephone(telephone)).as(telephone).isEqualTo(valid);
+    }
+
+    private static PersonneDTO withBirth(LocalDate dateNaissance) {
+        return PersonneDTO.builder().nom("DIOP").prenom("Awa").dateNaissance(dateNaissance).build();
+    }
+}
@@ -10,7 +10,6 @@ import Notification from './components/Common/Notification';
 function App() {
   const [dialogOpen, setDialogOpen] = useState(false);
   const [editingPersonne, setEditingPersonne] = useState(null);
-  const [refresh, setRefresh] = useState(0);
   const [notification, setNotification] = useState({
     open: false,
     message: '',
@@ -28,8 +27,8 @@ function App() {
   };
 
   const handleSuccess = (message, severity = 'success') => {
+    // La liste se met à jour via le flux des modifications (pas de rechargement)
     setNotification({ open: true, message, severity });
-    setRefresh(refresh + 1);
   };
 
   const handleCloseNotification = () => {
@@ -43,7 +42,7 @@ function App() {
         <Header />
         
         <Container maxWidth="lg" sx={{ py: 4 }}>
-          <PersonneTable onEdit={handleEdit} refresh={refresh} />
+          <PersonneTable onEdit={handleEdit} />
         </Container>
 
         <Tooltip title="Nouvelle personne" placement="left">
@@ -1,4 +1,4 @@
-import { useState, useEffect } from "react";
+import { useState, useEffect, useRef } from "react";
 import {
   Paper,
   Table,
@@ -10,7 +10,6 @@ import {
   IconButton,
   Tooltip,
   Box,
-  TextField,
   Button,
   Grid,
   Typography,
@@ -21,30 +20,118 @@ import EditIcon from "@mui/icons-material/Edit";
 import DeleteIcon from "@mui/icons-material/Delete";
 import SearchIcon from "@mui/icons-material/Search";
 import RefreshIcon from "@mui/icons-material/Refresh";
-import { apolloClient, QUERIES, personneAPI } from "../../services/api";
+import {
+  apolloClient,
+  QUERIES,
+  PAGE_SIZE,
+  personneAPI,
+  openChangeStream,
+} from "../../services/api";
 import DeleteDialog from "./DeleteDialog";
+import SuggestInput from "./SuggestInput";
+
+// Comparaison des noms comme le serveur : sans casse ni accents
+const normalizeName = (value) =>
+  value.normalize("NFD").replace(/\p{M}/gu, "").toUpperCase();
+
+// Même sémantique que le filtre du serveur : "contient" pour le nom et le prénom,
+// chiffres seuls pour le téléphone ("77 12" trouve "771234567")
+const matchesFilter = (personne, activeFilter) => {
+  if (!activeFilter) {
+    return true;
+  }
+  const contains = (value, term) =>
+    !term ||
+    !term.trim() ||
+    (value != null && normalizeName(value).includes(normalizeName(term.trim())));
+  const telephoneMatches = () => {
+    if (!activeFilter.telephone || !activeFilter.telephone.trim()) {
+      return true;
+    }
+    const wanted = activeFilter.telephone.replace(/\D/g, "") || activeFilter.telephone;
+    return (
+      personne.telephone != null && personne.telephone.replace(/\D/g, "").includes(wanted)
+    );
+  };
+  return (
+    contains(personne.nom, activeFilter.nom) &&
+    contains(personne.prenom, activeFilter.prenom) &&
+    telephoneMatches()
+  );
+};
 
-export default function PersonneTable({ onEdit, refresh }) {
+export default function PersonneTable({ onEdit }) {
   const [personnes, setPersonnes] = useState([]);
   const [loading, setLoading] = useState(false);
   const [search, setSearch] = useState({ nom: "", prenom: "", telephone: "" });
+  const [filter, setFilter] = useState(null);
+  const [pageInfo, setPageInfo] = useState({ hasNextPage: false, endCursor: null });
   const [deleteDialog, setDeleteDialog] = useState({
     open: false,
     personne: null,
   });
 
+  // Lu par le flux des modifications (créé une seule fois)
+  const listState = useRef({ filter: null, hasNextPage: false });
+  listState.current = { filter, hasNextPage: pageInfo.hasNextPage };
+
   useEffect(() => {
     loadPersonnes();
-  }, [refresh]);
+  }, []);
+
+  // Modifications faites par n'importe quel client : la liste est mise à jour sur place,
+  // sans la relire. Après une coupure (reconnexion) ou un débordement, elle est rechargée.
+  useEffect(() => {
+    const source = openChangeStream();
+    let connected = false;
+    const apply = (event) => {
+      const change = JSON.parse(event.data);
+      setPersonnes((current) => {
+        if (change.type === "DELETED") {
+          return current.filter((p) => p.id !== String(change.id));
+        }
+        const personne = { ...change.personne, id: String(change.id) };
+        const { filter: activeFilter, hasNextPage } = listState.current;
+        const existing = current.find((p) => p.id === personne.id);
+        if (existing) {
+          const updated = { ...existing, ...personne };
+          // Modifiée pour ne plus correspondre à la recherche en cours : retirée de la liste
+          return matchesFilter(updated, activeFilter)
+            ? current.map((p) => (p.id === personne.id ? updated : p))
+            : current.filter((p) => p.id !== personne.id);
+        }
+        // Nouvelle personne (id croissant) : visible si la dernière page est chargée, sans filtre
+        return change.type === "CREATED" && !activeFilter && !hasNextPage
+          ? [...current, personne]
+          : current;
+      });
+    };
+    const reload = () => fetchPage(listState.current.filter, null);
 
-  const loadPersonnes = async () => {
+    source.onopen = () => {
+      if (connected) {
+        reload();
+      }
+      connected = true;
+    };
+    ["CREATED", "UPDATED", "DELETED"].forEach((type) => source.addEventListener(type, apply));
+    source.addEventListener("RESET", reload);
+    source.addEventListener("OVERFLOW", reload);
+    return () => source.close();
+  }, []);
+
+  // Charge une page (pagination par curseur) ; after = null pour la première page
+  const fetchPage = async (pageFilter, after) => {
     setLoading(true);
     try {
       const { data } = await apolloClient.query({
-        query: QUERIES.ALL_PERSONNES,
+        query: QUERIES.PERSONNES,
+        variables: { first: PAGE_SIZE, after, filter: pageFilter },
         fetchPolicy: "network-only",
       });
-      setPersonnes(data.allPersonnes);
+      const nodes = data.personnes.edges.map((edge) => edge.node);
+      setPersonnes((current) => (after ? [...current, ...nodes] : nodes));
+      setPageInfo(data.personnes.pageInfo);
     } catch (error) {
       console.error("Erreur chargement:", error);
     } finally {
@@ -52,27 +139,30 @@ export default function PersonneTable({ onEdit, refresh }) {
     }
   };
 
-  const handleSearch = async () => {
-    setLoading(true);
-    try {
-      const { data } = await apolloClient.query({
-        query: QUERIES.SEARCH_PERSONNES,
-        variables: search,
-        fetchPolicy: "network-only",
-      });
-      setPersonnes(data.searchPersonnes);
-    } catch (error) {
-      console.error("Erreur recherche:", error);
-    } finally {
-      setLoading(false);
-    }
+  const loadPersonnes = () => {
+    setFilter(null);
+    fetchPage(null, null);
+  };
+
+  const handleSearch = () => {
+    const criteres = {
+      nom: search.nom || null,
+      prenom: search.prenom || null,
+      telephone: search.telephone || null,
+    };
+    setFilter(criteres);
+    fetchPage(criteres, null);
+  };
+
+  const handleLoadMore = () => {
+    fetchPage(filter, pageInfo.endCursor);
   };
 
   const handleDelete = async () => {
     try {
       await personneAPI.delete(deleteDialog.personne.id);
+      // La ligne disparaît à la réception de l'événement DELETED
       setDeleteDialog({ open: false, personne: null });
-      loadPersonnes();
     } catch (error) {
       console.error("Erreur suppression:", error);
     }
@@ -86,32 +176,27 @@ export default function PersonneTable({ onEdit, refresh }) {
         </Typography>
         <Grid container spacing={2} alignItems="center">
           <Grid item xs={12} sm={3}>
-            <TextField
-              fullWidth
+            <SuggestInput
               label="Nom"
-              size="small"
+              field="NOM"
               value={search.nom}
-              onChange={(e) => setSearch({ ...search, nom: e.target.value })}
+              onChange={(value) => setSearch({ ...search, nom: value })}
             />
           </Grid>
           <Grid item xs={12} sm={3}>
-            <TextField
-              fullWidth
+            <SuggestInput
               label="Prénom"
-              size="small"
+              field="PRENOM"
               value={search.prenom}
-              onChange={(e) => setSearch({ ...search, prenom: e.target.value })}
+              onChange={(value) => setSearch({ ...search, prenom: value })}
             />
           </Grid>
           <Grid item xs={12} sm={3}>
-            <TextField
-              fullWidth
+            <SuggestInput
               label="Téléphone"
-              size="small"
+              field="TELEPHONE"
               value={search.telephone}
-              onChange={(e) =>
-                setSearch({ ...search, telephone: e.target.value })
-              }
+              onChange={(value) => setSearch({ ...search, telephone: value })}
             />
           </Grid>
           <Grid item xs={12} sm={3}>
@@ -154,7 +239,7 @@ export default function PersonneTable({ onEdit, refresh }) {
           <Chip label={`${personnes.length} résultat(s)`} color="primary" />
         </Box>
 
-        {loading ? (
+        {loading && personnes.length === 0 ? (
           <Box sx={{ display: "flex", justifyContent: "center", p: 4 }}>
             <CircularProgress />
           </Box>
@@ -250,6 +335,18 @@ export default function PersonneTable({ onEdit, refresh }) {
                 )}
               </TableBody>
             </Table>
+            {pageInfo.hasNextPage && (
+              <Box sx={{ display: "flex", justifyContent: "center", p: 2 }}>
+                <Button
+                  variant="outlined"
+                  onClick={handleLoadMore}
+                  disabled={loading}
+                  size="small"
+                >
+                  Charger plus
+                </Button>
+              </Box>
+            )}
           </TableContainer>
         )}
       </Paper>
@@ -0,0 +1,60 @@
+import { useState, useEffect } from "react";
+import { Autocomplete, TextField } from "@mui/material";
+import { apolloClient, QUERIES } from "../../services/api";
+
+// Délai sans frappe avant de demander les complétions
+const SUGGEST_DELAY_MS = 150;
+
+// Champ de recherche avec saisie semi-automatique (query suggest) :
+// valeurs distinctes commençant par le texte saisi, avec leur nombre de personnes
+export default function SuggestInput({ label, field, value, onChange }) {
+  const [options, setOptions] = useState([]);
+
+  useEffect(() => {
+    const prefix = value.trim();
+    if (!prefix) {
+      setOptions([]);
+      return undefined;
+    }
+    let active = true;
+    const timer = setTimeout(async () => {
+      try {
+        const { data } = await apolloClient.query({
+          query: QUERIES.SUGGEST,
+          variables: { prefix, field, limit: 8 },
+          fetchPolicy: "no-cache",
+        });
+        if (active) {
+          setOptions(data.suggest);
+        }
+      } catch (error) {
+        console.error("Erreur complétion:", error);
+      }
+    }, SUGGEST_DELAY_MS);
+    return () => {
+      active = false;
+      clearTimeout(timer);
+    };
+  }, [value, field]);
+
+  return (
+    <Autocomplete
+      freeSolo
+      size="small"
+      options={options}
+      filterOptions={(x) => x}
+      getOptionLabel={(option) => (typeof option === "string" ? option : option.value)}
+      renderOption={(props, option) => {
+        const { key, ...optionProps } = props;
+        return (
+          <li key={key} {...optionProps}>
+            {option.value}&nbsp;<small>({option.count})</small>
+          </li>
+        );
+      }}
+      inputValue={value}
+      onInputChange={(e, newValue) => onChange(newValue)}
+      renderInput={(params) => <TextField {...params} fullWidth label={label} />}
+    />
+  );
+}
@@ -1,5 +1,6 @@
 import axios from 'axios';
 import { ApolloClient, InMemoryCache, gql, createHttpLink } from '@apollo/client';
+import { createPersistedQueryLink } from '@apollo/client/link/persisted-queries';
 
 // ========== REST API ==========
 const API_URL = 'http://localhost:8080/api/personnes';
@@ -10,17 +11,51 @@ export const personneAPI = {
   delete: (id) => axios.delete(`${API_URL}/${id}`),
 };
 
+// Flux des modifications (Server-Sent Events) : CREATED, UPDATED, DELETED, RESET, OVERFLOW
+export const openChangeStream = () => new EventSource(`${API_URL}/changes`);
+
 // ========== GRAPHQL ==========
 const httpLink = createHttpLink({
   uri: 'http://localhost:8080/graphql',
 });
 
+// Requêtes persistées (APQ) : seul le hash SHA-256 du document est envoyé,
+// le texte complet uniquement la première fois que le serveur ne le connaît pas
+const sha256 = async (query) => {
+  const digest = await crypto.subtle.digest('SHA-256', new TextEncoder().encode(query));
+  return Array.from(new Uint8Array(digest), (b) => b.toString(16).padStart(2, '0')).join('');
+};
+
 export const apolloClient = new ApolloClient({
-  link: httpLink,
+  link: createPersistedQueryLink({ sha256 }).concat(httpLink),
   cache: new InMemoryCache(),
 });
 
+export const PAGE_SIZE = 50;
+
 export const QUERIES = {
+  PERSONNES: gql`
+    query Personnes($first: Int, $after: String, $filter: PersonneFilter) {
+      personnes(first: $first, after: $after, filter: $filter) {
+        edges {
+          cursor
+          node {
+            id
+            nom
+            prenom
+            dateNaissance
+            adresse
+            telephone
+          }
+        }
+        pageInfo {
+          hasNextPage
+          endCursor
+        }
+      }
+    }
+  `,
+
   ALL_PERSONNES: gql`
     query {
       allPersonnes {
@@ -34,6 +69,16 @@ export const QUERIES = {
     }
   `,
   
+  // Complétions d'un préfixe (index en mémoire côté serveur, aucune requête en base)
+  SUGGEST: gql`
+    query Suggest($prefix: String!, $field: SuggestField!, $limit: Int) {
+      suggest(prefix: $prefix, field: $field, limit: $limit) {
+        value
+        count
+      }
+    }
+  `,
+
   SEARCH_PERSONNES: gql`
     query SearchPersonnes($nom: String, $prenom: String, $telephone: String) {
       searchPersonnes(nom: $nom, prenom: $prenom, telephone: $telephone) {